@@ -51,6 +51,11 @@ public class CacheConfig implements CachingConfigurer {
                         "meals", config.entryTtl(Duration.ofHours(1)))
                 .withCacheConfiguration(
                         "employees", config.entryTtl(Duration.ofMinutes(30)))
+                // Closed-period reports change only through an explicit backfill, which overwrites the entry
+                .withCacheConfiguration(
+                        "report-snapshots", config.entryTtl(Duration.ZERO))
+                .withCacheConfiguration(
+                        "reports-live", config.entryTtl(Duration.ofMinutes(1)))
                 .transactionAware()
                 .build();
     }
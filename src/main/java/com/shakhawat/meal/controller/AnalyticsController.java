@@ -0,0 +1,88 @@
+package com.shakhawat.meal.controller;
+
+import com.shakhawat.meal.dto.AnalyticsDTO;
+import com.shakhawat.meal.entity.OrderStatus;
+import com.shakhawat.meal.service.OrderAnalyticsService;
+import com.shakhawat.meal.service.OrderSketchService;
+import com.shakhawat.meal.util.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Analytics", description = "Ad-hoc order analytics over the nightly snapshot (Admin only)")
+public class AnalyticsController {
+
+    private final OrderAnalyticsService analyticsService;
+    private final OrderSketchService sketchService;
+
+    @Operation(summary = "Aggregate orders",
+               description = "Order count, quantity and amount grouped by the given dimensions. " +
+                             "Covers orders up to snapshotThrough; newer orders are not included.")
+    @GetMapping("/orders")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AnalyticsDTO.Response>> aggregateOrders(
+            @RequestParam(required = false) List<AnalyticsDTO.Dimension> groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Set<OrderStatus> statuses) {
+        AnalyticsDTO.Query query = AnalyticsDTO.Query.builder()
+                .groupBy(groupBy)
+                .startDate(startDate)
+                .endDate(endDate)
+                .statuses(statuses)
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.aggregate(query)));
+    }
+
+    @Operation(summary = "Get the current analytics snapshot")
+    @GetMapping("/snapshot")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AnalyticsDTO.SnapshotInfo>> getSnapshot() {
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.getSnapshotInfo()));
+    }
+
+    @Operation(summary = "Rebuild the analytics snapshot now",
+               description = "Normally rebuilt nightly; reads the full order history once")
+    @PostMapping("/snapshot")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AnalyticsDTO.SnapshotInfo>> rebuildSnapshot() {
+        return ResponseEntity.ok(ApiResponse.success("Analytics snapshot rebuilt", analyticsService.rebuild()));
+    }
+
+    @Operation(summary = "Count distinct employees who ordered",
+               description = "Overall, per department and per meal. APPROX merges daily sketches and is fast " +
+                             "over any range; EXACT runs COUNT(DISTINCT) queries.")
+    @GetMapping("/eaters")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AnalyticsDTO.EatersResponse>> getEaters(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "EXACT") AnalyticsDTO.Accuracy accuracy) {
+        return ResponseEntity.ok(ApiResponse.success(sketchService.eaters(startDate, endDate, accuracy)));
+    }
+
+    @Operation(summary = "Most ordered meals and order value distribution",
+               description = "Order value quantiles are only returned with accuracy=APPROX")
+    @GetMapping("/popularity")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AnalyticsDTO.PopularityResponse>> getPopularity(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "EXACT") AnalyticsDTO.Accuracy accuracy) {
+        return ResponseEntity.ok(ApiResponse.success(sketchService.popularity(startDate, endDate, limit, accuracy)));
+    }
+}
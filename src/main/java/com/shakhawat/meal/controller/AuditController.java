@@ -0,0 +1,61 @@
+package com.shakhawat.meal.controller;
+
+import com.shakhawat.meal.dto.AuditDTO;
+import com.shakhawat.meal.service.AuditSearchService;
+import com.shakhawat.meal.util.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/audit-logs")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Audit Logs", description = "Audit log search APIs (Admin only)")
+public class AuditController {
+
+    private final AuditSearchService auditSearchService;
+
+    @Operation(summary = "Search audit logs",
+               description = "Filter by entity, user, action and time, newest first. Pass nextCursor from the previous page to continue.")
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AuditDTO.SearchResponse>> searchAuditLogs(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        AuditDTO.Criteria criteria = AuditDTO.Criteria.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .userId(userId)
+                .action(action)
+                .from(from)
+                .to(to)
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(auditSearchService.search(criteria, cursor, size)));
+    }
+
+    @Operation(summary = "Get the audit timeline of one entity")
+    @GetMapping("/{entityType}/{entityId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AuditDTO.SearchResponse>> getEntityTimeline(
+            @PathVariable String entityType,
+            @PathVariable Long entityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(ApiResponse.success(
+                auditSearchService.timeline(entityType, entityId, cursor, size)));
+    }
+}
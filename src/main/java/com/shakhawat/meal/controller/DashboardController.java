@@ -1,15 +1,19 @@
 package com.shakhawat.meal.controller;
 
+import com.shakhawat.meal.dto.AnalyticsDTO;
 import com.shakhawat.meal.dto.DashboardDTO;
 import com.shakhawat.meal.service.DashboardService;
+import com.shakhawat.meal.service.OrderRateTracker;
 import com.shakhawat.meal.util.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -20,11 +24,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final OrderRateTracker orderRateTracker;
 
-    @Operation(summary = "Get dashboard overview stats")
+    @Operation(summary = "Get dashboard overview stats",
+               description = "With accuracy=APPROX the monthly active employee count is estimated from daily sketches")
     @GetMapping
-    public ResponseEntity<ApiResponse<DashboardDTO.Response>> getDashboardStats() {
-        DashboardDTO.Response response = dashboardService.getDashboardStats();
+    public ResponseEntity<ApiResponse<DashboardDTO.Response>> getDashboardStats(
+            @RequestParam(defaultValue = "EXACT") AnalyticsDTO.Accuracy accuracy) {
+        DashboardDTO.Response response = dashboardService.getDashboardStats(accuracy);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @Operation(summary = "Get per-minute order activity",
+               description = "Orders, cancellations, order value and rejections for each of the last " +
+                             "given minutes (up to 48 hours), served from memory")
+    @GetMapping("/order-rate")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CAFETERIA_STAFF')")
+    public ResponseEntity<ApiResponse<DashboardDTO.OrderRate>> getOrderRate(
+            @RequestParam(defaultValue = "60") int minutes) {
+        return ResponseEntity.ok(ApiResponse.success(orderRateTracker.orderRate(minutes)));
+    }
 }
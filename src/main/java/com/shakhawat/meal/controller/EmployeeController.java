@@ -3,7 +3,9 @@ package com.shakhawat.meal.controller;
 import com.shakhawat.meal.dto.EmployeeDTO;
 import com.shakhawat.meal.entity.EmployeeStatus;
 import com.shakhawat.meal.service.EmployeeService;
+import com.shakhawat.meal.service.ExportService;
 import com.shakhawat.meal.util.ApiResponse;
+import com.shakhawat.meal.util.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,11 +15,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,6 +34,7 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final ExportService exportService;
 
     @Operation(summary = "Create employee")
     @PostMapping
@@ -41,6 +47,22 @@ public class EmployeeController {
                 .body(ApiResponse.success("Employee created successfully", response));
     }
 
+    @Operation(summary = "Export employees",
+               description = "Streams every employee as CSV or NDJSON")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        StreamingResponseBody body = out -> exportService.exportEmployees(format, out);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("employees." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @Operation(summary = "Get employee by ID")
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
@@ -91,4 +113,20 @@ public class EmployeeController {
         employeeService.deleteEmployee(id);
         return ResponseEntity.ok(ApiResponse.success("Employee deleted successfully", null));
     }
+
+    @Operation(summary = "Lock employee account and revoke its tokens")
+    @PostMapping("/{id}/lock")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<EmployeeDTO.Response>> lockEmployee(@PathVariable Long id) {
+        EmployeeDTO.Response response = employeeService.lockEmployee(id);
+        return ResponseEntity.ok(ApiResponse.success("Employee locked successfully", response));
+    }
+
+    @Operation(summary = "Unlock employee account")
+    @PostMapping("/{id}/unlock")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<EmployeeDTO.Response>> unlockEmployee(@PathVariable Long id) {
+        EmployeeDTO.Response response = employeeService.unlockEmployee(id);
+        return ResponseEntity.ok(ApiResponse.success("Employee unlocked successfully", response));
+    }
 }
@@ -2,8 +2,11 @@ package com.shakhawat.meal.controller;
 
 import com.shakhawat.meal.dto.MealOrderDTO;
 import com.shakhawat.meal.entity.OrderStatus;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import com.shakhawat.meal.service.ExportService;
 import com.shakhawat.meal.service.MealOrderService;
 import com.shakhawat.meal.util.ApiResponse;
+import com.shakhawat.meal.util.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,10 +17,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -29,6 +35,7 @@ import java.util.List;
 public class MealOrderController {
 
     private final MealOrderService orderService;
+    private final ExportService exportService;
 
     @Operation(summary = "Create order")
     @PostMapping
@@ -73,6 +80,27 @@ public class MealOrderController {
         }
     }
 
+    @Operation(summary = "Export orders (Admin/Staff only)",
+               description = "Streams every order in the date range as CSV or NDJSON, oldest first")
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CAFETERIA_STAFF')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidOperationException("endDate must not be before startDate");
+        }
+        StreamingResponseBody body = out -> exportService.exportOrders(startDate, endDate, format, out);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders_" + startDate + "_" + endDate + "." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @Operation(summary = "Update order status (Admin/Staff only)")
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasAnyRole('ADMIN', 'CAFETERIA_STAFF')")
@@ -1,17 +1,23 @@
 package com.shakhawat.meal.controller;
 
 import com.shakhawat.meal.dto.reports.*;
+import com.shakhawat.meal.entity.ReportSnapshot;
+import com.shakhawat.meal.entity.ReportType;
 import com.shakhawat.meal.service.ReportService;
+import com.shakhawat.meal.service.ReportSnapshotService;
 import com.shakhawat.meal.util.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/reports")
@@ -20,6 +26,7 @@ import java.time.LocalDate;
 public class ReportController {
     
     private final ReportService reportService;
+    private final ReportSnapshotService reportSnapshotService;
     
     @Operation(summary = "Generate daily operations report", 
                description = "Get comprehensive daily operations summary including orders, revenue, and employee activity")
@@ -27,30 +34,32 @@ public class ReportController {
     @PreAuthorize("hasAnyRole('ADMIN', 'CAFETERIA_STAFF')")
     public ResponseEntity<ApiResponse<DailyOperationsReport>> getDailyReport(
             @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date) {
-        DailyOperationsReport report = reportService.generateDailyReport(date);
-        return ResponseEntity.ok(ApiResponse.success("Daily report generated successfully", report));
+        return snapshotResponse(reportSnapshotService.daily(date), "Daily report generated successfully");
     }
     
     @Operation(summary = "Generate monthly financial report", 
-               description = "Get comprehensive monthly financial analysis including revenue, costs, and budget utilization")
+               description = "Get comprehensive monthly financial analysis including revenue, costs, and budget utilization. " +
+                             "Pass sections to compute only those parts; omitted sections are null")
     @GetMapping("/monthly/{year}/{month}")
     @PreAuthorize("hasAnyRole('ADMIN', 'CAFETERIA_STAFF')")
     public ResponseEntity<ApiResponse<MonthlyFinancialReport>> getMonthlyReport(
             @PathVariable Integer year,
-            @PathVariable Integer month) {
-        MonthlyFinancialReport report = reportService.generateMonthlyReport(year, month);
-        return ResponseEntity.ok(ApiResponse.success("Monthly report generated successfully", report));
+            @PathVariable Integer month,
+            @RequestParam(required = false) Set<MonthlyFinancialReport.Section> sections) {
+        return snapshotResponse(reportSnapshotService.monthly(year, month, sections), "Monthly report generated successfully");
     }
     
     @Operation(summary = "Generate employee performance report", 
-               description = "Get individual and department performance metrics with budget analysis")
+               description = "Get individual and department performance metrics with budget analysis. " +
+                             "Pass sections to compute only those parts; omitted sections are null")
     @GetMapping("/employee-performance/{year}/{month}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<EmployeePerformanceReport>> getEmployeePerformanceReport(
             @PathVariable Integer year,
-            @PathVariable Integer month) {
-        EmployeePerformanceReport report = reportService.generateEmployeePerformanceReport(year, month);
-        return ResponseEntity.ok(ApiResponse.success("Employee performance report generated successfully", report));
+            @PathVariable Integer month,
+            @RequestParam(required = false) Set<EmployeePerformanceReport.Section> sections) {
+        return snapshotResponse(reportSnapshotService.employeePerformance(year, month, sections),
+                "Employee performance report generated successfully");
     }
     
     @Operation(summary = "Generate meal performance report", 
@@ -60,8 +69,8 @@ public class ReportController {
     public ResponseEntity<ApiResponse<MealPerformanceReport>> getMealPerformanceReport(
             @PathVariable Integer year,
             @PathVariable Integer month) {
-        MealPerformanceReport report = reportService.generateMealPerformanceReport(year, month);
-        return ResponseEntity.ok(ApiResponse.success("Meal performance report generated successfully", report));
+        return snapshotResponse(reportSnapshotService.mealPerformance(year, month),
+                "Meal performance report generated successfully");
     }
     
     @Operation(summary = "Generate audit report", 
@@ -74,4 +83,36 @@ public class ReportController {
         AuditReport report = reportService.generateAuditReport(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success("Audit report generated successfully", report));
     }
+
+    @Operation(summary = "Regenerate a closed-period report",
+               description = "Backfill: rebuild the stored snapshot of a closed day (yyyy-MM-dd) or month (yyyy-MM) from current data")
+    @PostMapping("/snapshots/{type}/{period}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReportSnapshotInfo>> regenerateSnapshot(
+            @PathVariable ReportType type,
+            @PathVariable String period) {
+        ReportSnapshot snapshot = reportSnapshotService.regenerate(type, period);
+        ReportSnapshotInfo info = ReportSnapshotInfo.builder()
+            .reportType(snapshot.getReportType())
+            .periodKey(snapshot.getPeriodKey())
+            .version(snapshot.getVersion())
+            .etag(snapshot.getEtag())
+            .generatedAt(snapshot.getGeneratedAt())
+            .build();
+        return ResponseEntity.ok(ApiResponse.success("Report snapshot regenerated successfully", info));
+    }
+
+    /**
+     * Closed periods are immutable until a backfill, so clients may keep them and revalidate with
+     * If-None-Match; a matching ETag gets 304 without a body. Open periods change within minutes.
+     */
+    private <T> ResponseEntity<ApiResponse<T>> snapshotResponse(ReportSnapshotService.Result<T> result, String message) {
+        CacheControl cacheControl = result.closed()
+            ? CacheControl.noCache().cachePrivate()
+            : CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate();
+        return ResponseEntity.ok()
+            .eTag(result.etag())
+            .cacheControl(cacheControl)
+            .body(ApiResponse.success(message, result.report()));
+    }
 }
@@ -0,0 +1,51 @@
+package com.shakhawat.meal.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.shakhawat.meal.dto.ReportJobDTO;
+import com.shakhawat.meal.service.ReportJobService;
+import com.shakhawat.meal.util.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/reports/jobs")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Report Jobs", description = "Generate large reports in the background (Admin only)")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @Operation(summary = "Submit a report job",
+               description = "Returns a job ID at once. An identical request while the job is queued or running returns the same job.")
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReportJobDTO.Response>> submitJob(
+            @Valid @RequestBody ReportJobDTO.Request request,
+            Authentication authentication) {
+        String requestedBy = authentication != null ? authentication.getName() : null;
+        ReportJobDTO.Response job = reportJobService.submit(request, requestedBy);
+        return ResponseEntity.accepted().body(ApiResponse.success("Report job accepted", job));
+    }
+
+    @Operation(summary = "Get report job status")
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReportJobDTO.Response>> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(reportJobService.getJob(jobId)));
+    }
+
+    @Operation(summary = "Get the report of a completed job")
+    @GetMapping("/{jobId}/result")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<JsonNode>> getResult(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(reportJobService.getResult(jobId)));
+    }
+}
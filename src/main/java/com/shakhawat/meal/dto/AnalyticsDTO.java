@@ -0,0 +1,99 @@
+package com.shakhawat.meal.dto;
+
+import com.shakhawat.meal.entity.OrderStatus;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class AnalyticsDTO {
+
+    public enum Dimension {
+        YEAR, MONTH, WEEKDAY, DATE, DEPARTMENT, MEAL, MEAL_TYPE, STATUS
+    }
+
+    /** APPROX answers from mergeable per-day sketches: distinct counts within a few percent */
+    public enum Accuracy {
+        EXACT, APPROX
+    }
+
+    /** Orders are grouped by the dimensions in the given order; null filters are not applied */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Query {
+        private List<Dimension> groupBy;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private Set<OrderStatus> statuses;
+    }
+
+    /** keys holds one label per groupBy dimension, in the same order */
+    @Data
+    @Builder
+    public static class Row {
+        private List<String> keys;
+        private long orders;
+        private long quantity;
+        private BigDecimal amount;
+    }
+
+    @Data
+    @Builder
+    public static class Response {
+        private List<Dimension> groupBy;
+        private List<Row> rows;
+        private LocalDate snapshotThrough;
+        private long rowsScanned;
+        private long elapsedMicros;
+    }
+
+    @Data
+    @Builder
+    public static class SnapshotInfo {
+        private String file;
+        private long rows;
+        private LocalDate firstDay;
+        private LocalDate lastDay;
+        private LocalDate snapshotThrough;
+        private LocalDateTime builtAt;
+    }
+
+    @Data
+    @Builder
+    public static class MealCount {
+        private Long mealId;
+        private String mealName;
+        private long count;
+    }
+
+    /** Distinct employees who ordered in the range, overall, per department and per meal */
+    @Data
+    @Builder
+    public static class EatersResponse {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private Accuracy accuracy;
+        private long distinctEmployees;
+        private Map<String, Long> byDepartment;
+        private List<MealCount> byMeal;
+    }
+
+    /** Most ordered meals; order value quantiles are only available with APPROX */
+    @Data
+    @Builder
+    public static class PopularityResponse {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private Accuracy accuracy;
+        private long orders;
+        private List<MealCount> topMeals;
+        private BigDecimal orderValueP50;
+        private BigDecimal orderValueP90;
+        private BigDecimal orderValueP99;
+    }
+}
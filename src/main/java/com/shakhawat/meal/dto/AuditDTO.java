@@ -0,0 +1,44 @@
+package com.shakhawat.meal.dto;
+
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AuditDTO {
+
+    /** Search filters; null fields are not applied */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Criteria {
+        private String entityType;
+        private Long entityId;
+        private String userId;
+        private String action;
+        private LocalDateTime from;
+        private LocalDateTime to;
+    }
+
+    @Data
+    @Builder
+    public static class Entry {
+        private Long id;
+        private String entityType;
+        private Long entityId;
+        private String action;
+        private String userId;
+        private LocalDateTime timestamp;
+        private String oldValue;
+        private String newValue;
+        private String ipAddress;
+    }
+
+    /** One page of entries, newest first, and the cursor for the next page (null on the last) */
+    @Data
+    @Builder
+    public static class SearchResponse {
+        private List<Entry> entries;
+        private String nextCursor;
+    }
+}
@@ -17,6 +17,14 @@ public class AuthDTO {
 
         @NotBlank(message = "Password is required")
         private String password;
+
+        /** Optional client device identifier; one refresh session is kept per device */
+        @Size(max = 64, message = "Device id must not exceed 64 characters")
+        private String deviceId;
+
+        public LoginRequest(String email, String password) {
+            this(email, password, null);
+        }
     }
 
     @Data
@@ -32,6 +40,7 @@ public class AuthDTO {
         private String email;
         private String name;
         private Set<String> roles;
+        private String deviceId;
     }
 
     @Data
@@ -1,6 +1,7 @@
 package com.shakhawat.meal.dto;
 
 import com.shakhawat.meal.entity.OrderStatus;
+import com.shakhawat.meal.entity.RejectionReason;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,7 +9,9 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public class DashboardDTO {
 
@@ -22,6 +25,8 @@ public class DashboardDTO {
         private Long totalEmployees;
         private Long todayOrders;
         private BigDecimal monthlyRevenue;
+        /** Distinct employees with orders this month; an estimate when requested with accuracy=APPROX */
+        private Long monthlyActiveEmployees;
         private List<TopMeal> topMeals;
         private List<RecentOrder> recentOrders;
     }
@@ -68,4 +73,27 @@ public class DashboardDTO {
         private Long id;
         private String name;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderRate {
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private List<MinuteRate> minutes;
+    }
+
+    /** Activity within one minute; rejections lists only the reasons that occurred */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MinuteRate {
+        private LocalDateTime minute;
+        private long orders;
+        private long cancellations;
+        private BigDecimal revenue;
+        private Map<RejectionReason, Long> rejections;
+    }
 }
@@ -0,0 +1,17 @@
+package com.shakhawat.meal.dto;
+
+import com.shakhawat.meal.entity.EmployeeStatus;
+
+import java.math.BigDecimal;
+
+/** One employee in an export; credentials and lock state are deliberately left out */
+public record EmployeeExportRow(
+        Long id,
+        String name,
+        String email,
+        String department,
+        EmployeeStatus status,
+        BigDecimal monthlyBudget,
+        BigDecimal currentMonthSpent,
+        Integer monthlyOrderLimit) {
+}
@@ -0,0 +1,24 @@
+package com.shakhawat.meal.dto;
+
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** One order in an export; built by the query itself, so it is never a managed entity */
+public record OrderExportRow(
+        Long id,
+        LocalDate orderDate,
+        Long employeeId,
+        String employeeName,
+        String department,
+        Long mealId,
+        String mealName,
+        MealType mealType,
+        Integer quantity,
+        BigDecimal totalPrice,
+        OrderStatus status,
+        LocalDateTime createdAt) {
+}
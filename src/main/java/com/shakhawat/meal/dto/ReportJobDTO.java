@@ -0,0 +1,51 @@
+package com.shakhawat.meal.dto;
+
+import com.shakhawat.meal.entity.ReportJobStatus;
+import com.shakhawat.meal.entity.ReportType;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class ReportJobDTO {
+
+    /**
+     * DAILY takes date; MONTHLY, EMPLOYEE_PERFORMANCE and MEAL_PERFORMANCE take year and month;
+     * AUDIT takes startDate and endDate
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @NotNull(message = "Report type is required")
+        private ReportType type;
+
+        private LocalDate date;
+
+        private Integer year;
+
+        @Min(value = 1, message = "Month must be between 1 and 12")
+        @Max(value = 12, message = "Month must be between 1 and 12")
+        private Integer month;
+
+        private LocalDate startDate;
+
+        private LocalDate endDate;
+    }
+
+    @Data
+    @Builder
+    public static class Response {
+        private String jobId;
+        private ReportType type;
+        private String parameters;
+        private ReportJobStatus status;
+        private String requestedBy;
+        private LocalDateTime createdAt;
+        private LocalDateTime startedAt;
+        private LocalDateTime completedAt;
+        private Integer resultSize;
+        private String errorMessage;
+    }
+}
@@ -4,6 +4,7 @@ import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -17,6 +18,35 @@ public class EmployeePerformanceReport {
     private List<BudgetAnalysis> budgetAnalysis;
     private List<EmployeeStats> topPerformers;
     private List<EmployeeStats> budgetOverruns;
+
+    /** Parts of the report that can be requested on their own; reportPeriod is always present */
+    public enum Section {
+        EMPLOYEES,        // employeeStats
+        DEPARTMENTS,      // departmentStats
+        BUDGET_ANALYSIS,  // budgetAnalysis
+        TOP_PERFORMERS,   // topPerformers
+        BUDGET_OVERRUNS   // budgetOverruns
+    }
+
+    /** Clears the sections not listed */
+    public EmployeePerformanceReport retainSections(Set<Section> sections) {
+        if (!sections.contains(Section.EMPLOYEES)) {
+            employeeStats = null;
+        }
+        if (!sections.contains(Section.DEPARTMENTS)) {
+            departmentStats = null;
+        }
+        if (!sections.contains(Section.BUDGET_ANALYSIS)) {
+            budgetAnalysis = null;
+        }
+        if (!sections.contains(Section.TOP_PERFORMERS)) {
+            topPerformers = null;
+        }
+        if (!sections.contains(Section.BUDGET_OVERRUNS)) {
+            budgetOverruns = null;
+        }
+        return this;
+    }
     
     @Data
     @Builder
@@ -4,6 +4,7 @@ import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -22,6 +23,35 @@ public class MonthlyFinancialReport {
     private List<DepartmentStats> departmentBreakdown;
     private List<MealPerformance> mealPerformance;
     private List<EmployeeBudgetAnalysis> employeeBudgetAnalysis;
+
+    /** Parts of the report that can be requested on their own; reportPeriod is always present */
+    public enum Section {
+        SUMMARY,          // monthlyRevenue, totalBudget, totalSpent, budgetVariance, budgetUtilizationRate
+        DEPARTMENTS,      // departmentBreakdown
+        MEALS,            // mealPerformance
+        EMPLOYEE_BUDGETS  // employeeBudgetAnalysis
+    }
+
+    /** Clears the sections not listed */
+    public MonthlyFinancialReport retainSections(Set<Section> sections) {
+        if (!sections.contains(Section.SUMMARY)) {
+            monthlyRevenue = null;
+            totalBudget = null;
+            totalSpent = null;
+            budgetVariance = null;
+            budgetUtilizationRate = null;
+        }
+        if (!sections.contains(Section.DEPARTMENTS)) {
+            departmentBreakdown = null;
+        }
+        if (!sections.contains(Section.MEALS)) {
+            mealPerformance = null;
+        }
+        if (!sections.contains(Section.EMPLOYEE_BUDGETS)) {
+            employeeBudgetAnalysis = null;
+        }
+        return this;
+    }
     
     @Data
     @Builder
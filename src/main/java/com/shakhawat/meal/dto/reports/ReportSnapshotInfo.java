@@ -0,0 +1,21 @@
+package com.shakhawat.meal.dto.reports;
+
+import com.shakhawat.meal.entity.ReportType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportSnapshotInfo {
+    private ReportType reportType;
+    private String periodKey;
+    private Integer version;
+    private String etag;
+    private LocalDateTime generatedAt;
+}
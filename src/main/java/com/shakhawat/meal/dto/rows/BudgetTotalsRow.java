@@ -0,0 +1,7 @@
+package com.shakhawat.meal.dto.rows;
+
+import java.math.BigDecimal;
+
+/** Monthly budget and current spending summed over employees; both are null when there are none */
+public record BudgetTotalsRow(BigDecimal totalBudget, BigDecimal totalSpent) {
+}
@@ -0,0 +1,18 @@
+package com.shakhawat.meal.dto.rows;
+
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Order totals for one day, department, meal type and status */
+public record CubeCellRow(
+        LocalDate orderDate,
+        String department,
+        MealType mealType,
+        OrderStatus status,
+        Long orderCount,
+        Long quantity,
+        BigDecimal revenue) {
+}
@@ -0,0 +1,7 @@
+package com.shakhawat.meal.dto.rows;
+
+import java.math.BigDecimal;
+
+/** Employees, monthly budget and current spending for one department */
+public record DepartmentBudgetRow(String department, Long employeeCount, BigDecimal totalBudget, BigDecimal totalSpent) {
+}
@@ -0,0 +1,5 @@
+package com.shakhawat.meal.dto.rows;
+
+/** A count for one department */
+public record DepartmentCountRow(String department, Long count) {
+}
@@ -0,0 +1,7 @@
+package com.shakhawat.meal.dto.rows;
+
+import java.math.BigDecimal;
+
+/** Orders, revenue and distinct ordering employees for one department over a period */
+public record DepartmentRevenueRow(String department, Long orderCount, BigDecimal revenue, Long employeeCount) {
+}
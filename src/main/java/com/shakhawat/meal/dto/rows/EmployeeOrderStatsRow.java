@@ -0,0 +1,16 @@
+package com.shakhawat.meal.dto.rows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** One employee's orders over a period, with their current budget and spending */
+public record EmployeeOrderStatsRow(
+        String name,
+        String department,
+        BigDecimal monthlyBudget,
+        BigDecimal currentMonthSpent,
+        Long orderCount,
+        BigDecimal revenue,
+        BigDecimal avgOrderValue,
+        LocalDate lastOrderDate) {
+}
@@ -0,0 +1,7 @@
+package com.shakhawat.meal.dto.rows;
+
+import java.math.BigDecimal;
+
+/** Orders and revenue for one hour of a day */
+public record HourlyOrderRow(Integer hour, Long orderCount, BigDecimal revenue) {
+}
@@ -0,0 +1,7 @@
+package com.shakhawat.meal.dto.rows;
+
+import com.shakhawat.meal.entity.MealType;
+
+/** Meals of one type, and how many of them are available */
+public record MealAvailabilityRow(MealType mealType, Long totalMeals, Long availableMeals) {
+}
@@ -0,0 +1,5 @@
+package com.shakhawat.meal.dto.rows;
+
+/** A count for one meal */
+public record MealCountRow(Long mealId, String mealName, Long count) {
+}
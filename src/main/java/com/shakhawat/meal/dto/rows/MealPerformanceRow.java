@@ -0,0 +1,16 @@
+package com.shakhawat.meal.dto.rows;
+
+import com.shakhawat.meal.entity.MealType;
+
+import java.math.BigDecimal;
+
+/** Orders and revenue for one meal over a period, with the meal's current price and availability */
+public record MealPerformanceRow(
+        String mealName,
+        MealType mealType,
+        BigDecimal unitPrice,
+        Long orderCount,
+        BigDecimal revenue,
+        BigDecimal avgOrderValue,
+        Boolean available) {
+}
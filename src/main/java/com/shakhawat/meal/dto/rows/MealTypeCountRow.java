@@ -0,0 +1,7 @@
+package com.shakhawat.meal.dto.rows;
+
+import com.shakhawat.meal.entity.MealType;
+
+/** A count for one meal type */
+public record MealTypeCountRow(MealType mealType, Long count) {
+}
@@ -0,0 +1,9 @@
+package com.shakhawat.meal.dto.rows;
+
+import com.shakhawat.meal.entity.MealType;
+
+import java.math.BigDecimal;
+
+/** Orders and revenue for one meal type */
+public record MealTypeOrderRow(MealType mealType, Long orderCount, BigDecimal revenue) {
+}
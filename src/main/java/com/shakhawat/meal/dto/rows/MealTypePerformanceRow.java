@@ -0,0 +1,14 @@
+package com.shakhawat.meal.dto.rows;
+
+import com.shakhawat.meal.entity.MealType;
+
+import java.math.BigDecimal;
+
+/** Orders and revenue for one meal type over a period, and how many of its meals were ordered */
+public record MealTypePerformanceRow(
+        MealType mealType,
+        Long mealCount,
+        Long orderCount,
+        BigDecimal revenue,
+        BigDecimal avgOrderValue) {
+}
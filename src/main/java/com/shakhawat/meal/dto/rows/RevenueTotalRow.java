@@ -0,0 +1,7 @@
+package com.shakhawat.meal.dto.rows;
+
+import java.math.BigDecimal;
+
+/** Revenue and order count over a period; both are null when there were no orders */
+public record RevenueTotalRow(BigDecimal revenue, Long orderCount) {
+}
@@ -0,0 +1,7 @@
+package com.shakhawat.meal.dto.rows;
+
+import java.math.BigDecimal;
+
+/** Orders and revenue for one meal over a period */
+public record TopMealRow(Long mealId, String mealName, Long orderCount, BigDecimal revenue) {
+}
@@ -7,8 +7,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "audit_logs",
         indexes = {
-                @Index(name = "idx_audit_entity", columnList = "entityType, entityId"),
-                @Index(name = "idx_audit_user", columnList = "userId"),
+                @Index(name = "idx_audit_entity_time", columnList = "entityType, entityId, timestamp"),
+                @Index(name = "idx_audit_user_time", columnList = "userId, timestamp"),
+                @Index(name = "idx_audit_action_time", columnList = "action, timestamp"),
                 @Index(name = "idx_audit_timestamp", columnList = "timestamp")
         }
 )
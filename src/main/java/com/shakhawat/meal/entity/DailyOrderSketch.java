@@ -0,0 +1,30 @@
+package com.shakhawat.meal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Gzipped OrderSketch of the orders of one closed day
+ */
+@Entity
+@Table(name = "daily_order_sketches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyOrderSketch {
+    @Id
+    @Column(name = "sketch_date")
+    private LocalDate sketchDate;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] content;
+
+    @Column(name = "built_at", nullable = false)
+    private LocalDateTime builtAt;
+}
@@ -0,0 +1,51 @@
+package com.shakhawat.meal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Order counts and sums per (order date, employee, department, status), for distinct-employee and
+ * per-employee figures that {@link OrderRollup} cannot answer. The department is part of the
+ * grain, so orders placed before and after a department change land on separate rows.
+ */
+@Entity
+@Table(name = "employee_order_rollup",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_employee_rollup_grain",
+                columnNames = {"order_date", "employee_id", "department", "status"}
+        ),
+        indexes = {
+                @Index(name = "idx_employee_rollup_employee", columnList = "employee_id, order_date")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeOrderRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDate orderDate;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    /** Department of the employee when the orders were placed */
+    @Column(nullable = false)
+    private String department;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
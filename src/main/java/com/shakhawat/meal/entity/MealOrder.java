@@ -60,6 +60,14 @@ public class MealOrder {
     @Builder.Default
     private OrderStatus status = OrderStatus.PENDING;
 
+    /** The employee's department when the order was placed; rollup deltas are keyed on it */
+    @Column(nullable = false, updatable = false)
+    private String department;
+
+    /** Hour of day the order was placed, the rollup hour */
+    @Column(name = "order_hour", nullable = false, updatable = false)
+    private Integer orderHour;
+
     @Version
     private Long version;
 
@@ -72,5 +80,11 @@ public class MealOrder {
         if (totalPrice == null && meal != null) {
             totalPrice = meal.getPrice().multiply(BigDecimal.valueOf(quantity));
         }
+        if (department == null && employee != null) {
+            department = employee.getDepartment();
+        }
+        if (orderHour == null) {
+            orderHour = (createdAt != null ? createdAt : LocalDateTime.now()).getHour();
+        }
     }
 }
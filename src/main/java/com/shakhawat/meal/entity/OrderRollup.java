@@ -0,0 +1,53 @@
+package com.shakhawat.meal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Order counts and sums per (order date, meal, department, hour placed, status).
+ * Maintained incrementally by OrderRollupService in the transaction that changes the order.
+ */
+@Entity
+@Table(name = "order_rollup",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_order_rollup_grain",
+                columnNames = {"order_date", "meal_id", "department", "order_hour", "status"}
+        )
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDate orderDate;
+
+    @Column(name = "meal_id", nullable = false)
+    private Long mealId;
+
+    @Column(nullable = false)
+    private String department;
+
+    /** Hour of day the orders were placed */
+    @Column(name = "order_hour", nullable = false)
+    private Integer orderHour;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
@@ -6,9 +6,13 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "refresh_tokens",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash"),
+                @UniqueConstraint(name = "uk_refresh_employee_device", columnNames = {"employee_id", "device_id"})
+        },
         indexes = {
-                @Index(name = "idx_refresh_token", columnList = "token"),
-                @Index(name = "idx_employee_id", columnList = "employee_id")
+                @Index(name = "idx_refresh_expiry", columnList = "expiry_date"),
+                @Index(name = "idx_refresh_revoked", columnList = "revoked")
         }
 )
 @Data
@@ -25,7 +29,16 @@ public class RefreshToken {
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
-    @Column(nullable = false, unique = true, length = 500)
+    /** SHA-256 of the token; the token itself is never stored */
+    @Column(name = "token_hash", nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
+    /** Client device session this token belongs to; one row per employee and device */
+    @Column(name = "device_id", nullable = false, length = 64)
+    private String deviceId;
+
+    /** Raw token value, only populated when a token is issued */
+    @Transient
     private String token;
 
     @Column(nullable = false)
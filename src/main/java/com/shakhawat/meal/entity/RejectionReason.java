@@ -0,0 +1,5 @@
+package com.shakhawat.meal.entity;
+
+public enum RejectionReason {
+    MEAL_UNAVAILABLE, PAST_DATE, CUTOFF_PASSED, DUPLICATE, BUDGET_EXCEEDED, ORDER_LIMIT_EXCEEDED, SOLD_OUT
+}
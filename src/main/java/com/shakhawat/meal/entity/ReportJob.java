@@ -0,0 +1,55 @@
+package com.shakhawat.meal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A report generated in the background. The compressed result is kept apart in
+ * {@link ReportJobResult} so that polling the status never loads it.
+ */
+@Entity
+@Table(name = "report_jobs",
+        indexes = @Index(name = "idx_report_job_created_at", columnList = "created_at")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 30)
+    private ReportType reportType;
+
+    /** Canonical parameters: yyyy-MM-dd, yyyy-MM, or start/end for audit reports */
+    @Column(nullable = false, length = 32)
+    private String parameters;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportJobStatus status;
+
+    @Column(name = "requested_by")
+    private String requestedBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /** Gzipped size of the result in bytes */
+    @Column(name = "result_size")
+    private Integer resultSize;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+}
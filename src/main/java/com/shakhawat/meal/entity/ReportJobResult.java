@@ -0,0 +1,22 @@
+package com.shakhawat.meal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Gzipped JSON of a completed report job
+ */
+@Entity
+@Table(name = "report_job_results")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobResult {
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] content;
+}
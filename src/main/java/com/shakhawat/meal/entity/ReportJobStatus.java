@@ -0,0 +1,5 @@
+package com.shakhawat.meal.entity;
+
+public enum ReportJobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
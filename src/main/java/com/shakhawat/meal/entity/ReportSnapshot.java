@@ -0,0 +1,48 @@
+package com.shakhawat.meal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * The stored result of a report for a closed period, serialized as JSON.
+ * Written once when the period is first requested and replaced only by an explicit backfill,
+ * which increments the version.
+ */
+@Entity
+@Table(name = "report_snapshots",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_report_snapshot_period",
+                columnNames = {"report_type", "period_key"}
+        )
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 30)
+    private ReportType reportType;
+
+    /** yyyy-MM-dd for daily reports, yyyy-MM for monthly ones */
+    @Column(name = "period_key", nullable = false, length = 10)
+    private String periodKey;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    /** SHA-256 of the content, hex encoded */
+    @Column(nullable = false, length = 64)
+    private String etag;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String content;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+}
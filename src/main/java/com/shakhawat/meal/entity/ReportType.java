@@ -0,0 +1,5 @@
+package com.shakhawat.meal.entity;
+
+public enum ReportType {
+    DAILY, MONTHLY, EMPLOYEE_PERFORMANCE, MEAL_PERFORMANCE, AUDIT
+}
@@ -0,0 +1,53 @@
+package com.shakhawat.meal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A burst of audit events flagged by the suspicious-activity detector
+ */
+@Entity
+@Table(name = "security_alerts",
+        indexes = {
+                @Index(name = "idx_alert_detected_at", columnList = "detected_at"),
+                @Index(name = "idx_alert_user", columnList = "user_id")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SecurityAlert {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 40)
+    private String rule;
+
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "ip_address", length = 50)
+    private String ipAddress;
+
+    @Column(nullable = false, length = 20)
+    private String action;
+
+    @Column(name = "entity_type", length = 50)
+    private String entityType;
+
+    /** Events seen within the window when the alert fired */
+    @Column(name = "event_count", nullable = false)
+    private Integer eventCount;
+
+    @Column(name = "window_seconds", nullable = false)
+    private Integer windowSeconds;
+
+    @Column(nullable = false)
+    private String reason;
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+}
@@ -1,42 +1,37 @@
 package com.shakhawat.meal.repository;
 
 import com.shakhawat.meal.entity.AuditLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogSearchRepository {
     Page<AuditLog> findByEntityTypeAndEntityId(String entityType, Long entityId, Pageable pageable);
     Page<AuditLog> findByUserId(String userId, Pageable pageable);
     Page<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
 
-    // Report-specific queries
+    /**
+     * Forward-only cursor over the range, oldest first, for single-pass aggregation. Must be
+     * consumed inside a transaction and closed. Rows are read-only; with MySQL the fetch size
+     * only streams when the connection has useCursorFetch=true. audit_logs is partitioned by
+     * month on timestamp, so the plain range comparison lets MySQL prune to the months in range.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
     @Query("SELECT al FROM AuditLog al " +
            "WHERE al.timestamp BETWEEN :start AND :end " +
-           "ORDER BY al.timestamp DESC")
-    List<AuditLog> findByTimestampBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-
-    @Query("SELECT al.action, COUNT(*) FROM AuditLog al " +
-           "WHERE al.timestamp BETWEEN :start AND :end " +
-           "GROUP BY al.action " +
-           "ORDER BY COUNT(*) DESC")
-    List<Object[]> findActionStats(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-
-    @Query("SELECT al.userId, COUNT(*), MIN(al.timestamp), MAX(al.timestamp) FROM AuditLog al " +
-           "WHERE al.timestamp BETWEEN :start AND :end " +
-           "GROUP BY al.userId " +
-           "ORDER BY COUNT(*) DESC")
-    List<Object[]> findUserActivityStats(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-
-    @Query("SELECT al.entityType, COUNT(*) FROM AuditLog al " +
-           "WHERE al.timestamp BETWEEN :start AND :end " +
-           "GROUP BY al.entityType " +
-           "ORDER BY COUNT(*) DESC")
-    List<Object[]> findEntityActivityStats(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+           "ORDER BY al.timestamp, al.id")
+    Stream<AuditLog> streamByTimestampBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
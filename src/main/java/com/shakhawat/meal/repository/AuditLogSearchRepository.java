@@ -0,0 +1,16 @@
+package com.shakhawat.meal.repository;
+
+import com.shakhawat.meal.dto.AuditDTO;
+import com.shakhawat.meal.entity.AuditLog;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuditLogSearchRepository {
+
+    /**
+     * Audit logs matching the criteria, newest first (timestamp, then id), strictly after the
+     * given position when one is set. Keyset pagination: the cost of a page does not grow with
+     * how far the caller has paged.
+     */
+    List<AuditLog> search(AuditDTO.Criteria criteria, LocalDateTime afterTimestamp, Long afterId, int limit);
+}
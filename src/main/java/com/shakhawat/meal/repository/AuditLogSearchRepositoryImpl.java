@@ -0,0 +1,68 @@
+package com.shakhawat.meal.repository;
+
+import com.shakhawat.meal.dto.AuditDTO;
+import com.shakhawat.meal.entity.AuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the search query from the filters that are actually set, so each combination matches
+ * one of the composite (filter, timestamp) indexes on audit_logs instead of an optional-parameter
+ * predicate the optimizer cannot use.
+ */
+class AuditLogSearchRepositoryImpl implements AuditLogSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLog> search(AuditDTO.Criteria criteria, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT al FROM AuditLog al WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        if (criteria.getEntityType() != null) {
+            jpql.append(" AND al.entityType = :entityType");
+            parameters.put("entityType", criteria.getEntityType());
+        }
+        if (criteria.getEntityId() != null) {
+            jpql.append(" AND al.entityId = :entityId");
+            parameters.put("entityId", criteria.getEntityId());
+        }
+        if (criteria.getUserId() != null) {
+            jpql.append(" AND al.userId = :userId");
+            parameters.put("userId", criteria.getUserId());
+        }
+        if (criteria.getAction() != null) {
+            jpql.append(" AND al.action = :action");
+            parameters.put("action", criteria.getAction());
+        }
+        // Plain bounds on timestamp also let MySQL prune partitions
+        if (criteria.getFrom() != null) {
+            jpql.append(" AND al.timestamp >= :from");
+            parameters.put("from", criteria.getFrom());
+        }
+        if (criteria.getTo() != null) {
+            jpql.append(" AND al.timestamp <= :to");
+            parameters.put("to", criteria.getTo());
+        }
+        if (afterTimestamp != null && afterId != null) {
+            jpql.append(" AND al.timestamp <= :afterTimestamp")
+                .append(" AND (al.timestamp < :afterTimestamp OR al.id < :afterId)");
+            parameters.put("afterTimestamp", afterTimestamp);
+            parameters.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY al.timestamp DESC, al.id DESC");
+
+        TypedQuery<AuditLog> query = entityManager.createQuery(jpql.toString(), AuditLog.class)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,20 @@
+package com.shakhawat.meal.repository;
+
+import com.shakhawat.meal.entity.DailyOrderSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyOrderSketchRepository extends JpaRepository<DailyOrderSketch, LocalDate> {
+
+    List<DailyOrderSketch> findBySketchDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT s.sketchDate FROM DailyOrderSketch s WHERE s.sketchDate BETWEEN :startDate AND :endDate")
+    List<LocalDate> findSketchDatesBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,53 @@
+package com.shakhawat.meal.repository;
+
+import com.shakhawat.meal.dto.rows.DepartmentRevenueRow;
+import com.shakhawat.meal.dto.rows.EmployeeOrderStatsRow;
+import com.shakhawat.meal.entity.EmployeeOrderRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Per-employee report queries over the employee order rollup, bounded on order_date
+ */
+@Repository
+public interface EmployeeOrderRollupRepository extends JpaRepository<EmployeeOrderRollup, Long> {
+
+    @Query("SELECT COUNT(DISTINCT r.employeeId) FROM EmployeeOrderRollup r " +
+           "WHERE r.orderDate = :date AND r.orderCount > 0")
+    Long countDistinctEmployeesByDate(@Param("date") LocalDate date);
+
+    @Query("SELECT COUNT(DISTINCT r.employeeId) FROM EmployeeOrderRollup r " +
+           "WHERE r.orderDate BETWEEN :startDate AND :endDate AND r.orderCount > 0")
+    Long countDistinctEmployeesBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.shakhawat.meal.dto.rows.DepartmentRevenueRow(r.department, SUM(r.orderCount), " +
+           "SUM(r.revenue), COUNT(DISTINCT r.employeeId)) " +
+           "FROM EmployeeOrderRollup r " +
+           "WHERE r.orderDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.department " +
+           "HAVING SUM(r.orderCount) > 0 " +
+           "ORDER BY SUM(r.revenue) DESC")
+    List<DepartmentRevenueRow> findRevenueByDepartment(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /** Serves both the employee performance report and the monthly budget analysis */
+    @Query("SELECT new com.shakhawat.meal.dto.rows.EmployeeOrderStatsRow(e.name, e.department, " +
+           "e.monthlyBudget, e.currentMonthSpent, SUM(r.orderCount), SUM(r.revenue), " +
+           "SUM(r.revenue) / SUM(r.orderCount), MAX(r.orderDate)) " +
+           "FROM EmployeeOrderRollup r " +
+           "JOIN Employee e ON e.id = r.employeeId " +
+           "WHERE r.orderDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY e.id, e.name, e.department, e.monthlyBudget, e.currentMonthSpent " +
+           "HAVING SUM(r.orderCount) > 0 " +
+           "ORDER BY SUM(r.revenue) DESC")
+    List<EmployeeOrderStatsRow> findEmployeePerformance(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+}
@@ -1,23 +1,41 @@
 package com.shakhawat.meal.repository;
 
+import com.shakhawat.meal.dto.EmployeeExportRow;
+import com.shakhawat.meal.dto.rows.BudgetTotalsRow;
+import com.shakhawat.meal.dto.rows.DepartmentBudgetRow;
+import com.shakhawat.meal.dto.rows.DepartmentCountRow;
 import com.shakhawat.meal.entity.Employee;
 import com.shakhawat.meal.entity.EmployeeStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
 
     Optional<Employee> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT e.id FROM Employee e WHERE e.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Employee e SET e.failedLoginAttempts = 0, e.accountNonLocked = true, e.lockTime = null WHERE e.id = :id")
+    void resetFailedLoginAttempts(@Param("id") Long id);
+
     Page<Employee> findByStatus(EmployeeStatus status, Pageable pageable);
     Page<Employee> findByDepartment(String department, Pageable pageable);
 
@@ -28,23 +46,39 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSp
     @Query("UPDATE Employee e SET e.currentMonthSpent = 0 WHERE e.deleted = false")
     int resetAllMonthlyBudgets();
 
+    /** Forward-only rows for export; the caller must consume and close the stream inside a transaction */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.shakhawat.meal.dto.EmployeeExportRow(e.id, e.name, e.email, e.department, e.status, " +
+           "e.monthlyBudget, e.currentMonthSpent, e.monthlyOrderLimit) " +
+           "FROM Employee e " +
+           "WHERE e.deleted = false " +
+           "ORDER BY e.id")
+    Stream<EmployeeExportRow> streamExportRows();
+
     // Report-specific queries
-    @Query("SELECT SUM(e.monthlyBudget), SUM(e.currentMonthSpent) FROM Employee e " +
+    @Query("SELECT new com.shakhawat.meal.dto.rows.BudgetTotalsRow(SUM(e.monthlyBudget), SUM(e.currentMonthSpent)) " +
+           "FROM Employee e " +
            "WHERE e.deleted = false")
-    Object[] findTotalBudgetUtilization();
+    BudgetTotalsRow findTotalBudgetUtilization();
 
-    @Query("SELECT e.department, COUNT(e.id), SUM(e.monthlyBudget), SUM(e.currentMonthSpent) " +
+    @Query("SELECT new com.shakhawat.meal.dto.rows.DepartmentBudgetRow(e.department, COUNT(e.id), " +
+           "SUM(e.monthlyBudget), SUM(e.currentMonthSpent)) " +
            "FROM Employee e " +
            "WHERE e.deleted = false " +
            "GROUP BY e.department " +
            "ORDER BY SUM(e.currentMonthSpent) DESC")
-    List<Object[]> findDepartmentBudgetAnalysis();
+    List<DepartmentBudgetRow> findDepartmentBudgetAnalysis();
 
     @Query("SELECT COUNT(e.id) FROM Employee e WHERE e.deleted = false AND e.status = 'ACTIVE'")
     Long countActiveEmployees();
 
-    @Query("SELECT e.department, COUNT(e.id) FROM Employee e " +
+    @Query("SELECT new com.shakhawat.meal.dto.rows.DepartmentCountRow(e.department, COUNT(e.id)) " +
+           "FROM Employee e " +
            "WHERE e.deleted = false AND e.status = 'ACTIVE' " +
            "GROUP BY e.department")
-    List<Object[]> findActiveEmployeesByDepartment();
+    List<DepartmentCountRow> findActiveEmployeesByDepartment();
 }
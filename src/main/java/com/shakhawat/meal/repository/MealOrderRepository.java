@@ -1,16 +1,23 @@
 package com.shakhawat.meal.repository;
 
+import com.shakhawat.meal.dto.OrderExportRow;
+import com.shakhawat.meal.dto.rows.MealCountRow;
+import com.shakhawat.meal.dto.rows.TopMealRow;
 import com.shakhawat.meal.entity.Employee;
 import com.shakhawat.meal.entity.MealOrder;
 import com.shakhawat.meal.entity.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MealOrderRepository extends JpaRepository<MealOrder, Long> {
@@ -38,6 +45,23 @@ public interface MealOrderRepository extends JpaRepository<MealOrder, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    /** Forward-only rows for export; the caller must consume and close the stream inside a transaction */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.shakhawat.meal.dto.OrderExportRow(mo.id, mo.orderDate, e.id, e.name, e.department, " +
+           "m.id, m.name, m.type, mo.quantity, mo.totalPrice, mo.status, mo.createdAt) " +
+           "FROM MealOrder mo " +
+           "JOIN mo.employee e " +
+           "JOIN mo.meal m " +
+           "WHERE mo.orderDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY mo.orderDate, mo.id")
+    Stream<OrderExportRow> streamExportRows(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     boolean existsByEmployeeIdAndMealIdAndOrderDate(Long employeeId, Long mealId, LocalDate orderDate);
 
     @Query("SELECT COUNT(mo) FROM MealOrder mo " +
@@ -55,89 +79,29 @@ public interface MealOrderRepository extends JpaRepository<MealOrder, Long> {
 
     long countByOrderDate(LocalDate orderDate);
 
-    // Report-specific queries
-    @Query("SELECT COUNT(DISTINCT mo.employee.id) FROM MealOrder mo " +
-           "WHERE DATE(mo.orderDate) = :date")
-    Long countDistinctEmployeesByDate(@Param("date") LocalDate date);
-
-    @Query("SELECT SUM(mo.totalPrice), COUNT(mo.id) FROM MealOrder mo " +
-            "WHERE DATE(mo.orderDate) = :date")
-    Object calculateDailyRevenue(@Param("date") LocalDate date);
-
-    @Query("SELECT HOUR(mo.createdAt), COUNT(mo.id), SUM(mo.totalPrice) FROM MealOrder mo " +
-           "WHERE DATE(mo.orderDate) = :date " +
-           "GROUP BY HOUR(mo.createdAt) " +
-           "ORDER BY COUNT(mo.id) DESC")
-    List<Object[]> findHourlyOrderBreakdown(@Param("date") LocalDate date);
-
-    @Query("SELECT m.type, COUNT(mo.id), SUM(mo.totalPrice) FROM MealOrder mo " +
-           "JOIN mo.meal m " +
-           "WHERE DATE(mo.orderDate) = :date " +
-           "GROUP BY m.type " +
-           "ORDER BY COUNT(mo.id) DESC")
-    List<Object[]> findMealTypeBreakdown(@Param("date") LocalDate date);
-
-    @Query("SELECT e.department, COUNT(mo.id), SUM(mo.totalPrice), COUNT(DISTINCT mo.employee.id) " +
-           "FROM MealOrder mo " +
-           "JOIN mo.employee e " +
-           "WHERE mo.orderDate BETWEEN :startDate AND :endDate " +
-           "GROUP BY e.department " +
-           "ORDER BY SUM(mo.totalPrice) DESC")
-    List<Object[]> findMonthlyRevenueByDepartment(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
-
-    @Query("SELECT e.name, e.department, COUNT(mo.id), SUM(mo.totalPrice), AVG(mo.totalPrice), MAX(mo.orderDate) " +
-           "FROM MealOrder mo " +
-           "JOIN mo.employee e " +
-           "WHERE mo.orderDate BETWEEN :startDate AND :endDate " +
-           "GROUP BY e.id, e.name, e.department " +
-           "ORDER BY SUM(mo.totalPrice) DESC")
-    List<Object[]> findEmployeePerformanceByMonth(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
-
-    @Query("SELECT m.name, m.type, m.price, COUNT(mo.id), SUM(mo.totalPrice), AVG(mo.totalPrice), m.available " +
-           "FROM MealOrder mo " +
-           "JOIN mo.meal m " +
-           "WHERE mo.orderDate BETWEEN :startDate AND :endDate " +
-           "GROUP BY m.id, m.name, m.type, m.price, m.available " +
-           "ORDER BY SUM(mo.totalPrice) DESC")
-    List<Object[]> findMealPerformanceByMonth(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
+    long countByOrderDateBetween(LocalDate startDate, LocalDate endDate);
 
-    @Query("SELECT m.type, COUNT(DISTINCT m.id), COUNT(mo.id), SUM(mo.totalPrice), AVG(mo.totalPrice) " +
+    // Dashboard queries; the reports read the order rollups instead
+    @Query("SELECT new com.shakhawat.meal.dto.rows.TopMealRow(m.id, m.name, COUNT(mo.id), SUM(mo.totalPrice)) " +
            "FROM MealOrder mo " +
            "JOIN mo.meal m " +
            "WHERE mo.orderDate BETWEEN :startDate AND :endDate " +
-           "GROUP BY m.type " +
-           "ORDER BY SUM(mo.totalPrice) DESC")
-    List<Object[]> findMealTypePerformanceByMonth(
+           "GROUP BY m.id, m.name " +
+           "ORDER BY COUNT(mo.id) DESC")
+    List<TopMealRow> findTopMealsByDateRange(
             @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
 
-    @Query("SELECT e.name, e.department, e.monthlyBudget, e.currentMonthSpent, " +
-           "COUNT(mo.id), SUM(mo.totalPrice), AVG(mo.totalPrice), MAX(mo.orderDate) " +
-           "FROM Employee e " +
-           "LEFT JOIN MealOrder mo ON e.id = mo.employee.id " +
-           "WHERE YEAR(mo.orderDate) = :year AND MONTH(mo.orderDate) = :month " +
-           "GROUP BY e.id, e.name, e.department " +
-           "ORDER BY SUM(mo.totalPrice) DESC")
-    List<Object[]> findEmployeeBudgetAnalysisByMonth(
-            @Param("year") Integer year,
-            @Param("month") Integer month);
-
-    @Query("SELECT m.id, m.name, COUNT(mo.id), SUM(mo.totalPrice) " +
+    @Query("SELECT new com.shakhawat.meal.dto.rows.MealCountRow(m.id, m.name, COUNT(DISTINCT mo.employee.id)) " +
            "FROM MealOrder mo " +
            "JOIN mo.meal m " +
            "WHERE mo.orderDate BETWEEN :startDate AND :endDate " +
            "GROUP BY m.id, m.name " +
-           "ORDER BY COUNT(mo.id) DESC")
-    List<Object[]> findTopMealsByDateRange(
+           "ORDER BY COUNT(DISTINCT mo.employee.id) DESC")
+    List<MealCountRow> findDistinctEmployeesByMeal(
             @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
+            @Param("endDate") LocalDate endDate);
 
     @Query("SELECT mo FROM MealOrder mo " +
            "JOIN FETCH mo.employee " +
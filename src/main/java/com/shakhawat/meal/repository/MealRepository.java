@@ -1,5 +1,7 @@
 package com.shakhawat.meal.repository;
 
+import com.shakhawat.meal.dto.rows.MealAvailabilityRow;
+import com.shakhawat.meal.dto.rows.MealTypeCountRow;
 import com.shakhawat.meal.entity.Meal;
 import com.shakhawat.meal.entity.MealType;
 import org.springframework.data.domain.Page;
@@ -25,13 +27,15 @@ public interface MealRepository extends JpaRepository<Meal, Long> {
     @Query("SELECT COUNT(m) FROM Meal m WHERE m.available = true")
     Long countAvailableMeals();
 
-    @Query("SELECT m.type, COUNT(m.id), COUNT(CASE WHEN m.available = true THEN 1 END) " +
+    @Query("SELECT new com.shakhawat.meal.dto.rows.MealAvailabilityRow(m.type, COUNT(m.id), " +
+           "COUNT(CASE WHEN m.available = true THEN 1 END)) " +
            "FROM Meal m " +
            "GROUP BY m.type")
-    List<Object[]> findAvailabilityStatsByType();
+    List<MealAvailabilityRow> findAvailabilityStatsByType();
 
-    @Query("SELECT m.type, COUNT(m.id) FROM Meal m WHERE m.available = true GROUP BY m.type")
-    List<Object[]> findAvailableMealsByTypeStats();
+    @Query("SELECT new com.shakhawat.meal.dto.rows.MealTypeCountRow(m.type, COUNT(m.id)) " +
+           "FROM Meal m WHERE m.available = true GROUP BY m.type")
+    List<MealTypeCountRow> findAvailableMealsByTypeStats();
 
     @Query("SELECT m FROM Meal m " +
            "WHERE (:available IS NULL OR m.available = :available) " +
@@ -0,0 +1,88 @@
+package com.shakhawat.meal.repository;
+
+import com.shakhawat.meal.dto.rows.CubeCellRow;
+import com.shakhawat.meal.dto.rows.HourlyOrderRow;
+import com.shakhawat.meal.dto.rows.MealPerformanceRow;
+import com.shakhawat.meal.dto.rows.MealTypeOrderRow;
+import com.shakhawat.meal.dto.rows.MealTypePerformanceRow;
+import com.shakhawat.meal.dto.rows.RevenueTotalRow;
+import com.shakhawat.meal.entity.OrderRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Report queries over the order rollup. Every query bounds order_date, the leading column of
+ * the rollup key, and groups at most a few rows per meal, department and hour per day.
+ * Averages are per order: revenue divided by order count.
+ */
+@Repository
+public interface OrderRollupRepository extends JpaRepository<OrderRollup, Long> {
+
+    @Query("SELECT new com.shakhawat.meal.dto.rows.RevenueTotalRow(SUM(r.revenue), SUM(r.orderCount)) " +
+           "FROM OrderRollup r " +
+           "WHERE r.orderDate = :date")
+    RevenueTotalRow calculateDailyRevenue(@Param("date") LocalDate date);
+
+    @Query("SELECT new com.shakhawat.meal.dto.rows.RevenueTotalRow(SUM(r.revenue), SUM(r.orderCount)) " +
+           "FROM OrderRollup r " +
+           "WHERE r.orderDate BETWEEN :startDate AND :endDate")
+    RevenueTotalRow calculateRevenueBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.shakhawat.meal.dto.rows.HourlyOrderRow(r.orderHour, SUM(r.orderCount), SUM(r.revenue)) " +
+           "FROM OrderRollup r " +
+           "WHERE r.orderDate = :date " +
+           "GROUP BY r.orderHour " +
+           "HAVING SUM(r.orderCount) > 0 " +
+           "ORDER BY SUM(r.orderCount) DESC")
+    List<HourlyOrderRow> findHourlyOrderBreakdown(@Param("date") LocalDate date);
+
+    @Query("SELECT new com.shakhawat.meal.dto.rows.MealTypeOrderRow(m.type, SUM(r.orderCount), SUM(r.revenue)) " +
+           "FROM OrderRollup r " +
+           "JOIN Meal m ON m.id = r.mealId " +
+           "WHERE r.orderDate = :date " +
+           "GROUP BY m.type " +
+           "HAVING SUM(r.orderCount) > 0 " +
+           "ORDER BY SUM(r.orderCount) DESC")
+    List<MealTypeOrderRow> findMealTypeBreakdown(@Param("date") LocalDate date);
+
+    @Query("SELECT new com.shakhawat.meal.dto.rows.MealPerformanceRow(m.name, m.type, m.price, " +
+           "SUM(r.orderCount), SUM(r.revenue), SUM(r.revenue) / SUM(r.orderCount), m.available) " +
+           "FROM OrderRollup r " +
+           "JOIN Meal m ON m.id = r.mealId " +
+           "WHERE r.orderDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY m.id, m.name, m.type, m.price, m.available " +
+           "HAVING SUM(r.orderCount) > 0 " +
+           "ORDER BY SUM(r.revenue) DESC")
+    List<MealPerformanceRow> findMealPerformance(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.shakhawat.meal.dto.rows.MealTypePerformanceRow(m.type, COUNT(DISTINCT m.id), " +
+           "SUM(r.orderCount), SUM(r.revenue), SUM(r.revenue) / SUM(r.orderCount)) " +
+           "FROM OrderRollup r " +
+           "JOIN Meal m ON m.id = r.mealId " +
+           "WHERE r.orderDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY m.type " +
+           "HAVING SUM(r.orderCount) > 0 " +
+           "ORDER BY SUM(r.revenue) DESC")
+    List<MealTypePerformanceRow> findMealTypePerformance(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /** Cells of the in-memory current-month cube: one row per day, department, meal type and status */
+    @Query("SELECT new com.shakhawat.meal.dto.rows.CubeCellRow(r.orderDate, r.department, m.type, r.status, " +
+           "SUM(r.orderCount), SUM(r.quantity), SUM(r.revenue)) " +
+           "FROM OrderRollup r " +
+           "JOIN Meal m ON m.id = r.mealId " +
+           "WHERE r.orderDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.orderDate, r.department, m.type, r.status")
+    List<CubeCellRow> findCubeCells(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+}
@@ -1,27 +1,32 @@
 package com.shakhawat.meal.repository;
 
 import com.shakhawat.meal.entity.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.employee e LEFT JOIN FETCH e.roles " +
+            "WHERE rt.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") byte[] tokenHash);
 
-    Optional<RefreshToken> findByEmployeeIdAndRevokedFalse(Long employeeId);
+    Optional<RefreshToken> findByEmployeeIdAndDeviceId(Long employeeId, String deviceId);
 
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.employee.id = :employeeId")
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.employee.id = :employeeId AND rt.revoked = false")
     void revokeAllByEmployeeId(Long employeeId);
 
-    @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now")
-    void deleteExpiredTokens(Instant now);
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.expiryDate < :now")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
 
-    boolean existsByTokenAndRevokedFalse(String token);
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.revoked = true")
+    List<Long> findRevokedIds(Pageable pageable);
 }
@@ -0,0 +1,22 @@
+package com.shakhawat.meal.repository;
+
+import com.shakhawat.meal.entity.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    @Modifying
+    @Query("DELETE FROM ReportJobResult r WHERE r.jobId IN " +
+           "(SELECT j.id FROM ReportJob j WHERE j.createdAt < :cutoff)")
+    int deleteResultsCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM ReportJob j WHERE j.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,9 @@
+package com.shakhawat.meal.repository;
+
+import com.shakhawat.meal.entity.ReportJobResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReportJobResultRepository extends JpaRepository<ReportJobResult, String> {
+}
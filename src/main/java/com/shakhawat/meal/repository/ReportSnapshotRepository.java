@@ -0,0 +1,12 @@
+package com.shakhawat.meal.repository;
+
+import com.shakhawat.meal.entity.ReportSnapshot;
+import com.shakhawat.meal.entity.ReportType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface ReportSnapshotRepository extends JpaRepository<ReportSnapshot, Long> {
+    Optional<ReportSnapshot> findByReportTypeAndPeriodKey(ReportType reportType, String periodKey);
+}
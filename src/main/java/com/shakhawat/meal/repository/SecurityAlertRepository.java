@@ -0,0 +1,14 @@
+package com.shakhawat.meal.repository;
+
+import com.shakhawat.meal.entity.SecurityAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SecurityAlertRepository extends JpaRepository<SecurityAlert, Long> {
+    List<SecurityAlert> findByDetectedAtBetweenOrderByDetectedAtDesc(LocalDateTime start, LocalDateTime end,
+                                                                      Pageable pageable);
+}
@@ -0,0 +1,69 @@
+package com.shakhawat.meal.security;
+
+import com.shakhawat.meal.entity.Role;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.util.StringUtils;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolved identity of the calling employee: id, email, roles and whether the
+ * roles grant unrestricted (admin / cafeteria staff) access.
+ */
+@Getter
+@ToString
+public class AuthenticatedEmployee implements AuthenticatedPrincipal, Serializable {
+
+    private final Long id;
+    private final String email;
+    private final Set<String> roles;
+    private final boolean privileged;
+    private final String tokenId;
+    private final Instant tokenExpiresAt;
+
+    public AuthenticatedEmployee(Long id, String email, Collection<String> roles) {
+        this(id, email, roles, null, null);
+    }
+
+    public AuthenticatedEmployee(Long id, String email, Collection<String> roles,
+                                 String tokenId, Instant tokenExpiresAt) {
+        this.id = id;
+        this.email = email;
+        this.roles = Set.copyOf(roles);
+        this.privileged = this.roles.contains(Role.ROLE_ADMIN.name())
+                || this.roles.contains(Role.ROLE_CAFETERIA_STAFF.name());
+        this.tokenId = tokenId;
+        this.tokenExpiresAt = tokenExpiresAt;
+    }
+
+    /**
+     * Build from verified access token claims.
+     * Returns null for tokens issued without an employee id claim.
+     */
+    public static AuthenticatedEmployee fromClaims(Claims claims) {
+        Long employeeId = claims.get(JwtTokenProvider.CLAIM_EMPLOYEE_ID, Long.class);
+        if (employeeId == null) {
+            return null;
+        }
+
+        String roles = claims.get(JwtTokenProvider.CLAIM_ROLES, String.class);
+        Set<String> roleNames = StringUtils.hasText(roles)
+                ? Arrays.stream(roles.split(",")).map(String::trim).collect(Collectors.toSet())
+                : Set.of();
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        return new AuthenticatedEmployee(employeeId, claims.getSubject(), roleNames, claims.getId(), expiresAt);
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,65 @@
+package com.shakhawat.meal.security;
+
+import com.shakhawat.meal.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the calling employee for service-level authorization checks.
+ * Tokens issued by {@link JwtTokenProvider} already carry the principal, so no lookup is needed;
+ * other authentications (legacy tokens, tests) are resolved by email at most once per request.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentEmployeeResolver {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentEmployeeResolver.class.getName() + ".PRINCIPAL";
+
+    private final EmployeeRepository employeeRepository;
+
+    /**
+     * Current employee, or empty when there is no authenticated user (e.g. internal calls)
+     */
+    public Optional<AuthenticatedEmployee> resolve() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || "anonymousUser".equals(authentication.getPrincipal())) {
+            return Optional.empty();
+        }
+
+        if (authentication.getPrincipal() instanceof AuthenticatedEmployee principal) {
+            return Optional.of(principal);
+        }
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof AuthenticatedEmployee cached
+                && cached.getEmail().equals(authentication.getName())) {
+            return Optional.of(cached);
+        }
+
+        AuthenticatedEmployee principal = lookup(authentication);
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.of(principal);
+    }
+
+    private AuthenticatedEmployee lookup(Authentication authentication) {
+        Set<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        Long employeeId = employeeRepository.findIdByEmail(authentication.getName()).orElse(null);
+        return new AuthenticatedEmployee(employeeId, authentication.getName(), roles);
+    }
+}
@@ -1,25 +1,37 @@
 package com.shakhawat.meal.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Base64;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
+    public static final String CLAIM_EMPLOYEE_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    /** Issue time in epoch millis; {@code iat} only has second precision */
+    public static final String CLAIM_ISSUED_AT_MS = "iat_ms";
+
     @Value("${jwt.secret:MySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong!@#$%^&*()}")
     private String jwtSecret;
 
@@ -30,7 +42,24 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration:2592000000}") // 30 days
     private long refreshTokenExpiration;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    });
+
     private SecretKey key;
+    private JwtParser parser;
+
+    /** Claims of recently verified tokens, keyed by token digest and kept until the token expires (null when disabled) */
+    private Cache<ByteBuffer, Claims> verifiedTokens;
 
     @PostConstruct
     public void init() {
@@ -38,43 +67,30 @@ public class JwtTokenProvider {
             throw new IllegalArgumentException("JWT secret key must be configured.");
         }
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = verifiedCacheMaxSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheMaxSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .build()
+                : null;
     }
 
     /**
-     * Generate access token (short-lived)
+     * Generate access token (short-lived).
+     * Carries the employee id and roles so requests can be authorized without a lookup.
      */
-    public String generateAccessToken(Authentication authentication) {
-        String username = authentication.getName();
-        Instant now = Instant.now();
-
-        Instant expirationTime = now.plusMillis(jwtExpiration);
-        Date expirationDate = Date.from(expirationTime);
-
-        String roles = authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
-
-        return Jwts.builder()
-                .subject(username)
-                .claim("roles", roles)
-                .claim("type", "access")
-                .issuedAt(Date.from(now))
-                .expiration(expirationDate)
-                .signWith(key)
-                .compact();
-    }
-
-    /**
-     * Generate access token from email
-     */
-    public String generateAccessTokenFromEmail(String email, String roles) {
+    public String generateAccessToken(Long employeeId, String email, String roles) {
         Instant now = Instant.now();
         Instant expiryInstant = now.plusMillis(jwtExpiration);
         Date expiryDate = Date.from(expiryInstant);
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
-                .claim("roles", roles)
+                .claim(CLAIM_EMPLOYEE_ID, employeeId)
+                .claim(CLAIM_ROLES, roles)
                 .claim("type", "access")
+                .claim(CLAIM_ISSUED_AT_MS, now.toEpochMilli())
                 .issuedAt(Date.from(now))
                 .expiration(expiryDate)
                 .signWith(key)
@@ -82,30 +98,39 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Generate refresh token (long-lived)
+     * Generate refresh token (long-lived, opaque, 256 random bits)
      */
     public String generateRefreshToken() {
-        return UUID.randomUUID().toString();
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Parse and verify a token in a single pass.
+     * Returns the claims, or null when the token is missing, invalid or expired.
+     */
+    public Claims parseClaims(String token) {
+        if (!StringUtils.hasText(token)) {
+            log.error("JWT claims string is empty");
+            return null;
+        }
 
-        return claims.getSubject();
-    }
+        ByteBuffer digest = verifiedTokens != null ? digest(token) : null;
+        if (digest != null) {
+            Claims cached = verifiedTokens.getIfPresent(digest);
+            if (cached != null && !isExpired(cached)) {
+                return cached;
+            }
+        }
 
-    public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (SecurityException ex) {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (digest != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return claims;
+        } catch (io.jsonwebtoken.security.SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token");
@@ -116,6 +141,47 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
+    }
+
+    public String getUsernameFromToken(String token) {
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    /** Evicts cached claims at the token's own expiry time */
+    private final class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            long remainingMillis = expiration != null
+                    ? expiration.getTime() - System.currentTimeMillis()
+                    : jwtExpiration;
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
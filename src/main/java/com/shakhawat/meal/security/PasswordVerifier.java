@@ -0,0 +1,105 @@
+package com.shakhawat.meal.security;
+
+import com.shakhawat.meal.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Runs password hash checks on a small dedicated pool so a burst of logins
+ * cannot occupy every request thread's CPU. When the queue is full, logins are
+ * rejected with 503 instead of piling up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.password-verification.threads:0}") // 0 = half the available processors
+    private int threads;
+
+    @Value("${auth.password-verification.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${auth.password-verification.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    private ThreadPoolExecutor executor;
+    private Counter rejectedCounter;
+
+    /** Hash of a random value, compared against when the email is unknown to keep timing uniform */
+    private String dummyHash;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-verifier-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+
+        Gauge.builder("auth.password.verification.queue", executor, e -> e.getQueue().size())
+                .description("Password checks waiting for a verifier thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.verification.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password checks currently running")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.verification.rejected")
+                .description("Password checks rejected because the queue was full or timed out")
+                .register(meterRegistry);
+
+        log.info("Password verifier started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Check a raw password against the stored hash.
+     * A null hash (unknown user) is checked against a dummy hash and always fails.
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        String hash = encodedPassword != null ? encodedPassword : dummyHash;
+
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> passwordEncoder.matches(rawPassword, hash));
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Too many login attempts in progress. Please retry shortly.");
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS) && encodedPassword != null;
+        } catch (TimeoutException ex) {
+            result.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Login is taking longer than expected. Please retry shortly.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Login was interrupted. Please retry.");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password verification failed", ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
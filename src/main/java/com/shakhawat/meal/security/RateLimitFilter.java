@@ -0,0 +1,157 @@
+package com.shakhawat.meal.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client request throttling for the API.
+ * Authenticated requests are limited per employee, anonymous ones per client IP, each with
+ * separate limits per route group. Runs right after JWT authentication so throttled requests
+ * never reach the database.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String TOO_MANY_REQUESTS_BODY =
+            "{\"success\":false,\"message\":\"Too many requests, please retry later\",\"data\":null,\"pagination\":null}";
+
+    enum RouteGroup { AUTH, ORDERS, REPORTS, DEFAULT }
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.max-entries:100000}")
+    private long maxEntries;
+
+    @Value("${rate-limit.idle-expiry-minutes:10}")
+    private long idleExpiryMinutes;
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private long authCapacity;
+
+    @Value("${rate-limit.auth.refill-per-minute:10}")
+    private long authRefillPerMinute;
+
+    @Value("${rate-limit.orders.capacity:60}")
+    private long ordersCapacity;
+
+    @Value("${rate-limit.orders.refill-per-minute:120}")
+    private long ordersRefillPerMinute;
+
+    @Value("${rate-limit.reports.capacity:10}")
+    private long reportsCapacity;
+
+    @Value("${rate-limit.reports.refill-per-minute:20}")
+    private long reportsRefillPerMinute;
+
+    @Value("${rate-limit.default.capacity:100}")
+    private long defaultCapacity;
+
+    @Value("${rate-limit.default.refill-per-minute:300}")
+    private long defaultRefillPerMinute;
+
+    /** Capacity and refill rate per route group */
+    private final Map<RouteGroup, long[]> limits = new EnumMap<>(RouteGroup.class);
+
+    /** Buckets keyed by route group and client; idle buckets are full anyway, so dropping them is safe */
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    public void init() {
+        limits.put(RouteGroup.AUTH, new long[]{authCapacity, authRefillPerMinute});
+        limits.put(RouteGroup.ORDERS, new long[]{ordersCapacity, ordersRefillPerMinute});
+        limits.put(RouteGroup.REPORTS, new long[]{reportsCapacity, reportsRefillPerMinute});
+        limits.put(RouteGroup.DEFAULT, new long[]{defaultCapacity, defaultRefillPerMinute});
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofMinutes(idleExpiryMinutes))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routeGroup(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RouteGroup group = routeGroup(request.getRequestURI());
+        String client = clientKey(request);
+        long now = System.nanoTime();
+
+        TokenBucket bucket = buckets.get(group.name() + "|" + client, key -> {
+            long[] limit = limits.get(group);
+            return new TokenBucket(limit[0], limit[1], now);
+        });
+
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            log.warn("Rate limit exceeded for {} on {} {}", client, group, request.getRequestURI());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(TOO_MANY_REQUESTS_BODY);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    static RouteGroup routeGroup(String uri) {
+        if (uri == null || !uri.startsWith("/api/")) {
+            return null;
+        }
+        if (uri.startsWith("/api/v1/auth/")) {
+            return RouteGroup.AUTH;
+        }
+        if (uri.startsWith("/api/v1/orders")) {
+            return RouteGroup.ORDERS;
+        }
+        if (uri.startsWith("/api/v1/reports")) {
+            return RouteGroup.REPORTS;
+        }
+        return RouteGroup.DEFAULT;
+    }
+
+    /**
+     * The authenticated employee when there is one, otherwise the client IP.
+     * The remote address is used as-is; behind a proxy, enable server.forward-headers-strategy.
+     */
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            if (authentication.getPrincipal() instanceof AuthenticatedEmployee employee) {
+                return "user:" + employee.getId();
+            }
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
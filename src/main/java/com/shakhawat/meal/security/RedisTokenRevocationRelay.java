@@ -0,0 +1,96 @@
+package com.shakhawat.meal.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Shares token revocations between nodes over Redis pub/sub.
+ * Active revocations are also kept in a sorted set scored by expiry, so a node that starts
+ * (or reconnects) late can load the ones it missed. Redis being unavailable only delays
+ * propagation; the local denylist keeps working.
+ */
+@Component
+@ConditionalOnProperty(name = "security.revocation.mode", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RedisTokenRevocationRelay implements MessageListener {
+
+    private static final String CHANNEL = "meal-management:token-revocations";
+    private static final String ACTIVE_KEY = "meal-management:token-revocations:active";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final TokenRevocationService revocationService;
+
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    public void start() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        loadActiveRevocations();
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    @EventListener
+    public void onRevocation(TokenRevocationEvent event) {
+        String message = event.toMessage();
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.opsForZSet().add(ACTIVE_KEY, message, revocationService.expiresAt(event));
+            redisTemplate.opsForZSet().removeRangeByScore(ACTIVE_KEY, 0, now);
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            log.warn("Failed to relay token revocation {}: {}", message, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            revocationService.apply(TokenRevocationEvent.fromMessage(body));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring token revocation message: {}", e.getMessage());
+        }
+    }
+
+    private void loadActiveRevocations() {
+        try {
+            Set<String> active = redisTemplate.opsForZSet()
+                    .rangeByScore(ACTIVE_KEY, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+            if (active == null) {
+                return;
+            }
+            for (String message : active) {
+                revocationService.apply(TokenRevocationEvent.fromMessage(message));
+            }
+            log.info("Loaded {} active token revocations", active.size());
+        } catch (Exception e) {
+            log.warn("Could not load active token revocations: {}", e.getMessage());
+        }
+    }
+}
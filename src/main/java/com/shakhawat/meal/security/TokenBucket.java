@@ -0,0 +1,46 @@
+package com.shakhawat.meal.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * Instead of a token count, it stores the time at which the bucket will be full again;
+ * taking a token pushes that time forward by one refill interval. A single CAS per request,
+ * no background refill.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+
+    /** Instant (System.nanoTime scale) at which the bucket is full again */
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, long refillPerMinute, long nowNanos) {
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Token bucket capacity and refill rate must be positive");
+        }
+        this.nanosPerToken = Math.max(1, 60_000_000_000L / refillPerMinute);
+        this.burstNanos = capacity * nanosPerToken;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take one token.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                return debt - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.shakhawat.meal.security;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A single access-token revocation, published locally and relayed to other nodes.
+ * For {@link Kind#TOKEN} the subject is the token id and the timestamp its expiry (epoch millis);
+ * for {@link Kind#EMPLOYEE} the subject is the employee id and the timestamp the revocation time
+ * (epoch millis) - tokens issued at or before it are rejected.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class TokenRevocationEvent {
+
+    public enum Kind { TOKEN, EMPLOYEE }
+
+    private final Kind kind;
+    private final String subject;
+    private final long timestamp;
+
+    public String toMessage() {
+        return kind.name() + "|" + subject + "|" + timestamp;
+    }
+
+    public static TokenRevocationEvent fromMessage(String message) {
+        String[] parts = message.split("\\|");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed revocation message: " + message);
+        }
+        return new TokenRevocationEvent(Kind.valueOf(parts[0]), parts[1], Long.parseLong(parts[2]));
+    }
+}
@@ -0,0 +1,159 @@
+package com.shakhawat.meal.security;
+
+import com.shakhawat.meal.util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denylist of revoked access tokens.
+ * Individual tokens are revoked on logout, and all of an employee's tokens when an admin locks
+ * or removes the account. A Bloom filter sits in front of the exact maps, so the usual
+ * "not revoked" answer costs a few in-memory hash probes. Entries are dropped once the tokens
+ * they cover have expired.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private static final String TOKEN_KEY = "t:";
+    private static final String EMPLOYEE_KEY = "e:";
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${jwt.expiration:900000}")
+    private long jwtExpiration;
+
+    @Value("${security.revocation.expected-entries:100000}")
+    private long expectedEntries;
+
+    @Value("${security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /** Token id -> token expiry (epoch millis) */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /** Employee id -> revocation time (epoch millis) */
+    private final Map<Long, Long> revokedEmployees = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    @PostConstruct
+    public void init() {
+        this.filter = BloomFilter.create(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Whether a verified access token has been revoked
+     */
+    public boolean isRevoked(Claims claims) {
+        BloomFilter current = filter;
+
+        String tokenId = claims.getId();
+        if (tokenId != null && current.mightContain(TOKEN_KEY + tokenId)
+                && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+
+        Long employeeId = claims.get(JwtTokenProvider.CLAIM_EMPLOYEE_ID, Long.class);
+        if (employeeId != null && current.mightContain(EMPLOYEE_KEY + employeeId)) {
+            Long revokedAt = revokedEmployees.get(employeeId);
+            Long issuedAt = issuedAtMillis(claims);
+            return revokedAt != null && (issuedAt == null || issuedAt <= revokedAt);
+        }
+        return false;
+    }
+
+    /**
+     * Issue time in epoch millis, so a token re-issued in the same second as a revocation is accepted.
+     * Tokens without the millisecond claim fall back to the start of their {@code iat} second.
+     */
+    private static Long issuedAtMillis(Claims claims) {
+        Long issuedAt = claims.get(JwtTokenProvider.CLAIM_ISSUED_AT_MS, Long.class);
+        if (issuedAt != null) {
+            return issuedAt;
+        }
+        Date iat = claims.getIssuedAt();
+        return iat != null ? iat.getTime() : null;
+    }
+
+    /**
+     * Revoke a single access token (logout) until it expires
+     */
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        long expiry = expiresAt != null ? expiresAt.toEpochMilli() : System.currentTimeMillis() + jwtExpiration;
+        publish(new TokenRevocationEvent(TokenRevocationEvent.Kind.TOKEN, tokenId, expiry));
+        log.info("Revoked access token {}", tokenId);
+    }
+
+    /**
+     * Revoke every access token issued to an employee so far (account lock, removal, role change)
+     */
+    public void revokeEmployee(Long employeeId) {
+        long now = System.currentTimeMillis();
+        publish(new TokenRevocationEvent(TokenRevocationEvent.Kind.EMPLOYEE, employeeId.toString(), now));
+        log.info("Revoked all access tokens for employee: {}", employeeId);
+    }
+
+    /**
+     * Apply a revocation locally without re-publishing it (used for events from other nodes)
+     */
+    public synchronized void apply(TokenRevocationEvent event) {
+        if (isStale(event, System.currentTimeMillis())) {
+            return;
+        }
+        switch (event.getKind()) {
+            case TOKEN -> {
+                revokedTokens.merge(event.getSubject(), event.getTimestamp(), Math::max);
+                filter.put(TOKEN_KEY + event.getSubject());
+            }
+            case EMPLOYEE -> {
+                revokedEmployees.merge(Long.valueOf(event.getSubject()), event.getTimestamp(), Math::max);
+                filter.put(EMPLOYEE_KEY + event.getSubject());
+            }
+        }
+    }
+
+    /**
+     * Drop entries whose tokens have all expired and rebuild the filter from what remains
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:60000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiry -> expiry <= now);
+        revokedEmployees.values().removeIf(revokedAt -> revokedAt + jwtExpiration <= now);
+
+        long entries = revokedTokens.size() + revokedEmployees.size();
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedEntries, entries * 2), falsePositiveRate);
+        revokedTokens.keySet().forEach(tokenId -> rebuilt.put(TOKEN_KEY + tokenId));
+        revokedEmployees.keySet().forEach(employeeId -> rebuilt.put(EMPLOYEE_KEY + employeeId));
+        this.filter = rebuilt;
+    }
+
+    /** Time after which the event no longer affects any valid token (epoch millis) */
+    public long expiresAt(TokenRevocationEvent event) {
+        return event.getKind() == TokenRevocationEvent.Kind.TOKEN
+                ? event.getTimestamp()
+                : event.getTimestamp() + jwtExpiration;
+    }
+
+    private boolean isStale(TokenRevocationEvent event, long now) {
+        return expiresAt(event) <= now;
+    }
+
+    private void publish(TokenRevocationEvent event) {
+        apply(event);
+        eventPublisher.publishEvent(event);
+    }
+}
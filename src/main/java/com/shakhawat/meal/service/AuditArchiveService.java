@@ -0,0 +1,198 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.entity.AuditLog;
+import com.shakhawat.meal.util.AuditSegment;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Moves archived audit months out of the database into compressed segment files and streams
+ * time ranges of them back to the audit report.
+ * <p>
+ * {@link AuditPartitionService} exchanges months past retention into audit_logs_p&lt;yyyyMM&gt;
+ * tables; this service exports each such table in timestamp order to
+ * {@code <directory>/audit_logs_p<yyyyMM>.seg/.idx} (see {@link AuditSegment}), verifies the record
+ * count and drops the table. Segments are never modified after they are written.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditArchiveService {
+
+    private static final Pattern ARCHIVE_TABLE = Pattern.compile("audit_logs_p\\d{6}");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.archive.directory:./data/audit-archive}")
+    private String directory;
+
+    @Value("${audit.archive.block-records:1024}")
+    private int blockRecords;
+
+    private final Map<Path, AuditSegment.Reader> readers = new ConcurrentHashMap<>();
+
+    @Scheduled(cron = "${audit.archive.cron:0 30 2 * * ?}") // 2:30 AM daily, after partition maintenance
+    public void exportArchiveTables() {
+        try {
+            for (String table : findArchiveTables()) {
+                export(table);
+            }
+        } catch (DataAccessException | IOException e) {
+            log.error("Audit archive export failed", e);
+        }
+    }
+
+    /**
+     * Passes archived records with start &lt;= timestamp &lt;= end to the sink, oldest first,
+     * one decompressed block at a time
+     */
+    public void forEachBetween(LocalDateTime start, LocalDateTime end, Consumer<AuditLog> sink) {
+        for (AuditSegment.Reader reader : openReaders()) {
+            if (!reader.overlaps(start, end)) {
+                continue;
+            }
+            try {
+                reader.scan(start, end, auditLog -> true, sink);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    void export(String table) throws IOException {
+        if (!ARCHIVE_TABLE.matcher(table).matches()) {
+            throw new IllegalStateException("Unexpected archive table: " + table);
+        }
+        Path dir = Paths.get(directory);
+        if (Files.exists(dir.resolve(table + AuditSegment.INDEX_SUFFIX))) {
+            log.warn("Segment for {} already exists, leaving table in place", table);
+            return;
+        }
+
+        AuditSegment.Writer writer = new AuditSegment.Writer(dir, table, blockRecords);
+        long written;
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "SELECT id, entity_type, entity_id, action, user_id, timestamp, old_value, new_value, ip_address " +
+                        "FROM " + table + " ORDER BY timestamp, id",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Stream rows instead of buffering the whole month (MySQL Connector/J)
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, rs -> {
+                try {
+                    writer.append(toAuditLog(rs));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            written = writer.getRecordCount();
+            writer.close();
+        } catch (UncheckedIOException e) {
+            writer.abort();
+            throw e.getCause();
+        } catch (RuntimeException | IOException e) {
+            writer.abort();
+            throw e;
+        }
+
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        if (rows == null || rows != written) {
+            log.error("Segment for {} holds {} records but the table has {}, leaving table in place",
+                    table, written, rows);
+            return;
+        }
+        jdbcTemplate.execute("DROP TABLE " + table);
+        log.info("Exported {} audit records from {} to {}", written, table, dir);
+    }
+
+    /** Readers for every segment on disk, oldest first; segments are immutable so readers are reused */
+    private List<AuditSegment.Reader> openReaders() {
+        Path dir = Paths.get(directory);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(AuditSegment.INDEX_SUFFIX))
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                    .map(file -> readers.computeIfAbsent(file, this::openReader))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private AuditSegment.Reader openReader(Path indexFile) {
+        try {
+            return AuditSegment.Reader.open(indexFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<String> findArchiveTables() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT TABLE_NAME FROM information_schema.TABLES " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME LIKE 'audit\\_logs\\_p%' ORDER BY TABLE_NAME",
+                String.class);
+    }
+
+    private static AuditLog toAuditLog(ResultSet rs) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp("timestamp");
+        return AuditLog.builder()
+                .id(rs.getLong("id"))
+                .entityType(rs.getString("entity_type"))
+                .entityId(rs.getLong("entity_id"))
+                .action(rs.getString("action"))
+                .userId(rs.getString("user_id"))
+                .timestamp(timestamp.toLocalDateTime())
+                .oldValue(rs.getString("old_value"))
+                .newValue(rs.getString("new_value"))
+                .ipAddress(rs.getString("ip_address"))
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        readers.values().forEach(reader -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                log.warn("Failed to close audit segment", e);
+            }
+        });
+        readers.clear();
+    }
+}
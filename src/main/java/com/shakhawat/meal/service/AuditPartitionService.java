@@ -0,0 +1,184 @@
+package com.shakhawat.meal.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of audit_logs (see V4 migration).
+ * Splits partitions for the coming months off the MAXVALUE partition before rows arrive, and
+ * moves whole months past the retention window out of the table: each is exchanged into its own
+ * archive table (audit_logs_p&lt;yyyyMM&gt;) or dropped, both metadata operations instead of a DELETE.
+ * Does nothing unless the table is partitioned, i.e. on MySQL after the migration.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPartitionService {
+
+    static final String TABLE = "audit_logs";
+    static final String FUTURE_PARTITION = "p_future";
+
+    /** TO_DAYS('1970-01-01') in MySQL */
+    private static final long TO_DAYS_EPOCH = 719528;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9_]+");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${audit.retention.months:12}")
+    private int retentionMonths;
+
+    @Value("${audit.retention.archive:true}")
+    private boolean archive;
+
+    /** A partition and the first day it no longer covers (null for MAXVALUE) */
+    record Partition(String name, LocalDate upperBound) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${audit.partitions.cron:0 30 1 * * ?}") // 1:30 AM daily
+    public void maintainPartitions() {
+        try {
+            List<Partition> partitions = loadPartitions();
+            if (partitions.isEmpty()) {
+                log.debug("{} is not partitioned, skipping partition maintenance", TABLE);
+                return;
+            }
+
+            LocalDate today = LocalDate.now();
+            String reorganize = reorganizeStatement(partitions, today, monthsAhead);
+            if (reorganize != null) {
+                jdbcTemplate.execute(reorganize);
+                log.info("Added {} partitions: {}", TABLE, reorganize);
+            }
+
+            for (Partition expired : expiredPartitions(partitions, today, retentionMonths)) {
+                retire(expired);
+            }
+        } catch (DataAccessException e) {
+            log.error("{} partition maintenance failed", TABLE, e);
+        }
+    }
+
+    /**
+     * Statement splitting new monthly partitions off p_future so that partitions exist through
+     * {@code monthsAhead} months after the current one; null when they already do
+     */
+    static String reorganizeStatement(List<Partition> partitions, LocalDate today, int monthsAhead) {
+        LocalDate lastBound = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(bound -> bound != null)
+                .max(LocalDate::compareTo)
+                .orElse(today.withDayOfMonth(1));
+        LocalDate target = today.withDayOfMonth(1).plusMonths(monthsAhead + 1L);
+
+        List<String> definitions = new ArrayList<>();
+        for (LocalDate start = lastBound; start.isBefore(target); start = start.plusMonths(1)) {
+            definitions.add("PARTITION p" + start.format(PARTITION_SUFFIX) +
+                    " VALUES LESS THAN (TO_DAYS('" + start.plusMonths(1) + "'))");
+        }
+        if (definitions.isEmpty()) {
+            return null;
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE");
+        return "ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION +
+                " INTO (" + String.join(", ", definitions) + ")";
+    }
+
+    /**
+     * Partitions whose every row is older than the first day of the month {@code retentionMonths} ago
+     */
+    static List<Partition> expiredPartitions(List<Partition> partitions, LocalDate today, int retentionMonths) {
+        LocalDate cutoff = today.withDayOfMonth(1).minusMonths(retentionMonths);
+        return partitions.stream()
+                .filter(partition -> partition.upperBound() != null && !partition.upperBound().isAfter(cutoff))
+                .toList();
+    }
+
+    private void retire(Partition partition) {
+        String name = requireSafe(partition.name());
+        if (!archive) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + name);
+            log.info("Dropped {} partition {} past retention", TABLE, name);
+            return;
+        }
+
+        String archiveTable = TABLE + "_" + name;
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archiveTable + " LIKE " + TABLE);
+        if (isPartitioned(archiveTable)) {
+            jdbcTemplate.execute("ALTER TABLE " + archiveTable + " REMOVE PARTITIONING");
+        }
+        Long existingRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + archiveTable, Long.class);
+        if (existingRows != null && existingRows > 0) {
+            log.warn("Archive table {} is not empty, leaving partition {} in place", archiveTable, name);
+            return;
+        }
+
+        // Swap the partition's rows into the empty archive table, then drop the now-empty partition
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION " + name + " WITH TABLE " + archiveTable);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + name);
+        log.info("Archived {} partition {} into {}", TABLE, name, archiveTable);
+    }
+
+    private List<Partition> loadPartitions() {
+        if (!isMySql()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new Partition(rs.getString(1), toDate(rs.getString(2))),
+                TABLE);
+    }
+
+    private boolean isPartitioned(String table) {
+        Integer partitions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                Integer.class, table);
+        return partitions != null && partitions > 0;
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+
+    /** PARTITION_DESCRIPTION holds the TO_DAYS() bound, or MAXVALUE */
+    static LocalDate toDate(String description) {
+        if (description == null || "MAXVALUE".equalsIgnoreCase(description)) {
+            return null;
+        }
+        return LocalDate.ofEpochDay(Long.parseLong(description.trim()) - TO_DAYS_EPOCH);
+    }
+
+    private static String requireSafe(String identifier) {
+        if (!SAFE_NAME.matcher(identifier).matches()) {
+            throw new IllegalStateException("Unexpected partition name: " + identifier);
+        }
+        return identifier;
+    }
+}
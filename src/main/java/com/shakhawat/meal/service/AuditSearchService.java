@@ -0,0 +1,104 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.AuditDTO;
+import com.shakhawat.meal.entity.AuditLog;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import com.shakhawat.meal.repository.AuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Filtered audit log lookups with keyset pagination.
+ * The cursor is an opaque encoding of the (timestamp, id) of the last entry returned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditSearchService {
+
+    static final int MAX_PAGE_SIZE = 200;
+
+    private final AuditLogRepository auditLogRepository;
+
+    @Transactional(readOnly = true)
+    public AuditDTO.SearchResponse search(AuditDTO.Criteria criteria, String cursor, int size) {
+        if (criteria.getEntityId() != null && !StringUtils.hasText(criteria.getEntityType())) {
+            throw new InvalidOperationException("entityType is required when filtering by entityId");
+        }
+        if (criteria.getFrom() != null && criteria.getTo() != null && criteria.getFrom().isAfter(criteria.getTo())) {
+            throw new InvalidOperationException("from must not be after to");
+        }
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        LocalDateTime afterTimestamp = null;
+        Long afterId = null;
+        if (StringUtils.hasText(cursor)) {
+            String[] position = decodeCursor(cursor);
+            afterTimestamp = LocalDateTime.parse(position[0]);
+            afterId = Long.valueOf(position[1]);
+        }
+
+        // One extra row tells whether another page exists
+        List<AuditLog> rows = auditLogRepository.search(criteria, afterTimestamp, afterId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<AuditLog> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLog last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getTimestamp(), last.getId());
+        }
+        return AuditDTO.SearchResponse.builder()
+                .entries(page.stream().map(this::toEntry).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /** History of one entity, newest first */
+    @Transactional(readOnly = true)
+    public AuditDTO.SearchResponse timeline(String entityType, Long entityId, String cursor, int size) {
+        return search(AuditDTO.Criteria.builder().entityType(entityType).entityId(entityId).build(), cursor, size);
+    }
+
+    static String encodeCursor(LocalDateTime timestamp, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidOperationException("Invalid cursor");
+        }
+    }
+
+    private AuditDTO.Entry toEntry(AuditLog auditLog) {
+        return AuditDTO.Entry.builder()
+                .id(auditLog.getId())
+                .entityType(auditLog.getEntityType())
+                .entityId(auditLog.getEntityId())
+                .action(auditLog.getAction())
+                .userId(auditLog.getUserId())
+                .timestamp(auditLog.getTimestamp())
+                .oldValue(AuditService.decode(auditLog.getOldValue()))
+                .newValue(AuditService.decode(auditLog.getNewValue()))
+                .ipAddress(auditLog.getIpAddress())
+                .build();
+    }
+}
@@ -1,80 +1,174 @@
 package com.shakhawat.meal.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shakhawat.meal.entity.AuditLog;
-import com.shakhawat.meal.repository.AuditLogRepository;
+import com.shakhawat.meal.util.AuditSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Records entity changes.
+ * The user and client IP are captured on the calling thread; the record is then handed to
+ * {@link AuditWriter}, which inserts it in a later batch. Entity changes are stored as compact
+ * JSON of the changed fields only, gzipped and base64-encoded (prefixed {@value #COMPRESSED_PREFIX})
+ * when larger than {@code audit.compression.threshold-bytes}. Every record is also passed to
+ * {@link SuspiciousActivityDetector}.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuditService {
 
-    private final AuditLogRepository auditLogRepository;
+    public static final String COMPRESSED_PREFIX = "gz:";
+
+    private final AuditWriter auditWriter;
+    private final SuspiciousActivityDetector suspiciousActivityDetector;
+    private final ObjectMapper objectMapper;
+
+    @Value("${audit.compression.threshold-bytes:2048}")
+    private int compressionThreshold;
+
+    public void logCreate(String entityType, Long entityId, AuditSnapshot created) {
+        logCreate(entityType, entityId, toJson(created.toMap()));
+    }
+
+    /**
+     * Record the fields that differ between the two snapshots; nothing is recorded when none do
+     */
+    public void logUpdate(String entityType, Long entityId, AuditSnapshot before, AuditSnapshot after) {
+        AuditSnapshot.Changes changes = AuditSnapshot.diff(before, after);
+        if (changes.isEmpty()) {
+            log.debug("No audited changes for {} with ID: {}", entityType, entityId);
+            return;
+        }
+        logUpdate(entityType, entityId, toJson(changes.oldValues()), toJson(changes.newValues()));
+    }
+
+    public void logDelete(String entityType, Long entityId, AuditSnapshot deleted) {
+        logDelete(entityType, entityId, toJson(deleted.toMap()));
+    }
 
-    @Async
-    @Transactional
     public void logCreate(String entityType, Long entityId, String newValue) {
         log.debug("Logging CREATE action for {} with ID: {}", entityType, entityId);
 
-        AuditLog auditLog = AuditLog.builder()
-                .entityType(entityType)
-                .entityId(entityId)
-                .action("CREATE")
-                .userId(getCurrentUserId())
-                .timestamp(LocalDateTime.now())
+        submit(newAuditLog(entityType, entityId, "CREATE")
                 .newValue(newValue)
-                .build();
-
-        auditLogRepository.save(auditLog);
+                .build());
     }
 
-    @Async
-    @Transactional
     public void logUpdate(String entityType, Long entityId, String oldValue, String newValue) {
         log.debug("Logging UPDATE action for {} with ID: {}", entityType, entityId);
 
-        AuditLog auditLog = AuditLog.builder()
-                .entityType(entityType)
-                .entityId(entityId)
-                .action("UPDATE")
-                .userId(getCurrentUserId())
-                .timestamp(LocalDateTime.now())
+        submit(newAuditLog(entityType, entityId, "UPDATE")
                 .oldValue(oldValue)
                 .newValue(newValue)
-                .build();
-
-        auditLogRepository.save(auditLog);
+                .build());
     }
 
-    @Async
-    @Transactional
     public void logDelete(String entityType, Long entityId, String oldValue) {
         log.debug("Logging DELETE action for {} with ID: {}", entityType, entityId);
 
-        AuditLog auditLog = AuditLog.builder()
+        submit(newAuditLog(entityType, entityId, "DELETE")
+                .oldValue(oldValue)
+                .build());
+    }
+
+    /**
+     * Record a rejected login attempt against the email that was tried
+     */
+    public void logLoginFailure(String email, Long employeeId) {
+        log.debug("Logging LOGIN_FAILED action for {}", email);
+
+        submit(newAuditLog("Authentication", employeeId != null ? employeeId : 0L,
+                SuspiciousActivityDetector.LOGIN_FAILED)
+                .userId(email)
+                .build());
+    }
+
+    private void submit(AuditLog auditLog) {
+        auditWriter.submit(auditLog);
+        suspiciousActivityDetector.onEvent(auditLog);
+    }
+
+    private AuditLog.AuditLogBuilder newAuditLog(String entityType, Long entityId, String action) {
+        return AuditLog.builder()
                 .entityType(entityType)
                 .entityId(entityId)
-                .action("DELETE")
+                .action(action)
                 .userId(getCurrentUserId())
-                .timestamp(LocalDateTime.now())
-                .oldValue(oldValue)
-                .build();
+                .ipAddress(getCurrentIpAddress())
+                .timestamp(LocalDateTime.now());
+    }
 
-        auditLogRepository.save(auditLog);
+    private String toJson(Map<String, Object> values) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize audit values: {}", e.getMessage());
+            return null;
+        }
+        return json.length() > compressionThreshold ? compress(json) : json;
+    }
+
+    private static String compress(String value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(value.length() / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(value.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return COMPRESSED_PREFIX + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Stored change value as written by this service, expanded if it was compressed
+     */
+    public static String decode(String value) {
+        if (value == null || !value.startsWith(COMPRESSED_PREFIX)) {
+            return value;
+        }
+        byte[] compressed = Base64.getDecoder().decode(value.substring(COMPRESSED_PREFIX.length()));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private String getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
             return authentication.getName();
         }
         return "SYSTEM";
     }
+
+    private String getCurrentIpAddress() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
 }
@@ -0,0 +1,248 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit records in the background.
+ * Records go into a bounded ring buffer drained by a single thread, which inserts them in
+ * JDBC batches of up to {@code batch-size} rows, or whatever has arrived after
+ * {@code flush-interval-ms}. Each batch is one transaction instead of one per record.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (entity_type, entity_id, action, user_id, timestamp, old_value, new_value, ip_address) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** What to do with a record when the buffer is full */
+    public enum OverflowPolicy {
+        /** Wait up to block-timeout-ms for space, then drop the record */
+        BLOCK,
+        /** Drop the record being submitted */
+        DROP_NEWEST,
+        /** Drop the oldest pending record to make room */
+        DROP_OLDEST
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${audit.writer.capacity:10000}")
+    private int capacity;
+
+    @Value("${audit.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.writer.flush-interval-ms:500}")
+    private long flushIntervalMillis;
+
+    @Value("${audit.writer.overflow-policy:BLOCK}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${audit.writer.block-timeout-ms:100}")
+    private long blockTimeoutMillis;
+
+    private TransactionTemplate transactionTemplate;
+    private ArrayBlockingQueue<AuditLog> buffer;
+    private Thread consumer;
+    private volatile boolean running;
+
+    private Counter writtenCounter;
+    private Counter droppedCounter;
+    private Counter failedCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init() {
+        configure();
+        start();
+    }
+
+    /** Create the buffer and register metrics without starting the consumer */
+    void configure() {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("audit.writer.pending", buffer, ArrayBlockingQueue::size)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.writer.lag", this, AuditWriter::lagMillis)
+                .description("Age of the oldest pending audit record in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.writer.written")
+                .description("Audit records written")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.writer.dropped")
+                .description("Audit records dropped because the buffer was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.writer.failed")
+                .description("Audit records lost because their batch insert failed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.writer.flush")
+                .description("Time to insert one batch of audit records")
+                .register(meterRegistry);
+    }
+
+    private void start() {
+        running = true;
+        consumer = new Thread(this::run, "audit-writer");
+        consumer.setDaemon(true);
+        consumer.start();
+        log.info("Audit writer started with capacity {}, batch size {} and overflow policy {}",
+                capacity, batchSize, overflowPolicy);
+    }
+
+    /**
+     * Let the consumer finish its current batch and exit, then write whatever is left.
+     * The consumer is not interrupted: its last batch would then be written from an interrupted
+     * thread, which connection acquisition or the JDBC driver may reject.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (consumer != null) {
+            // poll returns within flush-interval-ms, after which the loop sees running == false
+            consumer.join(flushIntervalMillis + TimeUnit.SECONDS.toMillis(5));
+        }
+        // Write whatever is still pending
+        while (flush() > 0) {
+            // keep draining
+        }
+    }
+
+    /**
+     * Queue a record for writing; never throws and only blocks under the BLOCK policy
+     */
+    public void submit(AuditLog auditLog) {
+        boolean accepted = switch (overflowPolicy) {
+            case DROP_NEWEST -> buffer.offer(auditLog);
+            case DROP_OLDEST -> offerDroppingOldest(auditLog);
+            case BLOCK -> offerWaiting(auditLog);
+        };
+        if (!accepted) {
+            droppedCounter.increment();
+            log.debug("Audit buffer full, dropped {} record for {} {}",
+                    auditLog.getAction(), auditLog.getEntityType(), auditLog.getEntityId());
+        }
+    }
+
+    /**
+     * Insert up to one batch of pending records
+     *
+     * @return number of records taken from the buffer
+     */
+    int flush() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        buffer.drainTo(batch, batchSize);
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        return batch.size();
+    }
+
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditLog first = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                // Fill the batch until it is full or the flush interval has passed
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditLog next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, auditLog) -> {
+                        ps.setString(1, auditLog.getEntityType());
+                        ps.setLong(2, auditLog.getEntityId());
+                        ps.setString(3, auditLog.getAction());
+                        ps.setString(4, auditLog.getUserId());
+                        ps.setTimestamp(5, Timestamp.valueOf(auditLog.getTimestamp()));
+                        ps.setString(6, auditLog.getOldValue());
+                        ps.setString(7, auditLog.getNewValue());
+                        ps.setString(8, auditLog.getIpAddress());
+                    })));
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to write {} audit records", batch.size(), e);
+        }
+    }
+
+    private boolean offerDroppingOldest(AuditLog auditLog) {
+        while (!buffer.offer(auditLog)) {
+            if (buffer.poll() != null) {
+                droppedCounter.increment();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerWaiting(AuditLog auditLog) {
+        try {
+            return buffer.offer(auditLog, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private double lagMillis() {
+        AuditLog oldest = buffer.peek();
+        return oldest != null
+                ? Duration.between(oldest.getTimestamp(), LocalDateTime.now()).toMillis()
+                : 0;
+    }
+}
@@ -7,18 +7,21 @@ import com.shakhawat.meal.entity.RefreshToken;
 import com.shakhawat.meal.entity.Role;
 import com.shakhawat.meal.exception.DuplicateResourceException;
 import com.shakhawat.meal.repository.EmployeeRepository;
+import com.shakhawat.meal.security.CurrentEmployeeResolver;
 import com.shakhawat.meal.security.JwtTokenProvider;
+import com.shakhawat.meal.security.PasswordVerifier;
+import com.shakhawat.meal.security.TokenRevocationService;
 import com.shakhawat.meal.util.EntityMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,47 +29,49 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AuthService {
 
-    private final AuthenticationManager authenticationManager;
     private final EmployeeRepository employeeRepository;
     private final EntityMapper entityMapper;
     private final JwtTokenProvider tokenProvider;
     private final RefreshTokenService refreshTokenService;
+    private final PasswordVerifier passwordVerifier;
+    private final CurrentEmployeeResolver currentEmployeeResolver;
+    private final TokenRevocationService tokenRevocationService;
+    private final AuditService auditService;
+    private final DashboardCounters dashboardCounters;
 
     @Value("${jwt.expiration:900000}") // 15 minutes
     private long jwtExpiration;
 
     /**
-     * Login with access and refresh tokens
+     * Login with access and refresh tokens.
+     * The employee is loaded once and reused for the password check and token issuance.
      */
-    @Transactional
     public AuthDTO.LoginResponse login(AuthDTO.LoginRequest request) {
         log.info("Login attempt for email: {}", request.getEmail());
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        Employee employee = employeeRepository.findByEmail(request.getEmail()).orElse(null);
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // Hash check runs on the bounded verifier pool, outside any transaction
+        boolean passwordMatches = passwordVerifier.matches(
+                request.getPassword(), employee != null ? employee.getPassword() : null);
 
-        // Generate access token
-        String accessToken = tokenProvider.generateAccessToken(authentication);
+        if (employee == null || !passwordMatches || !employee.getAccountNonLocked()) {
+            auditService.logLoginFailure(request.getEmail(), employee != null ? employee.getId() : null);
+            throw new BadCredentialsException("Bad credentials");
+        }
 
-        // Get employee
-        Employee employee = employeeRepository.findByEmail(request.getEmail())
-                .orElseThrow();
+        String accessToken = tokenProvider.generateAccessToken(
+                employee.getId(), employee.getEmail(), joinRoles(employee));
 
-        // Create refresh token
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(employee.getId());
+        // Create or replace the refresh token for this device session
+        String deviceId = StringUtils.hasText(request.getDeviceId())
+                ? request.getDeviceId()
+                : UUID.randomUUID().toString();
+        RefreshToken refreshToken = refreshTokenService.createRefreshToken(employee, deviceId);
 
         // Reset failed login attempts on successful login
         if (employee.getFailedLoginAttempts() > 0) {
-            employee.setFailedLoginAttempts(0);
-            employee.setAccountNonLocked(true);
-            employee.setLockTime(null);
-            employeeRepository.save(employee);
+            employeeRepository.resetFailedLoginAttempts(employee.getId());
         }
 
         Set<String> roles = employee.getRoles().stream()
@@ -84,6 +89,7 @@ public class AuthService {
                 .email(employee.getEmail())
                 .name(employee.getName())
                 .roles(roles)
+                .deviceId(deviceId)
                 .build();
     }
 
@@ -96,32 +102,24 @@ public class AuthService {
 
         String requestRefreshToken = request.getRefreshToken();
 
-        // Find and verify refresh token
-        RefreshToken refreshToken = refreshTokenService.findByToken(requestRefreshToken);
-        refreshToken = refreshTokenService.verifyExpiration(refreshToken);
+        // Verify and rotate the presented refresh token in place
+        RefreshToken refreshToken = refreshTokenService.rotateRefreshToken(requestRefreshToken);
 
         // Get employee
         Employee employee = refreshToken.getEmployee();
 
-        // Get roles
-        String roles = employee.getRoles().stream()
-                .map(Enum::name)
-                .collect(Collectors.joining(","));
-
         // Generate new access token
-        String newAccessToken = tokenProvider.generateAccessTokenFromEmail(
+        String newAccessToken = tokenProvider.generateAccessToken(
+                employee.getId(),
                 employee.getEmail(),
-                roles
+                joinRoles(employee)
         );
 
-        // Optionally rotate refresh token (recommended for security)
-        RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(employee.getId());
-
         log.info("Access token refreshed for employee: {}", employee.getId());
 
         return AuthDTO.RefreshTokenResponse.builder()
                 .accessToken(newAccessToken)
-                .refreshToken(newRefreshToken.getToken())
+                .refreshToken(refreshToken.getToken())
                 .tokenType("Bearer")
                 .expiresIn(jwtExpiration / 1000)
                 .build();
@@ -135,6 +133,12 @@ public class AuthService {
         log.info("Logout request received");
 
         refreshTokenService.revokeToken(request.getRefreshToken());
+
+        // Deny the presented access token for the rest of its lifetime
+        currentEmployeeResolver.resolve()
+                .filter(principal -> principal.getTokenId() != null)
+                .ifPresent(principal -> tokenRevocationService.revokeToken(
+                        principal.getTokenId(), principal.getTokenExpiresAt()));
         SecurityContextHolder.clearContext();
 
         log.info("Logout successful");
@@ -162,9 +166,16 @@ public class AuthService {
         employee.addRole(Role.ROLE_EMPLOYEE);
 
         Employee savedEmployee = employeeRepository.save(employee);
+        dashboardCounters.recordEmployeesChanged(1);
 
         log.info("Registration successful for email: {}", request.getEmail());
 
         return entityMapper.toDto(savedEmployee);
     }
+
+    private String joinRoles(Employee employee) {
+        return employee.getRoles().stream()
+                .map(Enum::name)
+                .collect(Collectors.joining(","));
+    }
 }
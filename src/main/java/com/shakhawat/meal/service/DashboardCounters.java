@@ -0,0 +1,72 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.entity.MealOrder;
+import com.shakhawat.meal.util.MoneyUtil;
+import com.shakhawat.meal.util.TransactionUtil;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Changes to the dashboard totals since the current dashboard snapshot started building.
+ * Services report created orders and created or removed meals and employees; each change is
+ * added to the current {@link Epoch} once its transaction commits. {@link DashboardService}
+ * starts a new epoch just before it re-reads the totals, so a change committed while it reads
+ * may be counted twice until the following rebuild.
+ */
+@Service
+public class DashboardCounters {
+
+    private volatile Epoch epoch = new Epoch(LocalDate.now());
+
+    public void recordOrderCreated(MealOrder order) {
+        LocalDate orderDate = order.getOrderDate();
+        long cents = MoneyUtil.toCents(order.getTotalPrice());
+        TransactionUtil.afterCommit(() -> {
+            Epoch current = epoch;
+            current.orders.incrementAndGet();
+            if (orderDate.equals(current.day)) {
+                current.todayOrders.incrementAndGet();
+            }
+            if (YearMonth.from(orderDate).equals(YearMonth.from(current.day))) {
+                current.monthlyCents.addAndGet(cents);
+            }
+        });
+    }
+
+    public void recordMealsChanged(int delta) {
+        TransactionUtil.afterCommit(() -> epoch.meals.addAndGet(delta));
+    }
+
+    public void recordEmployeesChanged(int delta) {
+        TransactionUtil.afterCommit(() -> epoch.employees.addAndGet(delta));
+    }
+
+    /** Starts counting from zero for a snapshot of the given day */
+    Epoch startEpoch(LocalDate day) {
+        Epoch fresh = new Epoch(day);
+        epoch = fresh;
+        return fresh;
+    }
+
+    static final class Epoch {
+
+        final LocalDate day;
+        final AtomicLong orders = new AtomicLong();
+        final AtomicLong todayOrders = new AtomicLong();
+        final AtomicLong monthlyCents = new AtomicLong();
+        final AtomicLong meals = new AtomicLong();
+        final AtomicLong employees = new AtomicLong();
+
+        Epoch(LocalDate day) {
+            this.day = day;
+        }
+
+        BigDecimal monthlyRevenue() {
+            return BigDecimal.valueOf(monthlyCents.get(), 2);
+        }
+    }
+}
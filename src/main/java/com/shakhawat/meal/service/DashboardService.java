@@ -1,47 +1,169 @@
 package com.shakhawat.meal.service;
 
+import com.shakhawat.meal.dto.AnalyticsDTO.Accuracy;
 import com.shakhawat.meal.dto.DashboardDTO;
+import com.shakhawat.meal.dto.rows.RevenueTotalRow;
+import com.shakhawat.meal.dto.rows.TopMealRow;
 import com.shakhawat.meal.entity.MealOrder;
+import com.shakhawat.meal.repository.EmployeeOrderRollupRepository;
 import com.shakhawat.meal.repository.EmployeeRepository;
 import com.shakhawat.meal.repository.MealOrderRepository;
 import com.shakhawat.meal.repository.MealRepository;
+import com.shakhawat.meal.repository.OrderRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
+/**
+ * Serves the dashboard from a snapshot of its figures.
+ * <p>
+ * The snapshot is rebuilt every {@code dashboard.snapshot.rebuild-interval-ms} and on the first
+ * request of a new day. Between rebuilds the totals, today's orders and the monthly revenue add
+ * the changes collected by {@link DashboardCounters}, so they stay current; the rebuild only
+ * corrects drift. Top meals and recent orders, which the counters cannot maintain, are re-read
+ * every {@code dashboard.snapshot.refresh-interval-ms}; active employees are as of the last
+ * rebuild. A request only reads the snapshot;
+ * with accuracy=APPROX it returns the active employees estimated from the daily order sketches
+ * when the snapshot was built.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 @Slf4j
 public class DashboardService {
 
     private final MealOrderRepository orderRepository;
     private final MealRepository mealRepository;
     private final EmployeeRepository employeeRepository;
+    private final ParallelQueryExecutor queryExecutor;
+    private final OrderCube orderCube;
+    private final OrderSketchService orderSketchService;
+    private final EmployeeOrderRollupRepository employeeOrderRollupRepository;
+    private final OrderRollupRepository orderRollupRepository;
+    private final DashboardCounters dashboardCounters;
 
-    public DashboardDTO.Response getDashboardStats() {
+    @Value("${dashboard.snapshot.rebuild-interval-ms:3600000}")
+    private long rebuildIntervalMillis;
+
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(DashboardDTO.Response base, DashboardCounters.Epoch epoch,
+                            long approxMonthlyActiveEmployees, long builtAtMillis) {
+    }
+
+    public DashboardDTO.Response getDashboardStats(Accuracy accuracy) {
+        Snapshot current = currentSnapshot();
+        DashboardDTO.Response base = current.base();
+        DashboardCounters.Epoch changes = current.epoch();
+
+        Long monthlyActiveEmployees = accuracy == Accuracy.APPROX
+                ? current.approxMonthlyActiveEmployees()
+                : base.getMonthlyActiveEmployees();
+
+        return DashboardDTO.Response.builder()
+                .totalOrders(base.getTotalOrders() + changes.orders.get())
+                .totalMeals(base.getTotalMeals() + changes.meals.get())
+                .totalEmployees(base.getTotalEmployees() + changes.employees.get())
+                .todayOrders(base.getTodayOrders() + changes.todayOrders.get())
+                .monthlyRevenue(base.getMonthlyRevenue().add(changes.monthlyRevenue()))
+                .monthlyActiveEmployees(monthlyActiveEmployees)
+                .topMeals(base.getTopMeals())
+                .recentOrders(base.getRecentOrders())
+                .build();
+    }
+
+    /**
+     * Re-reads top meals and recent orders, or rebuilds the whole snapshot once it is older than
+     * the rebuild interval or from a previous day
+     */
+    @Scheduled(fixedDelayString = "${dashboard.snapshot.refresh-interval-ms:30000}")
+    public void refreshSnapshot() {
+        try {
+            LocalDate today = LocalDate.now();
+            synchronized (rebuildLock) {
+                Snapshot current = snapshot;
+                if (current == null || !current.epoch().day.equals(today)
+                        || System.currentTimeMillis() - current.builtAtMillis() >= rebuildIntervalMillis) {
+                    rebuild(today);
+                } else {
+                    snapshot = refreshListings(current);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Dashboard snapshot refresh failed", e);
+        }
+    }
+
+    private Snapshot currentSnapshot() {
         LocalDate today = LocalDate.now();
+        Snapshot current = snapshot;
+        if (current != null && current.epoch().day.equals(today)) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            current = snapshot;
+            if (current != null && current.epoch().day.equals(today)) {
+                return current;
+            }
+            return rebuild(today);
+        }
+    }
+
+    private Snapshot rebuild(LocalDate today) {
+        synchronized (rebuildLock) {
+            // Changes committed from here on are counted on top of the figures read below
+            DashboardCounters.Epoch epoch = dashboardCounters.startEpoch(today);
+            DashboardDTO.Response base = computeStats(today);
+            Snapshot fresh = new Snapshot(base, epoch, approxMonthlyActiveEmployees(today, base),
+                    System.currentTimeMillis());
+            snapshot = fresh;
+            return fresh;
+        }
+    }
+
+    private DashboardDTO.Response computeStats(LocalDate today) {
         LocalDate firstDayOfMonth = today.withDayOfMonth(1);
         LocalDate lastDayOfMonth = today.withDayOfMonth(today.lengthOfMonth());
 
-        long totalOrders = orderRepository.count();
-        long totalMeals = mealRepository.count();
-        long totalEmployees = employeeRepository.count();
-        long todayOrders = orderRepository.countByOrderDate(today);
+        // Independent queries, each in its own read-only transaction on the report query pool
+        ParallelQueryExecutor.Batch batch = queryExecutor.batch();
+        Future<Long> totalOrdersResult = batch.submit(orderRepository::count);
+        Future<Long> totalMealsResult = batch.submit(mealRepository::count);
+        Future<Long> totalEmployeesResult = batch.submit(employeeRepository::count);
+        // Current-month figures come from the in-memory cube when it is loaded
+        Future<Long> todayOrdersResult = orderCube.orderCount(today)
+                .<Future<Long>>map(CompletableFuture::completedFuture)
+                .orElseGet(() -> batch.submit(() -> orderRepository.countByOrderDate(today)));
+        Future<BigDecimal> monthlyRevenueResult = orderCube.revenue(firstDayOfMonth, lastDayOfMonth)
+                .<Future<BigDecimal>>map(CompletableFuture::completedFuture)
+                .orElseGet(() -> batch.submit(() -> getMonthlyRevenue(firstDayOfMonth, lastDayOfMonth)));
+        Future<Long> activeEmployeesResult = batch.submit(
+                () -> employeeOrderRollupRepository.countDistinctEmployeesBetween(firstDayOfMonth, lastDayOfMonth));
+        Future<List<DashboardDTO.TopMeal>> topMealsResult = batch.submit(() -> getTopMeals(firstDayOfMonth, lastDayOfMonth));
+        Future<List<DashboardDTO.RecentOrder>> recentOrdersResult = batch.submit(this::getRecentOrders);
 
-        BigDecimal monthlyRevenue = getMonthlyRevenue(firstDayOfMonth, lastDayOfMonth);
-        List<DashboardDTO.TopMeal> topMeals = getTopMeals(firstDayOfMonth, lastDayOfMonth);
-        List<DashboardDTO.RecentOrder> recentOrders = getRecentOrders();
+        long totalOrders = batch.get(totalOrdersResult);
+        long totalMeals = batch.get(totalMealsResult);
+        long totalEmployees = batch.get(totalEmployeesResult);
+        long todayOrders = batch.get(todayOrdersResult);
+        BigDecimal monthlyRevenue = batch.get(monthlyRevenueResult);
+        Long activeEmployees = batch.get(activeEmployeesResult);
+        long monthlyActiveEmployees = activeEmployees != null ? activeEmployees : 0;
+        List<DashboardDTO.TopMeal> topMeals = batch.get(topMealsResult);
+        List<DashboardDTO.RecentOrder> recentOrders = batch.get(recentOrdersResult);
 
         log.debug(
-                "Dashboard stats computed - totalOrders: {}, totalMeals: {}, totalEmployees: {}, todayOrders: {}",
+                "Dashboard snapshot built - totalOrders: {}, totalMeals: {}, totalEmployees: {}, todayOrders: {}",
                 totalOrders, totalMeals, totalEmployees, todayOrders);
 
         return DashboardDTO.Response.builder()
@@ -50,28 +172,62 @@ public class DashboardService {
                 .totalEmployees(totalEmployees)
                 .todayOrders(todayOrders)
                 .monthlyRevenue(monthlyRevenue)
+                .monthlyActiveEmployees(monthlyActiveEmployees)
                 .topMeals(topMeals)
                 .recentOrders(recentOrders)
                 .build();
     }
 
+    private Snapshot refreshListings(Snapshot current) {
+        LocalDate day = current.epoch().day;
+        ParallelQueryExecutor.Batch batch = queryExecutor.batch();
+        Future<List<DashboardDTO.TopMeal>> topMealsResult = batch.submit(
+                () -> getTopMeals(day.withDayOfMonth(1), day.withDayOfMonth(day.lengthOfMonth())));
+        Future<List<DashboardDTO.RecentOrder>> recentOrdersResult = batch.submit(this::getRecentOrders);
+
+        DashboardDTO.Response base = current.base();
+        DashboardDTO.Response refreshed = DashboardDTO.Response.builder()
+                .totalOrders(base.getTotalOrders())
+                .totalMeals(base.getTotalMeals())
+                .totalEmployees(base.getTotalEmployees())
+                .todayOrders(base.getTodayOrders())
+                .monthlyRevenue(base.getMonthlyRevenue())
+                .monthlyActiveEmployees(base.getMonthlyActiveEmployees())
+                .topMeals(batch.get(topMealsResult))
+                .recentOrders(batch.get(recentOrdersResult))
+                .build();
+        // Same epoch: the totals above still need the changes counted since the last rebuild
+        return new Snapshot(refreshed, current.epoch(), current.approxMonthlyActiveEmployees(),
+                current.builtAtMillis());
+    }
+
+    /** Not on the query pool: merging the month may first store missing daily sketches */
+    private long approxMonthlyActiveEmployees(LocalDate today, DashboardDTO.Response base) {
+        try {
+            return orderSketchService
+                    .sketch(today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()))
+                    .distinctEmployees();
+        } catch (RuntimeException e) {
+            log.warn("Estimating monthly active employees failed, using the exact count", e);
+            return base.getMonthlyActiveEmployees();
+        }
+    }
+
     private BigDecimal getMonthlyRevenue(LocalDate startDate, LocalDate endDate) {
-        List<Object[]> monthlyRevenueRows = orderRepository.findMonthlyRevenueByDepartment(startDate, endDate);
-        return monthlyRevenueRows.stream()
-                .map(row -> row[2] == null ? BigDecimal.ZERO : (BigDecimal) row[2])
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        RevenueTotalRow total = orderRollupRepository.calculateRevenueBetween(startDate, endDate);
+        return total != null && total.revenue() != null ? total.revenue() : BigDecimal.ZERO;
     }
 
     private List<DashboardDTO.TopMeal> getTopMeals(LocalDate startDate, LocalDate endDate) {
         Pageable limitFive = PageRequest.of(0, 5);
-        List<Object[]> rows = orderRepository.findTopMealsByDateRange(startDate, endDate, limitFive);
+        List<TopMealRow> rows = orderRepository.findTopMealsByDateRange(startDate, endDate, limitFive);
 
         return rows.stream()
                 .map(row -> DashboardDTO.TopMeal.builder()
-                        .mealId((Long) row[0])
-                        .mealName((String) row[1])
-                        .orderCount(((Number) row[2]).longValue())
-                        .totalRevenue(row[3] == null ? BigDecimal.ZERO : (BigDecimal) row[3])
+                        .mealId(row.mealId())
+                        .mealName(row.mealName())
+                        .orderCount(row.orderCount())
+                        .totalRevenue(row.revenue() == null ? BigDecimal.ZERO : row.revenue())
                         .build())
                 .toList();
     }
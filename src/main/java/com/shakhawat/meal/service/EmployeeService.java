@@ -5,6 +5,8 @@ import com.shakhawat.meal.entity.Employee;
 import com.shakhawat.meal.entity.EmployeeStatus;
 import com.shakhawat.meal.exception.*;
 import com.shakhawat.meal.repository.EmployeeRepository;
+import com.shakhawat.meal.security.TokenRevocationService;
+import com.shakhawat.meal.util.AuditSnapshot;
 import com.shakhawat.meal.util.EntityMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +21,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -29,6 +33,9 @@ public class EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final EntityMapper entityMapper;
     private final AuditService auditService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final DashboardCounters dashboardCounters;
 
     @Transactional
     @CacheEvict(value = "employees", allEntries = true)
@@ -48,8 +55,9 @@ public class EmployeeService {
 
         Employee employee = entityMapper.toEntity(request);
         Employee savedEmployee = employeeRepository.save(employee);
+        dashboardCounters.recordEmployeesChanged(1);
 
-        auditService.logCreate("Employee", savedEmployee.getId(), savedEmployee.toString());
+        auditService.logCreate("Employee", savedEmployee.getId(), AuditSnapshot.of(savedEmployee));
         log.info("Employee created with ID: {}", savedEmployee.getId());
 
         return entityMapper.toDto(savedEmployee);
@@ -111,7 +119,11 @@ public class EmployeeService {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
 
-        String oldValue = employee.toString();
+        AuditSnapshot before = AuditSnapshot.of(employee);
+        boolean deactivated = request.getStatus() == EmployeeStatus.INACTIVE
+                && employee.getStatus() != EmployeeStatus.INACTIVE;
+        boolean rolesChanged = request.getRoles() != null && !request.getRoles().isEmpty()
+                && !request.getRoles().equals(employee.getRoles());
 
         if (!employee.getEmail().equals(request.getEmail()) &&
                 employeeRepository.existsByEmail(request.getEmail())) {
@@ -136,7 +148,12 @@ public class EmployeeService {
 
         Employee updatedEmployee = employeeRepository.save(employee);
 
-        auditService.logUpdate("Employee", updatedEmployee.getId(), oldValue, updatedEmployee.toString());
+        // Outstanding tokens carry the old roles / status
+        if (deactivated || rolesChanged) {
+            revokeSessions(id);
+        }
+
+        auditService.logUpdate("Employee", updatedEmployee.getId(), before, AuditSnapshot.of(updatedEmployee));
         log.info("Employee updated with ID: {}", id);
 
         return entityMapper.toDto(updatedEmployee);
@@ -151,8 +168,59 @@ public class EmployeeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
 
         employeeRepository.delete(employee); // Soft delete via @SQLDelete
+        dashboardCounters.recordEmployeesChanged(-1);
+        revokeSessions(id);
 
-        auditService.logDelete("Employee", id, employee.toString());
+        auditService.logDelete("Employee", id, AuditSnapshot.of(employee));
         log.info("Employee deleted with ID: {}", id);
     }
+
+    /**
+     * Lock the account and revoke every token issued to it
+     */
+    @Transactional
+    @CacheEvict(value = "employees", key = "#id")
+    public EmployeeDTO.Response lockEmployee(Long id) {
+        log.info("Locking employee with ID: {}", id);
+
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
+
+        AuditSnapshot before = AuditSnapshot.of(employee);
+        employee.setAccountNonLocked(false);
+        employee.setLockTime(LocalDateTime.now());
+        Employee lockedEmployee = employeeRepository.save(employee);
+
+        revokeSessions(id);
+
+        auditService.logUpdate("Employee", id, before, AuditSnapshot.of(lockedEmployee));
+        log.info("Employee locked with ID: {}", id);
+
+        return entityMapper.toDto(lockedEmployee);
+    }
+
+    @Transactional
+    @CacheEvict(value = "employees", key = "#id")
+    public EmployeeDTO.Response unlockEmployee(Long id) {
+        log.info("Unlocking employee with ID: {}", id);
+
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
+
+        AuditSnapshot before = AuditSnapshot.of(employee);
+        employee.setAccountNonLocked(true);
+        employee.setFailedLoginAttempts(0);
+        employee.setLockTime(null);
+        Employee unlockedEmployee = employeeRepository.save(employee);
+
+        auditService.logUpdate("Employee", id, before, AuditSnapshot.of(unlockedEmployee));
+        log.info("Employee unlocked with ID: {}", id);
+
+        return entityMapper.toDto(unlockedEmployee);
+    }
+
+    private void revokeSessions(Long employeeId) {
+        refreshTokenService.revokeAllTokensForEmployee(employeeId);
+        tokenRevocationService.revokeEmployee(employeeId);
+    }
 }
@@ -0,0 +1,64 @@
+package com.shakhawat.meal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhawat.meal.dto.EmployeeExportRow;
+import com.shakhawat.meal.dto.OrderExportRow;
+import com.shakhawat.meal.repository.EmployeeRepository;
+import com.shakhawat.meal.repository.MealOrderRepository;
+import com.shakhawat.meal.util.ExportFormat;
+import com.shakhawat.meal.util.ExportWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams orders and employees to an output stream as they are read.
+ * Rows come from a forward-only cursor as DTOs built by the query, so neither the persistence
+ * context nor the heap grows with the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private final MealOrderRepository orderRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportOrders(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out)
+            throws IOException {
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(startDate, endDate)) {
+            long count = write(rows, OrderExportRow.class, format, out);
+            log.info("Exported {} orders from {} to {} as {}", count, startDate, endDate, format);
+            return count;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportEmployees(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<EmployeeExportRow> rows = employeeRepository.streamExportRows()) {
+            long count = write(rows, EmployeeExportRow.class, format, out);
+            log.info("Exported {} employees as {}", count, format);
+            return count;
+        }
+    }
+
+    private <T extends Record> long write(Stream<T> rows, Class<T> rowType, ExportFormat format, OutputStream out)
+            throws IOException {
+        try (ExportWriter<T> writer = ExportWriter.open(format, rowType, out, objectMapper)) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+            return writer.getRows();
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.shakhawat.meal.dto.MealOrderDTO;
 import com.shakhawat.meal.entity.*;
 import com.shakhawat.meal.exception.*;
 import com.shakhawat.meal.repository.*;
+import com.shakhawat.meal.security.AuthenticatedEmployee;
+import com.shakhawat.meal.security.CurrentEmployeeResolver;
+import com.shakhawat.meal.util.AuditSnapshot;
 import com.shakhawat.meal.util.EntityMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,8 +15,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -36,6 +37,10 @@ public class MealOrderService {
     private final InventoryService inventoryService;
     private final EntityMapper entityMapper;
     private final AuditService auditService;
+    private final OrderRollupService orderRollupService;
+    private final OrderRateTracker orderRateTracker;
+    private final DashboardCounters dashboardCounters;
+    private final CurrentEmployeeResolver currentEmployeeResolver;
 
     @Value("${order.cutoff.hours:4}")
     private int cutoffHours;
@@ -62,7 +67,12 @@ public class MealOrderService {
         validateBudget(employee, totalPrice);
 
         // Reserve inventory
-        inventoryService.reserveMeal(meal.getId(), request.getOrderDate(), request.getQuantity());
+        try {
+            inventoryService.reserveMeal(meal.getId(), request.getOrderDate(), request.getQuantity());
+        } catch (InvalidOperationException e) {
+            orderRateTracker.recordRejected(RejectionReason.SOLD_OUT);
+            throw e;
+        }
 
         // Create order
         MealOrder order = MealOrder.builder()
@@ -75,12 +85,15 @@ public class MealOrderService {
                 .build();
 
         MealOrder savedOrder = orderRepository.save(order);
+        orderRollupService.recordCreated(savedOrder);
+        orderRateTracker.recordPlaced(savedOrder);
+        dashboardCounters.recordOrderCreated(savedOrder);
 
         // Update employee budget
         employee.setCurrentMonthSpent(employee.getCurrentMonthSpent().add(totalPrice));
         employeeRepository.save(employee);
 
-        auditService.logCreate("MealOrder", savedOrder.getId(), savedOrder.toString());
+        auditService.logCreate("MealOrder", savedOrder.getId(), AuditSnapshot.of(savedOrder));
         log.info("Order created successfully - orderId: {}, total: {}",
                 savedOrder.getId(), savedOrder.getTotalPrice());
 
@@ -89,6 +102,7 @@ public class MealOrderService {
 
     private void validateMealAvailability(Meal meal) {
         if (!meal.getAvailable()) {
+            orderRateTracker.recordRejected(RejectionReason.MEAL_UNAVAILABLE);
             throw new InvalidOperationException("Meal is not available");
         }
     }
@@ -97,6 +111,7 @@ public class MealOrderService {
         LocalDateTime now = LocalDateTime.now();
 
         if (orderDate.isBefore(now.toLocalDate())) {
+            orderRateTracker.recordRejected(RejectionReason.PAST_DATE);
             throw new InvalidOperationException("Cannot order meals for past dates");
         }
 
@@ -105,6 +120,7 @@ public class MealOrderService {
             LocalTime cutoffTime = mealTime.minusHours(cutoffHours);
 
             if (now.toLocalTime().isAfter(cutoffTime)) {
+                orderRateTracker.recordRejected(RejectionReason.CUTOFF_PASSED);
                 throw new InvalidOperationException(
                         String.format("Order deadline passed. Cutoff time was %s", cutoffTime));
             }
@@ -123,6 +139,7 @@ public class MealOrderService {
     private void validateDuplicateOrder(MealOrderDTO.Request request) {
         if (orderRepository.existsByEmployeeIdAndMealIdAndOrderDate(
                 request.getEmployeeId(), request.getMealId(), request.getOrderDate())) {
+            orderRateTracker.recordRejected(RejectionReason.DUPLICATE);
             throw new DuplicateResourceException("Order already exists for this employee, meal, and date");
         }
     }
@@ -130,6 +147,7 @@ public class MealOrderService {
     private void validateBudget(Employee employee, BigDecimal orderTotal) {
         if (employee.getCurrentMonthSpent().add(orderTotal)
                 .compareTo(employee.getMonthlyBudget()) > 0) {
+            orderRateTracker.recordRejected(RejectionReason.BUDGET_EXCEEDED);
             throw new InvalidOperationException("Monthly budget exceeded");
         }
 
@@ -140,6 +158,7 @@ public class MealOrderService {
         );
 
         if (monthOrders >= employee.getMonthlyOrderLimit()) {
+            orderRateTracker.recordRejected(RejectionReason.ORDER_LIMIT_EXCEEDED);
             throw new InvalidOperationException("Monthly order limit exceeded");
         }
     }
@@ -156,9 +175,9 @@ public class MealOrderService {
     public Page<MealOrderDTO.Response> getAllOrders(Pageable pageable) {
         log.debug("Fetching all orders with pagination");
 
-        Employee currentEmployee = getCurrentEmployeeIfRestrictedUser();
-        if (currentEmployee != null) {
-            return orderRepository.findByEmployeeId(currentEmployee.getId(), pageable)
+        Long restrictedEmployeeId = getRestrictedEmployeeId();
+        if (restrictedEmployeeId != null) {
+            return orderRepository.findByEmployeeId(restrictedEmployeeId, pageable)
                     .map(entityMapper::toDto);
         }
 
@@ -191,11 +210,16 @@ public class MealOrderService {
         MealOrder order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("MealOrder", id));
 
-        String oldValue = order.toString();
+        AuditSnapshot before = AuditSnapshot.of(order);
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
         MealOrder updatedOrder = orderRepository.save(order);
+        orderRollupService.recordStatusChange(updatedOrder, previousStatus);
+        if (status == OrderStatus.CANCELLED && previousStatus != OrderStatus.CANCELLED) {
+            orderRateTracker.recordCancelled(updatedOrder);
+        }
 
-        auditService.logUpdate("MealOrder", updatedOrder.getId(), oldValue, updatedOrder.toString());
+        auditService.logUpdate("MealOrder", updatedOrder.getId(), before, AuditSnapshot.of(updatedOrder));
         log.info("Order status updated - orderId: {}", id);
 
         return entityMapper.toDto(updatedOrder);
@@ -221,69 +245,64 @@ public class MealOrderService {
         employee.setCurrentMonthSpent(employee.getCurrentMonthSpent().subtract(order.getTotalPrice()));
         employeeRepository.save(employee);
 
+        AuditSnapshot before = AuditSnapshot.of(order);
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        orderRollupService.recordStatusChange(order, previousStatus);
+        if (previousStatus != OrderStatus.CANCELLED) {
+            orderRateTracker.recordCancelled(order);
+        }
 
-        auditService.logUpdate("MealOrder", order.getId(), "Status: " + OrderStatus.PENDING, "Status: CANCELLED");
+        auditService.logUpdate("MealOrder", order.getId(), before, AuditSnapshot.of(order));
         log.info("Order cancelled successfully - orderId: {}", id);
     }
 
     private void ensureCanActOnEmployee(Long employeeId) {
-        Employee currentEmployee = getCurrentEmployeeIfRestrictedUser();
-        if (currentEmployee == null) {
+        Long restrictedEmployeeId = getRestrictedEmployeeId();
+        if (restrictedEmployeeId == null) {
             return;
         }
 
-        if (!currentEmployee.getId().equals(employeeId)) {
+        if (!restrictedEmployeeId.equals(employeeId)) {
             throw new AccessDeniedException("You can only access your own orders");
         }
     }
 
     private void ensureCanAccessOrder(MealOrder order) {
-        Employee currentEmployee = getCurrentEmployeeIfRestrictedUser();
-        if (currentEmployee == null) {
+        Long restrictedEmployeeId = getRestrictedEmployeeId();
+        if (restrictedEmployeeId == null) {
             return;
         }
 
-        if (!currentEmployee.getId().equals(order.getEmployee().getId())) {
+        if (!restrictedEmployeeId.equals(order.getEmployee().getId())) {
             throw new AccessDeniedException("You can only access your own orders");
         }
     }
 
     private void ensurePrivilegedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()
-                || "anonymousUser".equals(authentication.getPrincipal())) {
-            return;
-        }
-
-        if (!isPrivileged(authentication)) {
-            throw new AccessDeniedException("Access denied");
-        }
+        currentEmployeeResolver.resolve()
+                .filter(principal -> !principal.isPrivileged())
+                .ifPresent(principal -> {
+                    throw new AccessDeniedException("Access denied");
+                });
     }
 
     /**
-     * Returns current employee only for ROLE_EMPLOYEE users.
+     * Returns current employee id only for ROLE_EMPLOYEE users.
      * For admin/staff (or missing auth context), returns null to indicate unrestricted flow.
      */
-    private Employee getCurrentEmployeeIfRestrictedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()
-                || "anonymousUser".equals(authentication.getPrincipal())) {
+    private Long getRestrictedEmployeeId() {
+        AuthenticatedEmployee principal = currentEmployeeResolver.resolve()
+                .filter(current -> !current.isPrivileged())
+                .orElse(null);
+        if (principal == null) {
             return null;
         }
 
-        if (isPrivileged(authentication)) {
-            return null;
+        if (principal.getId() == null) {
+            throw new AccessDeniedException("Authenticated employee not found");
         }
-
-        return employeeRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new AccessDeniedException("Authenticated employee not found"));
-    }
-
-    private boolean isPrivileged(Authentication authentication) {
-        return authentication.getAuthorities().stream().anyMatch(authority ->
-                "ROLE_ADMIN".equals(authority.getAuthority()) ||
-                        "ROLE_CAFETERIA_STAFF".equals(authority.getAuthority()));
+        return principal.getId();
     }
 }
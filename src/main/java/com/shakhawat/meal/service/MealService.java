@@ -5,6 +5,7 @@ import com.shakhawat.meal.entity.Meal;
 import com.shakhawat.meal.entity.MealType;
 import com.shakhawat.meal.exception.ResourceNotFoundException;
 import com.shakhawat.meal.repository.MealRepository;
+import com.shakhawat.meal.util.AuditSnapshot;
 import com.shakhawat.meal.util.EntityMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +30,7 @@ public class MealService {
     private final MealRepository mealRepository;
     private final EntityMapper entityMapper;
     private final AuditService auditService;
+    private final DashboardCounters dashboardCounters;
 
     @Transactional
     @CacheEvict(value = "meals", allEntries = true)
@@ -37,8 +39,9 @@ public class MealService {
 
         Meal meal = entityMapper.toEntity(request);
         Meal savedMeal = mealRepository.save(meal);
+        dashboardCounters.recordMealsChanged(1);
 
-        auditService.logCreate("Meal", savedMeal.getId(), savedMeal.toString());
+        auditService.logCreate("Meal", savedMeal.getId(), AuditSnapshot.of(savedMeal));
         log.info("Meal created with ID: {}", savedMeal.getId());
 
         return entityMapper.toDto(savedMeal);
@@ -98,7 +101,7 @@ public class MealService {
         Meal meal = mealRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Meal", id));
 
-        String oldValue = meal.toString();
+        AuditSnapshot before = AuditSnapshot.of(meal);
 
         meal.setName(request.getName());
         meal.setDescription(request.getDescription());
@@ -113,7 +116,7 @@ public class MealService {
 
         Meal updatedMeal = mealRepository.save(meal);
 
-        auditService.logUpdate("Meal", updatedMeal.getId(), oldValue, updatedMeal.toString());
+        auditService.logUpdate("Meal", updatedMeal.getId(), before, AuditSnapshot.of(updatedMeal));
         log.info("Meal updated with ID: {}", id);
 
         return entityMapper.toDto(updatedMeal);
@@ -129,6 +132,7 @@ public class MealService {
         }
 
         mealRepository.deleteById(id);
+        dashboardCounters.recordMealsChanged(-1);
 
         auditService.logDelete("Meal", id, "Meal deleted");
         log.info("Meal deleted with ID: {}", id);
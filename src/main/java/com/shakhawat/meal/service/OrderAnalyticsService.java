@@ -0,0 +1,467 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.AnalyticsDTO;
+import com.shakhawat.meal.dto.AnalyticsDTO.Dimension;
+import com.shakhawat.meal.dto.OrderExportRow;
+import com.shakhawat.meal.entity.OrderStatus;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import com.shakhawat.meal.exception.ServiceUnavailableException;
+import com.shakhawat.meal.repository.MealOrderRepository;
+import com.shakhawat.meal.util.OrderColumnFile;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Ad-hoc order analytics over a columnar snapshot instead of MySQL.
+ * <p>
+ * Every night the orders dated up to {@code analytics.snapshot.lag-days} before today are
+ * written to a new {@link OrderColumnFile} in {@code analytics.directory}, which then replaces
+ * the previous one. Queries group and sum those orders by any combination of {@link Dimension}s
+ * on a dedicated fork-join pool; no query reaches the database, and orders newer than the
+ * snapshot are not included.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderAnalyticsService {
+
+    private static final String PREFIX = "orders-";
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    /** Up to this many groups are aggregated into flat arrays rather than a hash map */
+    private static final int DENSE_GROUPS = 16_384;
+    private static final int MIN_SPLIT_ROWS = 65_536;
+
+    private final MealOrderRepository orderRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${analytics.directory:./data/analytics}")
+    private String directory;
+
+    @Value("${analytics.parallelism:4}")
+    private int parallelism;
+
+    @Value("${analytics.snapshot.lag-days:1}")
+    private int lagDays;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+    private ForkJoinPool pool;
+    private TransactionTemplate transactionTemplate;
+
+    private record Snapshot(Path file, OrderColumnFile.Reader reader, LocalDateTime builtAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        this.pool = new ForkJoinPool(parallelism);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        Gauge.builder("analytics.snapshot.rows", this, s -> s.snapshot != null ? s.snapshot.reader().getRowCount() : 0)
+                .description("Orders in the current analytics snapshot")
+                .register(meterRegistry);
+
+        try {
+            Path latest = listSnapshotFiles().stream().reduce((first, second) -> second).orElse(null);
+            if (latest != null) {
+                snapshot = new Snapshot(latest, OrderColumnFile.Reader.open(latest),
+                        LocalDateTime.ofInstant(Files.getLastModifiedTime(latest).toInstant(), ZoneId.systemDefault()));
+                log.info("Opened analytics snapshot {} ({} orders)", latest, snapshot.reader().getRowCount());
+            }
+        } catch (IOException e) {
+            log.error("Failed to open the analytics snapshot; queries are unavailable until the next rebuild", e);
+        }
+    }
+
+    @Scheduled(cron = "${analytics.snapshot.cron:0 30 3 * * ?}") // 3:30 AM daily
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Analytics snapshot rebuild failed", e);
+        }
+    }
+
+    /** Writes a fresh snapshot from the database and switches queries over to it */
+    public AnalyticsDTO.SnapshotInfo rebuild() {
+        if (!rebuildLock.tryLock()) {
+            throw new InvalidOperationException("An analytics snapshot rebuild is already running");
+        }
+        try {
+            LocalDate through = LocalDate.now().minusDays(lagDays);
+            LocalDateTime builtAt = LocalDateTime.now();
+            Path dir = Paths.get(directory);
+            String name = PREFIX + FILE_STAMP.format(builtAt);
+            OrderColumnFile.Writer writer = new OrderColumnFile.Writer(dir, name, through);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(LocalDate.EPOCH, through)) {
+                        Iterator<OrderExportRow> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            writer.append(iterator.next());
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.close();
+            } catch (RuntimeException | IOException e) {
+                writer.abort();
+                throw e;
+            }
+
+            Path file = dir.resolve(name + OrderColumnFile.SUFFIX);
+            Snapshot previous = snapshot;
+            snapshot = new Snapshot(file, OrderColumnFile.Reader.open(file), builtAt);
+            if (previous != null) {
+                retire(previous);
+            }
+            log.info("Built analytics snapshot {} with {} orders through {}", file, writer.getRowCount(), through);
+            return info(snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build the analytics snapshot", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public AnalyticsDTO.SnapshotInfo getSnapshotInfo() {
+        return info(current());
+    }
+
+    public AnalyticsDTO.Response aggregate(AnalyticsDTO.Query query) {
+        long started = System.nanoTime();
+        OrderColumnFile.Reader reader = current().reader();
+        List<Dimension> groupBy = query.getGroupBy() != null ? query.getGroupBy() : List.of();
+        if (new HashSet<>(groupBy).size() != groupBy.size()) {
+            throw new InvalidOperationException("Each dimension may appear only once in groupBy");
+        }
+        if (query.getStartDate() != null && query.getEndDate() != null
+                && query.getEndDate().isBefore(query.getStartDate())) {
+            throw new InvalidOperationException("End date must be on or after start date");
+        }
+
+        int from = query.getStartDate() != null ? reader.firstRowOnOrAfter(query.getStartDate()) : 0;
+        int to = query.getEndDate() != null
+                ? reader.firstRowOnOrAfter(query.getEndDate().plusDays(1)) : reader.getRowCount();
+
+        List<AnalyticsDTO.Row> rows = new ArrayList<>();
+        if (from < to) {
+            Plan plan = new Plan(reader, groupBy, from, to, query.getStatuses());
+            int chunk = Math.max(MIN_SPLIT_ROWS, (to - from) / (parallelism * 4) + 1);
+            Partial totals = pool.invoke(new AggregateTask(plan, from, to, chunk));
+            totals.forEach((key, sums) -> rows.add(AnalyticsDTO.Row.builder()
+                    .keys(plan.labels(key))
+                    .orders(sums[0])
+                    .quantity(sums[1])
+                    .amount(BigDecimal.valueOf(sums[2], 2))
+                    .build()));
+        }
+
+        return AnalyticsDTO.Response.builder()
+                .groupBy(groupBy)
+                .rows(rows)
+                .snapshotThrough(reader.getThroughDay())
+                .rowsScanned(Math.max(0, to - from))
+                .elapsedMicros((System.nanoTime() - started) / 1_000)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+        Snapshot current = snapshot;
+        if (current != null) {
+            try {
+                current.reader().close();
+            } catch (IOException ignored) {
+                // shutting down
+            }
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new ServiceUnavailableException("No analytics snapshot has been built yet. Please retry later.");
+        }
+        return current;
+    }
+
+    private void retire(Snapshot previous) {
+        // Scans still running keep their mapped columns; the mapping outlives the channel and the file name
+        try {
+            previous.reader().close();
+            Files.deleteIfExists(previous.file());
+        } catch (IOException e) {
+            log.warn("Failed to remove old analytics snapshot {}: {}", previous.file(), e.getMessage());
+        }
+    }
+
+    private List<Path> listSnapshotFiles() throws IOException {
+        Path dir = Paths.get(directory);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(OrderColumnFile.SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private AnalyticsDTO.SnapshotInfo info(Snapshot snapshot) {
+        OrderColumnFile.Reader reader = snapshot.reader();
+        return AnalyticsDTO.SnapshotInfo.builder()
+                .file(snapshot.file().getFileName().toString())
+                .rows(reader.getRowCount())
+                .firstDay(reader.getRowCount() > 0 ? reader.getFirstDay() : null)
+                .lastDay(reader.getRowCount() > 0 ? reader.getLastDay() : null)
+                .snapshotThrough(reader.getThroughDay())
+                .builtAt(snapshot.builtAt())
+                .build();
+    }
+
+    /**
+     * Per-query lookup tables. Each row maps to a group key that packs the code of every
+     * dimension in mixed radix, the first dimension most significant, so ascending keys are
+     * in dimension order. Calendar dimensions are looked up per day of the scanned range.
+     */
+    private static final class Plan {
+
+        final OrderColumnFile.Reader reader;
+        final Dimension[] dimensions;
+        final int[] radix;
+        final int[][] dayCodes;
+        final List<List<String>> labels = new ArrayList<>();
+        final int firstDay;
+        final int[] mealTypeOfMeal;
+        final boolean[] statusIncluded;
+        final long groups;
+
+        Plan(OrderColumnFile.Reader reader, List<Dimension> groupBy, int fromRow, int toRow, Set<OrderStatus> statuses) {
+            this.reader = reader;
+            this.dimensions = groupBy.toArray(Dimension[]::new);
+            this.radix = new int[dimensions.length];
+            this.dayCodes = new int[dimensions.length][];
+            this.firstDay = reader.epochDay(fromRow);
+            int days = reader.epochDay(toRow - 1) - firstDay + 1;
+
+            List<OrderColumnFile.MealEntry> meals = reader.getMeals();
+            this.mealTypeOfMeal = new int[meals.size()];
+            for (int i = 0; i < meals.size(); i++) {
+                mealTypeOfMeal[i] = meals.get(i).mealType();
+            }
+
+            if (statuses != null && !statuses.isEmpty()) {
+                List<String> names = reader.getStatuses();
+                this.statusIncluded = new boolean[names.size()];
+                for (int i = 0; i < names.size(); i++) {
+                    statusIncluded[i] = statuses.contains(OrderStatus.valueOf(names.get(i)));
+                }
+            } else {
+                this.statusIncluded = null;
+            }
+
+            long product = 1;
+            for (int d = 0; d < dimensions.length; d++) {
+                List<String> dimensionLabels = switch (dimensions[d]) {
+                    case YEAR, MONTH, WEEKDAY, DATE -> calendarCodes(d, days);
+                    case DEPARTMENT -> reader.getDepartments();
+                    case MEAL -> meals.stream().map(OrderColumnFile.MealEntry::name).toList();
+                    case MEAL_TYPE -> reader.getMealTypes();
+                    case STATUS -> reader.getStatuses();
+                };
+                labels.add(dimensionLabels);
+                radix[d] = Math.max(1, dimensionLabels.size());
+                try {
+                    product = Math.multiplyExact(product, radix[d]);
+                } catch (ArithmeticException e) {
+                    throw new InvalidOperationException("Too many group combinations; narrow the date range or groupBy");
+                }
+            }
+            this.groups = product;
+        }
+
+        private List<String> calendarCodes(int d, int days) {
+            int[] codes = new int[days];
+            dayCodes[d] = codes;
+            if (dimensions[d] == Dimension.WEEKDAY) {
+                // Codes follow the week, not the first day of the range
+                for (int offset = 0; offset < days; offset++) {
+                    codes[offset] = LocalDate.ofEpochDay((long) firstDay + offset).getDayOfWeek().ordinal();
+                }
+                return Arrays.stream(DayOfWeek.values()).map(Enum::name).toList();
+            }
+            List<String> dimensionLabels = new ArrayList<>();
+            Map<Object, Integer> seen = new HashMap<>();
+            for (int offset = 0; offset < days; offset++) {
+                LocalDate day = LocalDate.ofEpochDay((long) firstDay + offset);
+                Object value = switch (dimensions[d]) {
+                    case YEAR -> day.getYear();
+                    case MONTH -> YearMonth.from(day);
+                    default -> day;
+                };
+                Integer code = seen.get(value);
+                if (code == null) {
+                    code = dimensionLabels.size();
+                    seen.put(value, code);
+                    dimensionLabels.add(value.toString());
+                }
+                codes[offset] = code;
+            }
+            return dimensionLabels;
+        }
+
+        boolean included(int row) {
+            return statusIncluded == null || statusIncluded[reader.status(row)];
+        }
+
+        long key(int row) {
+            long key = 0;
+            for (int d = 0; d < dimensions.length; d++) {
+                int code = switch (dimensions[d]) {
+                    case YEAR, MONTH, WEEKDAY, DATE -> dayCodes[d][reader.epochDay(row) - firstDay];
+                    case DEPARTMENT -> reader.department(row);
+                    case MEAL -> reader.meal(row);
+                    case MEAL_TYPE -> mealTypeOfMeal[reader.meal(row)];
+                    case STATUS -> reader.status(row);
+                };
+                key = key * radix[d] + code;
+            }
+            return key;
+        }
+
+        List<String> labels(long key) {
+            String[] keys = new String[dimensions.length];
+            for (int d = dimensions.length - 1; d >= 0; d--) {
+                keys[d] = labels.get(d).get((int) (key % radix[d]));
+                key /= radix[d];
+            }
+            return List.of(keys);
+        }
+    }
+
+    /** Order count, quantity and cents per group key */
+    private static final class Partial {
+
+        private final long[] dense;
+        private final Map<Long, long[]> sparse;
+
+        Partial(long groups) {
+            this.dense = groups <= DENSE_GROUPS ? new long[(int) groups * 3] : null;
+            this.sparse = dense == null ? new HashMap<>() : null;
+        }
+
+        void add(long key, int quantity, long cents) {
+            if (dense != null) {
+                int slot = (int) key * 3;
+                dense[slot]++;
+                dense[slot + 1] += quantity;
+                dense[slot + 2] += cents;
+            } else {
+                long[] sums = sparse.computeIfAbsent(key, k -> new long[3]);
+                sums[0]++;
+                sums[1] += quantity;
+                sums[2] += cents;
+            }
+        }
+
+        Partial merge(Partial other) {
+            if (dense != null) {
+                for (int i = 0; i < dense.length; i++) {
+                    dense[i] += other.dense[i];
+                }
+            } else {
+                other.sparse.forEach((key, sums) -> sparse.merge(key, sums, (a, b) -> {
+                    a[0] += b[0];
+                    a[1] += b[1];
+                    a[2] += b[2];
+                    return a;
+                }));
+            }
+            return this;
+        }
+
+        /** Non-empty groups in ascending key order */
+        void forEach(BiConsumer<Long, long[]> action) {
+            if (dense != null) {
+                for (int key = 0; key < dense.length / 3; key++) {
+                    if (dense[key * 3] > 0) {
+                        action.accept((long) key, Arrays.copyOfRange(dense, key * 3, key * 3 + 3));
+                    }
+                }
+            } else {
+                new TreeMap<>(sparse).forEach(action);
+            }
+        }
+    }
+
+    private static final class AggregateTask extends RecursiveTask<Partial> {
+
+        private final transient Plan plan;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        AggregateTask(Plan plan, int from, int to, int chunk) {
+            this.plan = plan;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= chunk) {
+                Partial partial = new Partial(plan.groups);
+                OrderColumnFile.Reader reader = plan.reader;
+                for (int row = from; row < to; row++) {
+                    if (plan.included(row)) {
+                        partial.add(plan.key(row), reader.quantity(row), reader.amountCents(row));
+                    }
+                }
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(plan, from, mid, chunk);
+            left.fork();
+            Partial right = new AggregateTask(plan, mid, to, chunk).compute();
+            return left.join().merge(right);
+        }
+    }
+}
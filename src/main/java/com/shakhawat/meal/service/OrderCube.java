@@ -0,0 +1,287 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.rows.CubeCellRow;
+import com.shakhawat.meal.dto.rows.MealTypeOrderRow;
+import com.shakhawat.meal.dto.rows.RevenueTotalRow;
+import com.shakhawat.meal.entity.MealOrder;
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.entity.OrderStatus;
+import com.shakhawat.meal.repository.OrderRollupRepository;
+import com.shakhawat.meal.util.MoneyUtil;
+import com.shakhawat.meal.util.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Current-month order count, quantity and cents per (day, department, meal type, status), held in
+ * flat primitive arrays.
+ * <p>
+ * The cube is loaded from order_rollup and then follows {@link OrderRollupService}: each order
+ * change adds its delta with atomic adds once its transaction commits. Every
+ * {@code reports.cube.reconcile-interval-ms} the cube is reloaded from the rollups; if any cell
+ * differs the reload replaces it and the difference is counted in reports.cube.drift. The first
+ * reload of a new month moves the cube to that month.
+ * <p>
+ * A delta only goes to the cube that was in place when the order change was made. If a reload
+ * replaced that cube before the transaction committed, the delta is dropped, because the reload
+ * may already have read the committed row and adding it again would double count it. An order
+ * committed around a reload can therefore be missing until the next reconciliation, but it is
+ * never counted twice.
+ * <p>
+ * Queries return empty when the cube does not cover the date, or inside a transaction, whose
+ * uncommitted changes the cube cannot see; callers then read the rollups instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderCube {
+
+    private static final MealType[] MEAL_TYPES = MealType.values();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final int DAYS = 31;
+
+    private final OrderRollupRepository rollupRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reports.cube.max-departments:128}")
+    private int maxDepartments;
+
+    private volatile Cells cells;
+    private TransactionTemplate readOnlyTransaction;
+    private Counter driftCounter;
+
+    @PostConstruct
+    public void init() {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.driftCounter = Counter.builder("reports.cube.drift")
+                .description("Order cube cells found to differ from the rollups on reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reports.cube.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            YearMonth month = YearMonth.now();
+            Cells fresh = load(month);
+            if (fresh.overflowed) {
+                log.warn("More than {} departments ordered in {}; order cube disabled", maxDepartments, month);
+                cells = null;
+                return;
+            }
+            Cells current = cells;
+            if (current != null && current.month.equals(month) && !current.overflowed) {
+                int drift = fresh.differingCells(current);
+                if (drift == 0) {
+                    return;
+                }
+                driftCounter.increment(drift);
+                log.warn("Order cube differed from the rollups in {} cells; reloaded", drift);
+            }
+            cells = fresh;
+        } catch (RuntimeException e) {
+            log.error("Order cube reload failed", e);
+        }
+    }
+
+    /**
+     * Adds the order, counted under the given status, sign times; applied after the current
+     * transaction commits, or at once outside one
+     */
+    public void recordDelta(MealOrder order, OrderStatus status, int sign) {
+        LocalDate orderDate = order.getOrderDate();
+        // The department the order was placed in, as in the rollups, not the employee's current one
+        String department = order.getDepartment();
+        MealType mealType = order.getMeal().getType();
+        long quantity = (long) sign * order.getQuantity();
+        long cents = sign * MoneyUtil.toCents(order.getTotalPrice());
+
+        Cells target = cells;
+        Runnable apply = () -> {
+            Cells current = cells;
+            // A cube loaded since the change may already contain the committed row
+            if (current != null && current == target && current.month.equals(YearMonth.from(orderDate))) {
+                current.add(orderDate, department, mealType, status, sign, quantity, cents);
+            }
+        };
+        TransactionUtil.afterCommit(apply);
+    }
+
+    /** Orders placed for the day, all statuses */
+    public Optional<Long> orderCount(LocalDate date) {
+        return covering(date).map(current -> current.sum(date, date, null)[0]);
+    }
+
+    /** Revenue of the orders dated start to end, all statuses; both must fall in the cube's month */
+    public Optional<BigDecimal> revenue(LocalDate startDate, LocalDate endDate) {
+        return covering(startDate)
+                .filter(current -> current.month.equals(YearMonth.from(endDate)))
+                .map(current -> BigDecimal.valueOf(current.sum(startDate, endDate, null)[2], 2));
+    }
+
+    /** The row of {@link OrderRollupRepository#calculateDailyRevenue} */
+    public Optional<RevenueTotalRow> dailyRevenue(LocalDate date) {
+        return covering(date).map(current -> {
+            long[] totals = current.sum(date, date, null);
+            return new RevenueTotalRow(BigDecimal.valueOf(totals[2], 2), totals[0]);
+        });
+    }
+
+    /**
+     * The rows of {@link OrderRollupRepository#findMealTypeBreakdown}: meal types with orders,
+     * most orders first
+     */
+    public Optional<List<MealTypeOrderRow>> mealTypeBreakdown(LocalDate date) {
+        return covering(date).map(current -> {
+            List<MealTypeOrderRow> rows = new ArrayList<>();
+            for (MealType type : MEAL_TYPES) {
+                long[] totals = current.sum(date, date, type);
+                if (totals[0] > 0) {
+                    rows.add(new MealTypeOrderRow(type, totals[0], BigDecimal.valueOf(totals[2], 2)));
+                }
+            }
+            rows.sort(Comparator.comparing(MealTypeOrderRow::orderCount).reversed());
+            return rows;
+        });
+    }
+
+    private Optional<Cells> covering(LocalDate date) {
+        Cells current = cells;
+        if (current == null || current.overflowed || !current.month.equals(YearMonth.from(date))
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    private Cells load(YearMonth month) {
+        List<CubeCellRow> rows = readOnlyTransaction.execute(status ->
+                rollupRepository.findCubeCells(month.atDay(1), month.atEndOfMonth()));
+        Cells loaded = new Cells(month, maxDepartments);
+        for (CubeCellRow row : rows != null ? rows : List.<CubeCellRow>of()) {
+            loaded.add(row.orderDate(), row.department(), row.mealType(), row.status(),
+                    row.orderCount(),
+                    row.quantity(),
+                    row.revenue() != null ? MoneyUtil.toCents(row.revenue()) : 0L);
+        }
+        return loaded;
+    }
+
+    /**
+     * Cells indexed [department][meal type][day of month][status]; department indexes are
+     * assigned on first use up to a fixed capacity.
+     */
+    private static final class Cells {
+
+        final YearMonth month;
+        final int capacity;
+        final Map<String, Integer> departments = new ConcurrentHashMap<>();
+        final AtomicInteger nextDepartment = new AtomicInteger();
+        final AtomicLongArray orders;
+        final AtomicLongArray quantities;
+        final AtomicLongArray cents;
+        volatile boolean overflowed;
+
+        Cells(YearMonth month, int capacity) {
+            this.month = month;
+            this.capacity = capacity;
+            int size = capacity * MEAL_TYPES.length * DAYS * STATUSES.length;
+            this.orders = new AtomicLongArray(size);
+            this.quantities = new AtomicLongArray(size);
+            this.cents = new AtomicLongArray(size);
+        }
+
+        void add(LocalDate date, String department, MealType type, OrderStatus status,
+                 long orderDelta, long quantityDelta, long centsDelta) {
+            int index = departments.computeIfAbsent(department, k -> nextDepartment.getAndIncrement());
+            if (index >= capacity) {
+                overflowed = true;
+                return;
+            }
+            int cell = cell(index, type.ordinal(), date.getDayOfMonth(), status.ordinal());
+            orders.addAndGet(cell, orderDelta);
+            quantities.addAndGet(cell, quantityDelta);
+            cents.addAndGet(cell, centsDelta);
+        }
+
+        /** Orders, quantity and cents dated start to end, for one meal type or all (null) */
+        long[] sum(LocalDate startDate, LocalDate endDate, MealType type) {
+            long[] totals = new long[3];
+            int departmentCount = Math.min(nextDepartment.get(), capacity);
+            for (int department = 0; department < departmentCount; department++) {
+                for (int t = 0; t < MEAL_TYPES.length; t++) {
+                    if (type != null && t != type.ordinal()) {
+                        continue;
+                    }
+                    for (int day = startDate.getDayOfMonth(); day <= endDate.getDayOfMonth(); day++) {
+                        int first = cell(department, t, day, 0);
+                        for (int cell = first; cell < first + STATUSES.length; cell++) {
+                            totals[0] += orders.get(cell);
+                            totals[1] += quantities.get(cell);
+                            totals[2] += cents.get(cell);
+                        }
+                    }
+                }
+            }
+            return totals;
+        }
+
+        /** Number of cells whose values differ from the other cube's cell for the same department */
+        int differingCells(Cells other) {
+            int differing = 0;
+            int perDepartment = MEAL_TYPES.length * DAYS * STATUSES.length;
+            for (Map.Entry<String, Integer> entry : departments.entrySet()) {
+                Integer otherIndex = other.departments.get(entry.getKey());
+                for (int offset = 0; offset < perDepartment; offset++) {
+                    int cell = entry.getValue() * perDepartment + offset;
+                    int otherCell = otherIndex != null ? otherIndex * perDepartment + offset : -1;
+                    long otherOrders = otherCell >= 0 ? other.orders.get(otherCell) : 0;
+                    long otherQuantity = otherCell >= 0 ? other.quantities.get(otherCell) : 0;
+                    long otherCents = otherCell >= 0 ? other.cents.get(otherCell) : 0;
+                    if (orders.get(cell) != otherOrders || quantities.get(cell) != otherQuantity
+                            || cents.get(cell) != otherCents) {
+                        differing++;
+                    }
+                }
+            }
+            for (Map.Entry<String, Integer> entry : other.departments.entrySet()) {
+                if (!departments.containsKey(entry.getKey())) {
+                    for (int offset = 0; offset < perDepartment; offset++) {
+                        int otherCell = entry.getValue() * perDepartment + offset;
+                        if (other.orders.get(otherCell) != 0 || other.quantities.get(otherCell) != 0
+                                || other.cents.get(otherCell) != 0) {
+                            differing++;
+                        }
+                    }
+                }
+            }
+            return differing;
+        }
+
+        private static int cell(int department, int type, int dayOfMonth, int status) {
+            return ((department * MEAL_TYPES.length + type) * DAYS + dayOfMonth - 1) * STATUSES.length + status;
+        }
+    }
+}
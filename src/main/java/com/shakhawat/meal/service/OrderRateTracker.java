@@ -0,0 +1,183 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.DashboardDTO;
+import com.shakhawat.meal.entity.MealOrder;
+import com.shakhawat.meal.entity.RejectionReason;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import com.shakhawat.meal.util.MoneyUtil;
+import com.shakhawat.meal.util.TransactionUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-minute order activity for the last 48 hours, for live charts that refresh without SQL.
+ * <p>
+ * Each minute owns a slot in a ring of flat counter arrays: orders placed, cancellations, cents
+ * ordered and order rejections per reason. A slot is stamped with its minute; the first write of
+ * a new minute claims the slot with a compare-and-set, clears it and restamps it, and all other
+ * writes are atomic adds, so the order path never takes a lock. Orders and cancellations count
+ * once their transaction commits, in the minute of the commit; rejections count at once.
+ * The counters live in memory only and start empty after a restart.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderRateTracker {
+
+    static final int MINUTES = 48 * 60;
+
+    private static final RejectionReason[] REJECTIONS = RejectionReason.values();
+    private static final int ORDERS = 0;
+    private static final int CANCELLATIONS = 1;
+    private static final int CENTS = 2;
+    private static final int FIELDS = 3 + REJECTIONS.length;
+    private static final long CLEARING = Long.MIN_VALUE;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(MINUTES);
+    private final AtomicLongArray counters = new AtomicLongArray(MINUTES * FIELDS);
+
+    @PostConstruct
+    public void init() {
+        // Gauges report the last complete minute
+        Gauge.builder("orders.rate", this, tracker -> tracker.value(currentMinute() - 1, ORDERS))
+                .description("Orders placed in the last complete minute")
+                .tag("event", "placed")
+                .register(meterRegistry);
+        Gauge.builder("orders.rate", this, tracker -> tracker.value(currentMinute() - 1, CANCELLATIONS))
+                .description("Orders cancelled in the last complete minute")
+                .tag("event", "cancelled")
+                .register(meterRegistry);
+        Gauge.builder("orders.rate.revenue", this, tracker -> tracker.value(currentMinute() - 1, CENTS) / 100.0)
+                .description("Value of the orders placed in the last complete minute")
+                .register(meterRegistry);
+        for (RejectionReason reason : REJECTIONS) {
+            int field = rejectionField(reason);
+            Gauge.builder("orders.rate.rejected", this, tracker -> tracker.value(currentMinute() - 1, field))
+                    .description("Orders rejected in the last complete minute")
+                    .tag("reason", reason.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordPlaced(MealOrder order) {
+        long cents = MoneyUtil.toCents(order.getTotalPrice());
+        TransactionUtil.afterCommit(() -> {
+            long minute = currentMinute();
+            add(minute, ORDERS, 1);
+            add(minute, CENTS, cents);
+        });
+    }
+
+    public void recordCancelled(MealOrder order) {
+        TransactionUtil.afterCommit(() -> add(currentMinute(), CANCELLATIONS, 1));
+    }
+
+    public void recordRejected(RejectionReason reason) {
+        add(currentMinute(), rejectionField(reason), 1);
+    }
+
+    /** Counts for each of the last {@code minutes} minutes, oldest first, ending with the current minute */
+    public DashboardDTO.OrderRate orderRate(int minutes) {
+        if (minutes < 1 || minutes > MINUTES) {
+            throw new InvalidOperationException("minutes must be between 1 and " + MINUTES);
+        }
+        long last = currentMinute();
+        return series(last - minutes + 1, last);
+    }
+
+    DashboardDTO.OrderRate series(long firstMinute, long lastMinute) {
+        List<DashboardDTO.MinuteRate> points = new ArrayList<>((int) (lastMinute - firstMinute + 1));
+        long[] values = new long[FIELDS];
+        for (long minute = firstMinute; minute <= lastMinute; minute++) {
+            read(minute, values);
+            Map<RejectionReason, Long> rejections = new EnumMap<>(RejectionReason.class);
+            for (RejectionReason reason : REJECTIONS) {
+                long count = values[rejectionField(reason)];
+                if (count != 0) {
+                    rejections.put(reason, count);
+                }
+            }
+            points.add(DashboardDTO.MinuteRate.builder()
+                    .minute(toDateTime(minute))
+                    .orders(values[ORDERS])
+                    .cancellations(values[CANCELLATIONS])
+                    .revenue(BigDecimal.valueOf(values[CENTS], 2))
+                    .rejections(rejections)
+                    .build());
+        }
+        return DashboardDTO.OrderRate.builder()
+                .from(toDateTime(firstMinute))
+                .to(toDateTime(lastMinute))
+                .minutes(points)
+                .build();
+    }
+
+    void add(long minute, int field, long delta) {
+        int slot = (int) Math.floorMod(minute, (long) MINUTES);
+        while (true) {
+            long stamp = stamps.get(slot);
+            if (stamp == minute) {
+                // The slot cannot be reclaimed before the minute comes round again in 48 hours
+                counters.addAndGet(slot * FIELDS + field, delta);
+                return;
+            }
+            if (stamp == CLEARING) {
+                Thread.onSpinWait();
+            } else if (stamp > minute) {
+                return; // the minute has already left the window
+            } else if (stamps.compareAndSet(slot, stamp, CLEARING)) {
+                for (int offset = 0; offset < FIELDS; offset++) {
+                    counters.set(slot * FIELDS + offset, 0);
+                }
+                stamps.set(slot, minute);
+            }
+        }
+    }
+
+    long value(long minute, int field) {
+        long[] values = new long[FIELDS];
+        read(minute, values);
+        return values[field];
+    }
+
+    private void read(long minute, long[] values) {
+        int slot = (int) Math.floorMod(minute, (long) MINUTES);
+        if (stamps.get(slot) == minute) {
+            for (int field = 0; field < FIELDS; field++) {
+                values[field] = counters.get(slot * FIELDS + field);
+            }
+            if (stamps.get(slot) == minute) {
+                return;
+            }
+        }
+        Arrays.fill(values, 0);
+    }
+
+    static int rejectionField(RejectionReason reason) {
+        return 3 + reason.ordinal();
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    private static LocalDateTime toDateTime(long minute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(TimeUnit.MINUTES.toSeconds(minute)), ZoneId.systemDefault());
+    }
+}
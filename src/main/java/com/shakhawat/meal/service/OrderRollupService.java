@@ -0,0 +1,83 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.entity.MealOrder;
+import com.shakhawat.meal.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Keeps order_rollup and employee_order_rollup current.
+ * Each order change is applied as a signed delta through an upsert, in the caller's transaction,
+ * so the rollups commit or roll back together with the order. A status change moves the order's
+ * contribution from the old status row to the new one. The same deltas go to the in-memory
+ * {@link OrderCube} once the transaction commits.
+ * <p>
+ * Deltas are keyed on the department and hour stored on the order when it was placed, so a later
+ * change of the employee's department cannot move part of an order to another rollup row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderRollupService {
+
+    private static final String UPSERT_ORDER_ROLLUP =
+            "INSERT INTO order_rollup (order_date, meal_id, department, order_hour, status, order_count, quantity, revenue) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), " +
+            "quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue)";
+
+    private static final String UPSERT_EMPLOYEE_ROLLUP =
+            "INSERT INTO employee_order_rollup (order_date, employee_id, department, status, order_count, revenue) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), " +
+            "revenue = revenue + VALUES(revenue)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderCube orderCube;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(MealOrder order) {
+        apply(order, order.getStatus(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(MealOrder order, OrderStatus previousStatus) {
+        if (previousStatus == order.getStatus()) {
+            return;
+        }
+        apply(order, previousStatus, -1);
+        apply(order, order.getStatus(), 1);
+    }
+
+    private void apply(MealOrder order, OrderStatus status, int sign) {
+        Date orderDate = Date.valueOf(order.getOrderDate());
+        String department = order.getDepartment();
+        BigDecimal revenue = order.getTotalPrice().multiply(BigDecimal.valueOf(sign));
+
+        jdbcTemplate.update(UPSERT_ORDER_ROLLUP,
+                orderDate,
+                order.getMeal().getId(),
+                department,
+                order.getOrderHour(),
+                status.name(),
+                sign,
+                (long) sign * order.getQuantity(),
+                revenue);
+        jdbcTemplate.update(UPSERT_EMPLOYEE_ROLLUP,
+                orderDate,
+                order.getEmployee().getId(),
+                department,
+                status.name(),
+                sign,
+                revenue);
+        orderCube.recordDelta(order, status, sign);
+        log.debug("Applied order {} ({}) x{} to rollups", order.getId(), status, sign);
+    }
+}
@@ -0,0 +1,277 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.AnalyticsDTO;
+import com.shakhawat.meal.dto.AnalyticsDTO.Accuracy;
+import com.shakhawat.meal.dto.OrderExportRow;
+import com.shakhawat.meal.dto.rows.DepartmentRevenueRow;
+import com.shakhawat.meal.entity.DailyOrderSketch;
+import com.shakhawat.meal.entity.Meal;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import com.shakhawat.meal.repository.DailyOrderSketchRepository;
+import com.shakhawat.meal.repository.EmployeeOrderRollupRepository;
+import com.shakhawat.meal.repository.MealOrderRepository;
+import com.shakhawat.meal.repository.MealRepository;
+import com.shakhawat.meal.util.OrderSketch;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Approximate order analytics over any date range.
+ * <p>
+ * Each closed day (before today) is summarised once into an {@link OrderSketch} stored in
+ * daily_order_sketches: nightly for the last {@code analytics.sketch.backfill-days} days, and on
+ * first use for older days. A range query merges the stored days and sketches the open days from
+ * the database, so its cost grows with the number of days rather than orders. All order statuses
+ * count, as in the rollups.
+ * <p>
+ * The same questions can be asked with {@link Accuracy#EXACT}, which runs the corresponding
+ * COUNT(DISTINCT) queries instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSketchService {
+
+    private final DailyOrderSketchRepository sketchRepository;
+    private final MealOrderRepository orderRepository;
+    private final EmployeeOrderRollupRepository employeeRollupRepository;
+    private final MealRepository mealRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${analytics.sketch.backfill-days:400}")
+    private int backfillDays;
+
+    @Value("${analytics.sketch.max-range-days:3660}")
+    private int maxRangeDays;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${analytics.sketch.cron:0 45 3 * * ?}") // 3:45 AM daily
+    public void sketchClosedDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        try {
+            int built = ensureSketches(yesterday.minusDays(backfillDays - 1L), yesterday);
+            if (built > 0) {
+                log.info("Built {} daily order sketches through {}", built, yesterday);
+            }
+        } catch (RuntimeException e) {
+            log.error("Building daily order sketches failed", e);
+        }
+    }
+
+    /** Approximate summary of the orders dated start to end */
+    public OrderSketch sketch(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        LocalDate today = LocalDate.now();
+        OrderSketch merged = OrderSketch.empty();
+
+        LocalDate closedEnd = endDate.isBefore(today) ? endDate : today.minusDays(1);
+        if (!startDate.isAfter(closedEnd)) {
+            ensureSketches(startDate, closedEnd);
+            for (DailyOrderSketch day : sketchRepository.findBySketchDateBetween(startDate, closedEnd)) {
+                merged.merge(OrderSketch.fromBytes(day.getContent()));
+            }
+        }
+        LocalDate openStart = startDate.isAfter(today) ? startDate : today;
+        if (!openStart.isAfter(endDate)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(openStart, endDate)) {
+                    rows.forEach(merged::add);
+                }
+            });
+        }
+        return merged;
+    }
+
+    public AnalyticsDTO.EatersResponse eaters(LocalDate startDate, LocalDate endDate, Accuracy accuracy) {
+        validateRange(startDate, endDate);
+        AnalyticsDTO.EatersResponse.EatersResponseBuilder response = AnalyticsDTO.EatersResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .accuracy(accuracy);
+
+        if (accuracy == Accuracy.APPROX) {
+            OrderSketch sketch = sketch(startDate, endDate);
+            Map<String, Long> byDepartment = new TreeMap<>();
+            sketch.getEatersByDepartment().forEach((department, eaters) -> byDepartment.put(department, eaters.estimate()));
+            Map<Long, String> mealNames = mealNames(sketch.getEatersByMeal().keySet());
+            List<AnalyticsDTO.MealCount> byMeal = sketch.getEatersByMeal().entrySet().stream()
+                    .map(entry -> mealCount(entry.getKey(), mealNames, entry.getValue().estimate()))
+                    .sorted(Comparator.comparingLong(AnalyticsDTO.MealCount::getCount).reversed())
+                    .toList();
+            return response
+                    .distinctEmployees(sketch.distinctEmployees())
+                    .byDepartment(byDepartment)
+                    .byMeal(byMeal)
+                    .build();
+        }
+
+        Long distinct = employeeRollupRepository.countDistinctEmployeesBetween(startDate, endDate);
+        Map<String, Long> byDepartment = new TreeMap<>();
+        for (DepartmentRevenueRow row : employeeRollupRepository.findRevenueByDepartment(startDate, endDate)) {
+            byDepartment.put(row.department(), row.employeeCount());
+        }
+        List<AnalyticsDTO.MealCount> byMeal = orderRepository.findDistinctEmployeesByMeal(startDate, endDate).stream()
+                .map(row -> AnalyticsDTO.MealCount.builder()
+                        .mealId(row.mealId())
+                        .mealName(row.mealName())
+                        .count(row.count())
+                        .build())
+                .toList();
+        return response
+                .distinctEmployees(distinct != null ? distinct : 0)
+                .byDepartment(byDepartment)
+                .byMeal(byMeal)
+                .build();
+    }
+
+    public AnalyticsDTO.PopularityResponse popularity(LocalDate startDate, LocalDate endDate, int limit,
+                                                      Accuracy accuracy) {
+        validateRange(startDate, endDate);
+        if (limit < 1 || limit > 100) {
+            throw new InvalidOperationException("limit must be between 1 and 100");
+        }
+        AnalyticsDTO.PopularityResponse.PopularityResponseBuilder response = AnalyticsDTO.PopularityResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .accuracy(accuracy);
+
+        if (accuracy == Accuracy.APPROX) {
+            OrderSketch sketch = sketch(startDate, endDate);
+            List<Map.Entry<Long, Long>> top = sketch.getMealOrders().entrySet().stream()
+                    .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                    .limit(limit)
+                    .toList();
+            Map<Long, String> mealNames = mealNames(top.stream().map(Map.Entry::getKey).toList());
+            return response
+                    .orders(sketch.getOrders())
+                    .topMeals(top.stream().map(entry -> mealCount(entry.getKey(), mealNames, entry.getValue())).toList())
+                    .orderValueP50(amount(sketch.orderValueQuantile(0.5)))
+                    .orderValueP90(amount(sketch.orderValueQuantile(0.9)))
+                    .orderValueP99(amount(sketch.orderValueQuantile(0.99)))
+                    .build();
+        }
+
+        List<AnalyticsDTO.MealCount> topMeals = orderRepository
+                .findTopMealsByDateRange(startDate, endDate, PageRequest.of(0, limit)).stream()
+                .map(row -> AnalyticsDTO.MealCount.builder()
+                        .mealId(row.mealId())
+                        .mealName(row.mealName())
+                        .count(row.orderCount())
+                        .build())
+                .toList();
+        return response
+                .orders(orderRepository.countByOrderDateBetween(startDate, endDate))
+                .topMeals(topMeals)
+                .build();
+    }
+
+    /** Stores sketches for the days in the range that have none; returns how many were built */
+    int ensureSketches(LocalDate startDate, LocalDate endDate) {
+        Set<LocalDate> existing = new HashSet<>(sketchRepository.findSketchDatesBetween(startDate, endDate));
+        List<LocalDate> missing = startDate.datesUntil(endDate.plusDays(1))
+                .filter(day -> !existing.contains(day))
+                .toList();
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        // Serialized as each day completes, so only one day's sketch is ever expanded in memory
+        Map<LocalDate, DailyOrderSketch> built = new TreeMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(missing.get(0), missing.get(missing.size() - 1))) {
+                Iterator<OrderExportRow> iterator = rows.iterator();
+                LocalDate day = null;
+                OrderSketch sketch = null;
+                while (iterator.hasNext()) {
+                    OrderExportRow row = iterator.next();
+                    if (existing.contains(row.orderDate())) {
+                        continue;
+                    }
+                    if (!row.orderDate().equals(day)) {
+                        if (sketch != null) {
+                            built.put(day, toEntity(day, sketch));
+                        }
+                        day = row.orderDate();
+                        sketch = OrderSketch.empty();
+                    }
+                    sketch.add(row);
+                }
+                if (sketch != null) {
+                    built.put(day, toEntity(day, sketch));
+                }
+            }
+        });
+        for (LocalDate day : missing) {
+            built.computeIfAbsent(day, d -> toEntity(d, OrderSketch.empty()));
+        }
+
+        for (DailyOrderSketch sketch : built.values()) {
+            try {
+                sketchRepository.save(sketch);
+            } catch (DataIntegrityViolationException e) {
+                // Another request stored the day first
+                log.debug("Order sketch for {} already stored", sketch.getSketchDate());
+            }
+        }
+        return built.size();
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidOperationException("endDate must not be before startDate");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxRangeDays) {
+            throw new InvalidOperationException("Date range must not exceed " + maxRangeDays + " days");
+        }
+    }
+
+    private Map<Long, String> mealNames(Collection<Long> mealIds) {
+        return mealRepository.findAllById(mealIds).stream()
+                .collect(Collectors.toMap(Meal::getId, Meal::getName));
+    }
+
+    private AnalyticsDTO.MealCount mealCount(Long mealId, Map<Long, String> mealNames, long count) {
+        return AnalyticsDTO.MealCount.builder()
+                .mealId(mealId)
+                .mealName(mealNames.get(mealId))
+                .count(count)
+                .build();
+    }
+
+    private static BigDecimal amount(double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static DailyOrderSketch toEntity(LocalDate day, OrderSketch sketch) {
+        return DailyOrderSketch.builder()
+                .sketchDate(day)
+                .orderCount(sketch.getOrders())
+                .content(sketch.toBytes())
+                .builtAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent queries of one report or dashboard concurrently on a small dedicated pool.
+ * Each query gets its own read-only transaction, and so its own Hibernate session, on the worker
+ * thread, so a query must return plain values or DTOs rather than lazy entities. The caller's
+ * security context travels with the task. All queries of a {@link Batch} share one deadline; past
+ * it the rest are cancelled and the request fails with 503.
+ * Inside an existing transaction the queries run inline, so they see that transaction's data.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParallelQueryExecutor {
+
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reports.parallel.threads:8}")
+    private int threads;
+
+    @Value("${reports.parallel.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${reports.parallel.timeout-ms:10000}")
+    private long timeoutMillis;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate readOnlyTransaction;
+    private Counter callerRunsCounter;
+    private Counter timeoutCounter;
+
+    @PostConstruct
+    public void init() {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("report-query-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Also bounds the statement on the database, which an interrupt alone does not stop
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis)));
+
+        Gauge.builder("reports.query.queue", executor, e -> e.getQueue().size())
+                .description("Report queries waiting for a worker thread")
+                .register(meterRegistry);
+        Gauge.builder("reports.query.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Report queries currently running")
+                .register(meterRegistry);
+        this.callerRunsCounter = Counter.builder("reports.query.caller.runs")
+                .description("Report queries run on the request thread because the queue was full")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("reports.query.timeouts")
+                .description("Report batches abandoned at their deadline")
+                .register(meterRegistry);
+
+        log.info("Report query executor started with {} threads and queue capacity {}", threads, queueCapacity);
+    }
+
+    /** Starts a batch whose deadline begins now */
+    public Batch batch() {
+        return new Batch(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Batch {
+
+        private final long deadlineNanos;
+        private final List<Future<?>> submitted = new ArrayList<>();
+
+        private Batch(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public <T> Future<T> submit(Supplier<T> query) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                return CompletableFuture.completedFuture(query.get());
+            }
+            Callable<T> task = new DelegatingSecurityContextCallable<>(
+                    () -> readOnlyTransaction.execute(status -> query.get()));
+            try {
+                Future<T> future = executor.submit(task);
+                submitted.add(future);
+                return future;
+            } catch (RejectedExecutionException ex) {
+                // Pool saturated: degrade to sequential on the request thread instead of failing
+                callerRunsCounter.increment();
+                return CompletableFuture.completedFuture(readOnlyTransaction.execute(status -> query.get()));
+            }
+        }
+
+        /**
+         * A query that is submitted only when started or when its result is first needed, so a
+         * report can declare every query up front and run just the ones its sections read
+         */
+        public <T> Query<T> lazy(Supplier<T> query) {
+            return new Query<>(query);
+        }
+
+        /** Waits for a result, at most until the batch deadline */
+        public <T> T get(Future<T> future) {
+            try {
+                return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                cancelAll();
+                timeoutCounter.increment();
+                throw new ServiceUnavailableException("Report is taking longer than expected. Please retry shortly.");
+            } catch (InterruptedException ex) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Report generation was interrupted. Please retry.");
+            } catch (ExecutionException ex) {
+                cancelAll();
+                if (ex.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Report query failed", ex.getCause());
+            }
+        }
+
+        private void cancelAll() {
+            submitted.forEach(future -> future.cancel(true));
+        }
+
+        public final class Query<T> implements Supplier<T> {
+
+            private final Supplier<T> query;
+            private Future<T> future;
+
+            private Query(Supplier<T> query) {
+                this.query = query;
+            }
+
+            /** Submits the query unless it already was; lets several queries run at once */
+            public Query<T> start() {
+                future();
+                return this;
+            }
+
+            /** Starts the query if needed and waits for its result, at most until the batch deadline */
+            @Override
+            public T get() {
+                return Batch.this.get(future());
+            }
+
+            private synchronized Future<T> future() {
+                if (future == null) {
+                    future = submit(query);
+                }
+                return future;
+            }
+        }
+    }
+}
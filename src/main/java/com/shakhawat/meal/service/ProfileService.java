@@ -4,11 +4,12 @@ import com.shakhawat.meal.dto.ProfileDTO;
 import com.shakhawat.meal.entity.Employee;
 import com.shakhawat.meal.exception.ResourceNotFoundException;
 import com.shakhawat.meal.repository.EmployeeRepository;
+import com.shakhawat.meal.security.AuthenticatedEmployee;
+import com.shakhawat.meal.security.CurrentEmployeeResolver;
+import com.shakhawat.meal.util.AuditSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +22,7 @@ public class ProfileService {
 
     private final EmployeeRepository employeeRepository;
     private final AuditService auditService;
+    private final CurrentEmployeeResolver currentEmployeeResolver;
 
     @Transactional(readOnly = true)
     public ProfileDTO.Response getCurrentProfile() {
@@ -31,28 +33,27 @@ public class ProfileService {
     @Transactional
     public ProfileDTO.Response updateCurrentProfile(ProfileDTO.UpdateRequest request) {
         Employee employee = getCurrentEmployee();
-        String oldValue = employee.toString();
+        AuditSnapshot before = AuditSnapshot.of(employee);
 
         employee.setName(request.getName().trim());
         employee.setDepartment(request.getDepartment().trim());
         Employee updatedEmployee = employeeRepository.save(employee);
 
-        auditService.logUpdate("EmployeeProfile", updatedEmployee.getId(), oldValue, updatedEmployee.toString());
+        auditService.logUpdate("EmployeeProfile", updatedEmployee.getId(), before, AuditSnapshot.of(updatedEmployee));
         log.info("Profile updated for employeeId={}", updatedEmployee.getId());
 
         return toResponse(updatedEmployee);
     }
 
     private Employee getCurrentEmployee() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()
-                || "anonymousUser".equals(authentication.getPrincipal())) {
-            throw new AuthenticationCredentialsNotFoundException("Authentication credentials are required");
-        }
+        AuthenticatedEmployee principal = currentEmployeeResolver.resolve()
+                .orElseThrow(() -> new AuthenticationCredentialsNotFoundException("Authentication credentials are required"));
 
-        String email = authentication.getName();
-        return employeeRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee", email));
+        if (principal.getId() == null) {
+            throw new ResourceNotFoundException("Employee", principal.getEmail());
+        }
+        return employeeRepository.findById(principal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", principal.getId()));
     }
 
     private ProfileDTO.Response toResponse(Employee employee) {
@@ -4,15 +4,26 @@ import com.shakhawat.meal.entity.Employee;
 import com.shakhawat.meal.entity.RefreshToken;
 import com.shakhawat.meal.exception.InvalidOperationException;
 import com.shakhawat.meal.exception.ResourceNotFoundException;
-import com.shakhawat.meal.repository.EmployeeRepository;
 import com.shakhawat.meal.repository.RefreshTokenRepository;
 import com.shakhawat.meal.security.JwtTokenProvider;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -20,31 +31,55 @@ import java.time.Instant;
 public class RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
-    private final EmployeeRepository employeeRepository;
     private final JwtTokenProvider tokenProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jwt.refresh-cleanup.batch-size:500}")
+    private int cleanupBatchSize;
+
+    private TransactionTemplate newTransaction;
+
+    @PostConstruct
+    public void init() {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     /**
-     * Create refresh token for employee
+     * Create refresh token for an already loaded employee's device session.
+     * An existing session for the same device is overwritten in place.
      */
     @Transactional
-    public RefreshToken createRefreshToken(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee", employeeId));
+    public RefreshToken createRefreshToken(Employee employee, String deviceId) {
+        RefreshToken refreshToken = refreshTokenRepository
+                .findByEmployeeIdAndDeviceId(employee.getId(), deviceId)
+                .orElseGet(() -> RefreshToken.builder()
+                        .employee(employee)
+                        .deviceId(deviceId)
+                        .build());
+
+        String rawToken = reissue(refreshToken);
+        refreshToken = refreshTokenRepository.save(refreshToken);
+        refreshToken.setToken(rawToken);
 
-        // Revoke existing tokens for this employee
-        refreshTokenRepository.revokeAllByEmployeeId(employeeId);
+        log.info("Created refresh token for employee: {}", employee.getId());
 
-        // Create new refresh token
-        RefreshToken refreshToken = RefreshToken.builder()
-                .employee(employee)
-                .token(tokenProvider.generateRefreshToken())
-                .expiryDate(Instant.now().plusMillis(tokenProvider.getRefreshTokenExpiration()))
-                .revoked(false)
-                .build();
+        return refreshToken;
+    }
 
-        refreshToken = refreshTokenRepository.save(refreshToken);
+    /**
+     * Exchange a valid refresh token for a new one.
+     * Only the presented token's row is touched; other device sessions are unaffected.
+     */
+    @Transactional
+    public RefreshToken rotateRefreshToken(String token) {
+        RefreshToken refreshToken = verifyExpiration(findByToken(token));
+
+        String rawToken = reissue(refreshToken);
+        refreshToken.setToken(rawToken);
 
-        log.info("Created refresh token for employee: {}", employeeId);
+        log.info("Rotated refresh token for employee: {}", refreshToken.getEmployee().getId());
 
         return refreshToken;
     }
@@ -54,17 +89,19 @@ public class RefreshTokenService {
      */
     @Transactional(readOnly = true)
     public RefreshToken findByToken(String token) {
-        return refreshTokenRepository.findByToken(token)
-                .orElseThrow(() -> new ResourceNotFoundException("RefreshToken", token));
+        return refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new ResourceNotFoundException("RefreshToken", "presented token"));
     }
 
     /**
-     * Verify refresh token validity
+     * Verify refresh token validity.
+     * An expired token is deleted in its own transaction, so the delete survives the rollback
+     * caused by the exception thrown to the caller.
      */
     @Transactional
     public RefreshToken verifyExpiration(RefreshToken token) {
         if (token.isExpired()) {
-            refreshTokenRepository.delete(token);
+            newTransaction.executeWithoutResult(status -> refreshTokenRepository.deleteById(token.getId()));
             throw new InvalidOperationException(
                     "Refresh token expired. Please login again.");
         }
@@ -82,8 +119,7 @@ public class RefreshTokenService {
      */
     @Transactional
     public void revokeToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
-                .orElseThrow(() -> new ResourceNotFoundException("RefreshToken", token));
+        RefreshToken refreshToken = findByToken(token);
 
         refreshToken.setRevoked(true);
         refreshTokenRepository.save(refreshToken);
@@ -101,13 +137,53 @@ public class RefreshTokenService {
     }
 
     /**
-     * Clean up expired tokens (scheduled task)
+     * Clean up expired and revoked tokens (scheduled task).
+     * Deletes in small batches, each in its own transaction, so the table is never locked for long.
      */
     @Scheduled(cron = "0 0 2 * * ?") // Run at 2 AM daily
-    @Transactional
     public void cleanUpExpiredTokens() {
         log.info("Starting cleanup of expired refresh tokens");
-        refreshTokenRepository.deleteExpiredTokens(Instant.now());
-        log.info("Completed cleanup of expired refresh tokens");
+        Instant now = Instant.now();
+        int expired = deleteInBatches(page -> refreshTokenRepository.findExpiredIds(now, page));
+        int revoked = deleteInBatches(refreshTokenRepository::findRevokedIds);
+        log.info("Completed cleanup of refresh tokens - expired: {}, revoked: {}", expired, revoked);
+    }
+
+    private int deleteInBatches(Function<Pageable, List<Long>> idFinder) {
+        Pageable batch = PageRequest.of(0, cleanupBatchSize);
+        int total = 0;
+        while (true) {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> found = idFinder.apply(batch);
+                if (!found.isEmpty()) {
+                    refreshTokenRepository.deleteAllByIdInBatch(found);
+                }
+                return found;
+            });
+            if (ids == null || ids.isEmpty()) {
+                return total;
+            }
+            total += ids.size();
+            if (ids.size() < cleanupBatchSize) {
+                return total;
+            }
+        }
+    }
+
+    /** Assign a fresh token value and expiry, returning the raw token */
+    private String reissue(RefreshToken refreshToken) {
+        String rawToken = tokenProvider.generateRefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setExpiryDate(Instant.now().plusMillis(tokenProvider.getRefreshTokenExpiration()));
+        refreshToken.setRevoked(false);
+        return rawToken;
+    }
+
+    static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
     }
 }
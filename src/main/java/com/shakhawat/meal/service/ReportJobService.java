@@ -0,0 +1,283 @@
+package com.shakhawat.meal.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhawat.meal.dto.ReportJobDTO;
+import com.shakhawat.meal.entity.ReportJob;
+import com.shakhawat.meal.entity.ReportJobResult;
+import com.shakhawat.meal.entity.ReportJobStatus;
+import com.shakhawat.meal.entity.ReportType;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import com.shakhawat.meal.exception.ResourceNotFoundException;
+import com.shakhawat.meal.exception.ServiceUnavailableException;
+import com.shakhawat.meal.repository.ReportJobRepository;
+import com.shakhawat.meal.repository.ReportJobResultRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generates reports in the background on a small bounded pool and stores the result gzipped.
+ * A request for a (type, parameters) pair that already has a queued or running job on this
+ * instance attaches to that job instead of starting another. Period reports go through
+ * {@link ReportSnapshotService}, so a closed period is computed at most once overall.
+ * Jobs and their results are deleted after {@code reports.jobs.retention-hours}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobService {
+
+    private final ReportJobRepository jobRepository;
+    private final ReportJobResultRepository resultRepository;
+    private final ReportSnapshotService snapshotService;
+    private final ReportService reportService;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reports.jobs.threads:2}")
+    private int threads;
+
+    @Value("${reports.jobs.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${reports.jobs.retention-hours:24}")
+    private int retentionHours;
+
+    /** (type:parameters) of queued and running jobs to their job id */
+    private final ConcurrentMap<String, String> inFlight = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("report-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("reports.jobs.queue", executor, e -> e.getQueue().size())
+                .description("Report jobs waiting for a worker thread")
+                .register(meterRegistry);
+        Gauge.builder("reports.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Report jobs currently running")
+                .register(meterRegistry);
+    }
+
+    public ReportJobDTO.Response submit(ReportJobDTO.Request request, String requestedBy) {
+        ReportType type = request.getType();
+        String parameters = canonicalParameters(request);
+        String key = type + ":" + parameters;
+
+        String existing = inFlight.get(key);
+        if (existing != null) {
+            log.debug("Attached {} request by {} to in-flight job {}", key, requestedBy, existing);
+            return getJob(existing);
+        }
+
+        // Saved outside the map, so no database call runs under its bin lock
+        ReportJob job = jobRepository.save(ReportJob.builder()
+                .reportType(type)
+                .parameters(parameters)
+                .status(ReportJobStatus.QUEUED)
+                .requestedBy(requestedBy)
+                .createdAt(LocalDateTime.now())
+                .build());
+        String jobId = job.getId();
+        String winner = inFlight.putIfAbsent(key, jobId);
+        if (winner != null) {
+            // An identical request registered its job in between; drop ours and attach to it
+            jobRepository.deleteById(jobId);
+            log.debug("Attached {} request by {} to in-flight job {}", key, requestedBy, winner);
+            return getJob(winner);
+        }
+        try {
+            executor.execute(() -> run(job.getId(), type, parameters, key));
+        } catch (RejectedExecutionException ex) {
+            finish(jobId, null, "Rejected: too many report jobs queued");
+            inFlight.remove(key, jobId);
+            throw new ServiceUnavailableException("Too many report jobs in progress. Please retry shortly.");
+        }
+        log.info("Queued {} report job {} for {} requested by {}", type, jobId, parameters, requestedBy);
+        return toResponse(job);
+    }
+
+    public ReportJobDTO.Response getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    /** The report of a completed job as JSON */
+    public JsonNode getResult(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new InvalidOperationException("Report job " + jobId + " is " + job.getStatus());
+        }
+        ReportJobResult result = resultRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("ReportJobResult", jobId));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getContent()))) {
+            return objectMapper.readTree(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read report job result " + jobId, ex);
+        }
+    }
+
+    @Scheduled(cron = "${reports.jobs.cleanup-cron:0 15 * * * ?}") // hourly
+    public void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> {
+            jobRepository.deleteResultsCreatedBefore(cutoff);
+            return jobRepository.deleteCreatedBefore(cutoff);
+        });
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} report jobs created before {}", deleted, cutoff);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void run(String jobId, ReportType type, String parameters, String key) {
+        byte[] content = null;
+        String errorMessage = null;
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(ReportJobStatus.RUNNING);
+                job.setStartedAt(LocalDateTime.now());
+            }));
+            content = gzip(generate(type, parameters));
+        } catch (Exception ex) {
+            log.error("Report job {} failed", jobId, ex);
+            errorMessage = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+        }
+        try {
+            finish(jobId, content, errorMessage);
+        } finally {
+            // Only once the outcome is stored; requests from here on start a fresh job rather than
+            // attach to a finished one
+            inFlight.remove(key, jobId);
+        }
+        if (content != null) {
+            log.info("Completed {} report job {} ({} bytes compressed)", type, jobId, content.length);
+        }
+    }
+
+    private Object generate(ReportType type, String parameters) {
+        return switch (type) {
+            case DAILY -> snapshotService.daily(LocalDate.parse(parameters)).report();
+            case MONTHLY -> {
+                YearMonth month = YearMonth.parse(parameters);
+                yield snapshotService.monthly(month.getYear(), month.getMonthValue()).report();
+            }
+            case EMPLOYEE_PERFORMANCE -> {
+                YearMonth month = YearMonth.parse(parameters);
+                yield snapshotService.employeePerformance(month.getYear(), month.getMonthValue()).report();
+            }
+            case MEAL_PERFORMANCE -> {
+                YearMonth month = YearMonth.parse(parameters);
+                yield snapshotService.mealPerformance(month.getYear(), month.getMonthValue()).report();
+            }
+            case AUDIT -> {
+                String[] range = parameters.split("/");
+                yield reportService.generateAuditReport(LocalDate.parse(range[0]), LocalDate.parse(range[1]));
+            }
+        };
+    }
+
+    private void finish(String jobId, byte[] content, String errorMessage) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+                if (content != null) {
+                    resultRepository.save(new ReportJobResult(jobId, content));
+                    job.setStatus(ReportJobStatus.COMPLETED);
+                    job.setResultSize(content.length);
+                } else {
+                    job.setStatus(ReportJobStatus.FAILED);
+                    job.setErrorMessage(errorMessage != null && errorMessage.length() > 500
+                            ? errorMessage.substring(0, 500) : errorMessage);
+                }
+                job.setCompletedAt(LocalDateTime.now());
+            }));
+        } catch (Exception ex) {
+            log.error("Failed to record the outcome of report job {}", jobId, ex);
+        }
+    }
+
+    private String canonicalParameters(ReportJobDTO.Request request) {
+        return switch (request.getType()) {
+            case DAILY -> {
+                if (request.getDate() == null) {
+                    throw new InvalidOperationException("A DAILY report job requires date");
+                }
+                yield request.getDate().toString();
+            }
+            case MONTHLY, EMPLOYEE_PERFORMANCE, MEAL_PERFORMANCE -> {
+                if (request.getYear() == null || request.getMonth() == null) {
+                    throw new InvalidOperationException("A " + request.getType() + " report job requires year and month");
+                }
+                yield YearMonth.of(request.getYear(), request.getMonth()).toString();
+            }
+            case AUDIT -> {
+                if (request.getStartDate() == null || request.getEndDate() == null
+                        || request.getEndDate().isBefore(request.getStartDate())) {
+                    throw new InvalidOperationException("An AUDIT report job requires startDate on or before endDate");
+                }
+                yield request.getStartDate() + "/" + request.getEndDate();
+            }
+        };
+    }
+
+    private byte[] gzip(Object report) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(out, report);
+        }
+        return buffer.toByteArray();
+    }
+
+    private ReportJob findJob(String jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("ReportJob", jobId));
+    }
+
+    private ReportJobDTO.Response toResponse(ReportJob job) {
+        return ReportJobDTO.Response.builder()
+                .jobId(job.getId())
+                .type(job.getReportType())
+                .parameters(job.getParameters())
+                .status(job.getStatus())
+                .requestedBy(job.getRequestedBy())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .resultSize(job.getResultSize())
+                .errorMessage(job.getErrorMessage())
+                .build();
+    }
+}
@@ -2,14 +2,27 @@ package com.shakhawat.meal.service;
 
 import com.shakhawat.meal.dto.reports.*;
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
 
 public interface ReportService {
 
     DailyOperationsReport generateDailyReport(LocalDate date);
     
-    MonthlyFinancialReport generateMonthlyReport(Integer year, Integer month);
+    default MonthlyFinancialReport generateMonthlyReport(Integer year, Integer month) {
+        return generateMonthlyReport(year, month, EnumSet.allOf(MonthlyFinancialReport.Section.class));
+    }
+
+    /** Computes only the given sections; the others are left null */
+    MonthlyFinancialReport generateMonthlyReport(Integer year, Integer month, Set<MonthlyFinancialReport.Section> sections);
     
-    EmployeePerformanceReport generateEmployeePerformanceReport(Integer year, Integer month);
+    default EmployeePerformanceReport generateEmployeePerformanceReport(Integer year, Integer month) {
+        return generateEmployeePerformanceReport(year, month, EnumSet.allOf(EmployeePerformanceReport.Section.class));
+    }
+
+    /** Computes only the given sections; the others are left null */
+    EmployeePerformanceReport generateEmployeePerformanceReport(Integer year, Integer month,
+                                                                Set<EmployeePerformanceReport.Section> sections);
     
     MealPerformanceReport generateMealPerformanceReport(Integer year, Integer month);
     
@@ -0,0 +1,285 @@
+package com.shakhawat.meal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhawat.meal.dto.reports.DailyOperationsReport;
+import com.shakhawat.meal.dto.reports.EmployeePerformanceReport;
+import com.shakhawat.meal.dto.reports.MealPerformanceReport;
+import com.shakhawat.meal.dto.reports.MonthlyFinancialReport;
+import com.shakhawat.meal.entity.ReportSnapshot;
+import com.shakhawat.meal.entity.ReportType;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import com.shakhawat.meal.repository.ReportSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the day and month reports as snapshots.
+ * A period is closed once it ended more than {@code reports.snapshot.grace-days} ago. Its report
+ * is generated on first request, stored in report_snapshots and cached without expiry; only
+ * {@link #regenerate} replaces it. Open periods are generated live and cached briefly.
+ * Every result carries the SHA-256 of its JSON, which the controller sends as a strong ETag.
+ * <p>
+ * Monthly and employee performance reports can be requested by section. A complete report that
+ * is already stored or cached is narrowed to the sections; otherwise an open period computes just
+ * those sections and caches them under their own key.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportSnapshotService {
+
+    static final String SNAPSHOT_CACHE = "report-snapshots";
+    static final String LIVE_CACHE = "reports-live";
+
+    private final ReportService reportService;
+    private final ReportSnapshotRepository snapshotRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${reports.snapshot.grace-days:1}")
+    private int graceDays;
+
+    public record Result<T>(T report, String etag, boolean closed) {
+    }
+
+    public Result<DailyOperationsReport> daily(LocalDate date) {
+        return get(ReportType.DAILY, date.toString(), DailyOperationsReport.class);
+    }
+
+    public Result<MonthlyFinancialReport> monthly(int year, int month) {
+        return get(ReportType.MONTHLY, monthKey(year, month), MonthlyFinancialReport.class);
+    }
+
+    /** Only the given sections; null or empty means all */
+    public Result<MonthlyFinancialReport> monthly(int year, int month, Set<MonthlyFinancialReport.Section> sections) {
+        if (sections == null || sections.isEmpty() || sections.containsAll(EnumSet.allOf(MonthlyFinancialReport.Section.class))) {
+            return monthly(year, month);
+        }
+        Set<MonthlyFinancialReport.Section> requested = EnumSet.copyOf(sections);
+        return sectioned(ReportType.MONTHLY, monthKey(year, month), MonthlyFinancialReport.class, requested,
+                () -> reportService.generateMonthlyReport(year, month, requested),
+                report -> report.retainSections(requested));
+    }
+
+    public Result<EmployeePerformanceReport> employeePerformance(int year, int month) {
+        return get(ReportType.EMPLOYEE_PERFORMANCE, monthKey(year, month), EmployeePerformanceReport.class);
+    }
+
+    /** Only the given sections; null or empty means all */
+    public Result<EmployeePerformanceReport> employeePerformance(int year, int month,
+                                                                 Set<EmployeePerformanceReport.Section> sections) {
+        if (sections == null || sections.isEmpty() || sections.containsAll(EnumSet.allOf(EmployeePerformanceReport.Section.class))) {
+            return employeePerformance(year, month);
+        }
+        Set<EmployeePerformanceReport.Section> requested = EnumSet.copyOf(sections);
+        return sectioned(ReportType.EMPLOYEE_PERFORMANCE, monthKey(year, month), EmployeePerformanceReport.class, requested,
+                () -> reportService.generateEmployeePerformanceReport(year, month, requested),
+                report -> report.retainSections(requested));
+    }
+
+    public Result<MealPerformanceReport> mealPerformance(int year, int month) {
+        return get(ReportType.MEAL_PERFORMANCE, monthKey(year, month), MealPerformanceReport.class);
+    }
+
+    /**
+     * Backfill: regenerates the snapshot of a closed period from the current data, bumps its
+     * version and replaces the cached copy.
+     */
+    public ReportSnapshot regenerate(ReportType type, String periodKey) {
+        if (!isClosed(periodEnd(type, periodKey))) {
+            throw new InvalidOperationException("Period " + periodKey + " is still open");
+        }
+        ReportSnapshot fresh = generate(type, periodKey);
+        ReportSnapshot snapshot = snapshotRepository.findByReportTypeAndPeriodKey(type, periodKey)
+                .orElseGet(() -> ReportSnapshot.builder().reportType(type).periodKey(periodKey).version(0).build());
+        snapshot.setVersion(snapshot.getVersion() + 1);
+        snapshot.setContent(fresh.getContent());
+        snapshot.setEtag(fresh.getEtag());
+        snapshot.setGeneratedAt(fresh.getGeneratedAt());
+        ReportSnapshot saved = snapshotRepository.save(snapshot);
+        put(SNAPSHOT_CACHE, cacheKey(type, periodKey), saved);
+        log.info("Regenerated {} report snapshot for {} (version {})", type, periodKey, saved.getVersion());
+        return saved;
+    }
+
+    private <T> Result<T> get(ReportType type, String periodKey, Class<T> reportClass) {
+        boolean closed = isClosed(periodEnd(type, periodKey));
+        String cacheName = closed ? SNAPSHOT_CACHE : LIVE_CACHE;
+        String key = cacheKey(type, periodKey);
+
+        ReportSnapshot snapshot = get(cacheName, key,
+                () -> closed ? loadOrCreate(type, periodKey) : generate(type, periodKey));
+        return new Result<>(deserialize(snapshot.getContent(), reportClass), snapshot.getEtag(), closed);
+    }
+
+    private <T> Result<T> sectioned(ReportType type, String periodKey, Class<T> reportClass, Set<? extends Enum<?>> sections,
+                                    Supplier<T> generateSections, UnaryOperator<T> retainSections) {
+        String sectionKey = sections.stream().map(Enum::name).collect(Collectors.joining(","));
+        String key = cacheKey(type, periodKey);
+        boolean closed = isClosed(periodEnd(type, periodKey));
+
+        // A closed period is always stored whole; an open one may have its whole report cached
+        ReportSnapshot whole = closed ? get(SNAPSHOT_CACHE, key, () -> loadOrCreate(type, periodKey)) : cached(LIVE_CACHE, key);
+        if (whole != null) {
+            T report = retainSections.apply(deserialize(whole.getContent(), reportClass));
+            return new Result<>(report, sha256(whole.getEtag() + ":" + sectionKey), closed);
+        }
+
+        ReportSnapshot partial = get(LIVE_CACHE, key + ":" + sectionKey,
+                () -> toSnapshot(type, periodKey, generateSections.get()));
+        return new Result<>(deserialize(partial.getContent(), reportClass), partial.getEtag(), false);
+    }
+
+    private ReportSnapshot get(String cacheName, String key, Supplier<ReportSnapshot> loader) {
+        ReportSnapshot snapshot = cached(cacheName, key);
+        if (snapshot == null) {
+            snapshot = loader.get();
+            put(cacheName, key, snapshot);
+        }
+        return snapshot;
+    }
+
+    private ReportSnapshot loadOrCreate(ReportType type, String periodKey) {
+        return snapshotRepository.findByReportTypeAndPeriodKey(type, periodKey).orElseGet(() -> {
+            ReportSnapshot snapshot = generate(type, periodKey);
+            snapshot.setVersion(1);
+            try {
+                return snapshotRepository.save(snapshot);
+            } catch (DataIntegrityViolationException e) {
+                // Another request stored the period first
+                return snapshotRepository.findByReportTypeAndPeriodKey(type, periodKey).orElseThrow(() -> e);
+            }
+        });
+    }
+
+    private ReportSnapshot generate(ReportType type, String periodKey) {
+        Object report = switch (type) {
+            case DAILY -> reportService.generateDailyReport(LocalDate.parse(periodKey));
+            case MONTHLY -> {
+                YearMonth month = YearMonth.parse(periodKey);
+                yield reportService.generateMonthlyReport(month.getYear(), month.getMonthValue());
+            }
+            case EMPLOYEE_PERFORMANCE -> {
+                YearMonth month = YearMonth.parse(periodKey);
+                yield reportService.generateEmployeePerformanceReport(month.getYear(), month.getMonthValue());
+            }
+            case MEAL_PERFORMANCE -> {
+                YearMonth month = YearMonth.parse(periodKey);
+                yield reportService.generateMealPerformanceReport(month.getYear(), month.getMonthValue());
+            }
+            case AUDIT -> throw new InvalidOperationException("Audit reports cover arbitrary ranges and are not snapshotted");
+        };
+        return toSnapshot(type, periodKey, report);
+    }
+
+    private ReportSnapshot toSnapshot(ReportType type, String periodKey, Object report) {
+        String content = serialize(report);
+        return ReportSnapshot.builder()
+                .reportType(type)
+                .periodKey(periodKey)
+                .version(0)
+                .etag(sha256(content))
+                .content(content)
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private boolean isClosed(LocalDate periodEnd) {
+        return periodEnd.isBefore(LocalDate.now().minusDays(graceDays));
+    }
+
+    private LocalDate periodEnd(ReportType type, String periodKey) {
+        if (type == ReportType.AUDIT) {
+            throw new InvalidOperationException("Audit reports cover arbitrary ranges and are not snapshotted");
+        }
+        try {
+            return type == ReportType.DAILY
+                    ? LocalDate.parse(periodKey)
+                    : YearMonth.parse(periodKey).atEndOfMonth();
+        } catch (DateTimeException e) {
+            throw new InvalidOperationException("Invalid report period: " + periodKey);
+        }
+    }
+
+    private String monthKey(int year, int month) {
+        try {
+            return YearMonth.of(year, month).toString();
+        } catch (DateTimeException e) {
+            throw new InvalidOperationException("Invalid report period: " + year + "-" + month);
+        }
+    }
+
+    private String cacheKey(ReportType type, String periodKey) {
+        return type + ":" + periodKey;
+    }
+
+    private ReportSnapshot cached(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(key, ReportSnapshot.class);
+        } catch (RuntimeException e) {
+            log.warn("Cache GET error on cache '{}' key '{}': {}", cacheName, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void put(String cacheName, String key, ReportSnapshot snapshot) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(key, snapshot);
+        } catch (RuntimeException e) {
+            log.warn("Cache PUT error on cache '{}' key '{}': {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private String serialize(Object report) {
+        try {
+            return objectMapper.writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize report", e);
+        }
+    }
+
+    private <T> T deserialize(String content, Class<T> reportClass) {
+        try {
+            return objectMapper.readValue(content, reportClass);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read report snapshot", e);
+        }
+    }
+
+    private static String sha256(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.shakhawat.meal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shakhawat.meal.entity.AuditLog;
+import com.shakhawat.meal.entity.SecurityAlert;
+import com.shakhawat.meal.repository.SecurityAlertRepository;
+import com.shakhawat.meal.util.SlidingWindowCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flags bursts in the audit event stream as they are recorded.
+ * Keeps a sliding-window counter per rule and user or client IP (bounded, idle entries expire)
+ * and persists a {@link SecurityAlert} when a counter reaches its threshold. Only the crossing
+ * raises an alert, so a sustained burst is reported once per window rather than once per event.
+ * Alerts are saved on a background thread in their own transaction, so they survive a rollback
+ * of the request that produced the event without the request holding a second connection.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SuspiciousActivityDetector {
+
+    static final String DELETE = "DELETE";
+    static final String LOGIN_FAILED = "LOGIN_FAILED";
+
+    private static final int BUCKETS_PER_WINDOW = 12;
+
+    enum Rule {
+        DELETE_BURST("Burst of deletions"),
+        FAILED_LOGINS_USER("Repeated failed logins for one account"),
+        FAILED_LOGINS_IP("Repeated failed logins from one address");
+
+        private final String reason;
+
+        Rule(String reason) {
+            this.reason = reason;
+        }
+    }
+
+    private final SecurityAlertRepository securityAlertRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${audit.detection.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.detection.window-seconds:60}")
+    private int windowSeconds;
+
+    @Value("${audit.detection.delete-threshold:20}")
+    private int deleteThreshold;
+
+    @Value("${audit.detection.failed-login-threshold:5}")
+    private int failedLoginThreshold;
+
+    @Value("${audit.detection.failed-login-ip-threshold:20}")
+    private int failedLoginIpThreshold;
+
+    @Value("${audit.detection.max-entries:100000}")
+    private long maxEntries;
+
+    @Value("${audit.detection.alert-queue-capacity:1000}")
+    private int alertQueueCapacity;
+
+    private Cache<String, SlidingWindowCounter> counters;
+    private ThreadPoolExecutor alertWriter;
+
+    @PostConstruct
+    public void init() {
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofSeconds(windowSeconds * 2L))
+                .build();
+        this.alertWriter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(alertQueueCapacity),
+                new CustomizableThreadFactory("security-alert-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Saves the alerts still queued before returning */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        alertWriter.shutdown();
+        if (!alertWriter.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Security alerts still pending at shutdown were not saved");
+        }
+    }
+
+    public void onEvent(AuditLog auditLog) {
+        if (enabled) {
+            onEvent(auditLog, System.nanoTime());
+        }
+    }
+
+    void onEvent(AuditLog auditLog, long nowNanos) {
+        switch (auditLog.getAction()) {
+            case DELETE -> observe(Rule.DELETE_BURST, auditLog.getUserId(), deleteThreshold, auditLog, nowNanos);
+            case LOGIN_FAILED -> {
+                observe(Rule.FAILED_LOGINS_USER, auditLog.getUserId(), failedLoginThreshold, auditLog, nowNanos);
+                observe(Rule.FAILED_LOGINS_IP, auditLog.getIpAddress(), failedLoginIpThreshold, auditLog, nowNanos);
+            }
+            default -> {
+                // not tracked
+            }
+        }
+    }
+
+    private void observe(Rule rule, String subject, int threshold, AuditLog auditLog, long nowNanos) {
+        if (subject == null || threshold <= 0) {
+            return;
+        }
+        SlidingWindowCounter counter = counters.get(rule.name() + ':' + subject,
+                key -> new SlidingWindowCounter(Duration.ofSeconds(windowSeconds), BUCKETS_PER_WINDOW));
+        int count = counter.increment(nowNanos);
+        if (count == threshold) {
+            raise(rule, count, auditLog);
+        }
+    }
+
+    private void raise(Rule rule, int count, AuditLog auditLog) {
+        SecurityAlert alert = SecurityAlert.builder()
+                .rule(rule.name())
+                .userId(auditLog.getUserId())
+                .ipAddress(auditLog.getIpAddress())
+                .action(auditLog.getAction())
+                .entityType(auditLog.getEntityType())
+                .eventCount(count)
+                .windowSeconds(windowSeconds)
+                .reason(rule.reason)
+                .detectedAt(LocalDateTime.now())
+                .build();
+        log.warn("Security alert {}: {} {} events within {}s by user {} from {}",
+                rule, count, auditLog.getAction(), windowSeconds, auditLog.getUserId(), auditLog.getIpAddress());
+        meterRegistry.counter("audit.alerts", "rule", rule.name()).increment();
+        try {
+            alertWriter.execute(() -> save(alert));
+        } catch (RejectedExecutionException e) {
+            log.error("Security alert queue full, alert {} not persisted", rule);
+        }
+    }
+
+    private void save(SecurityAlert alert) {
+        try {
+            securityAlertRepository.save(alert);
+        } catch (Exception e) {
+            log.error("Failed to persist security alert {}", alert.getRule(), e);
+        }
+    }
+}
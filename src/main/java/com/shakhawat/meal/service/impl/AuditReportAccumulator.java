@@ -0,0 +1,97 @@
+package com.shakhawat.meal.service.impl;
+
+import com.shakhawat.meal.dto.reports.AuditReport;
+import com.shakhawat.meal.entity.AuditLog;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the statistics of an {@link AuditReport} in one pass over audit records in any order.
+ * Memory depends on the number of distinct actions, users and entity types, never on the number
+ * of records.
+ */
+class AuditReportAccumulator {
+
+    private int totalActions;
+    private final Map<String, Stats> actions = new HashMap<>();
+    private final Map<String, UserStats> users = new HashMap<>();
+    private final Map<String, Integer> entities = new HashMap<>();
+
+    void accept(AuditLog auditLog) {
+        totalActions++;
+        LocalDateTime timestamp = auditLog.getTimestamp();
+        actions.computeIfAbsent(auditLog.getAction(), k -> new Stats()).add(timestamp);
+        users.computeIfAbsent(auditLog.getUserId(), k -> new UserStats()).add(auditLog.getAction(), timestamp);
+        entities.merge(auditLog.getEntityType(), 1, Integer::sum);
+    }
+
+    AuditReport toReport(LocalDate startDate, LocalDate endDate,
+                         List<AuditReport.SuspiciousActivity> suspiciousActivity) {
+        return AuditReport.builder()
+            .startDate(startDate)
+            .endDate(endDate)
+            .totalActions(totalActions)
+            .actionBreakdown(actionBreakdown())
+            .userActivity(userActivity())
+            .entityActivity(new HashMap<>(entities))
+            .suspiciousActivity(suspiciousActivity)
+            .build();
+    }
+
+    private List<AuditReport.ActionStats> actionBreakdown() {
+        return actions.entrySet().stream()
+            .sorted(Comparator.comparingInt((Map.Entry<String, Stats> entry) -> entry.getValue().count).reversed())
+            .map(entry -> AuditReport.ActionStats.builder()
+                .action(entry.getKey())
+                .actionCount(entry.getValue().count)
+                .percentageOfTotal(totalActions > 0 ? entry.getValue().count * 100.0 / totalActions : 0.0)
+                .firstAction(entry.getValue().first)
+                .lastAction(entry.getValue().last)
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    private List<AuditReport.UserActivityStats> userActivity() {
+        return users.entrySet().stream()
+            .sorted(Comparator.comparingInt((Map.Entry<String, UserStats> entry) -> entry.getValue().count).reversed())
+            .map(entry -> AuditReport.UserActivityStats.builder()
+                .userId(entry.getKey())
+                .actionCount(entry.getValue().count)
+                .actionsPerformed(new ArrayList<>(new TreeSet<>(entry.getValue().actions.keySet())))
+                .lastActivity(entry.getValue().last)
+                .mostFrequentAction(entry.getValue().mostFrequentAction())
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    private static class Stats {
+        int count;
+        LocalDateTime first;
+        LocalDateTime last;
+
+        void add(LocalDateTime timestamp) {
+            count++;
+            if (first == null || timestamp.isBefore(first)) first = timestamp;
+            if (last == null || timestamp.isAfter(last)) last = timestamp;
+        }
+    }
+
+    private static class UserStats extends Stats {
+        final Map<String, Integer> actions = new HashMap<>();
+
+        void add(String action, LocalDateTime timestamp) {
+            add(timestamp);
+            actions.merge(action, 1, Integer::sum);
+        }
+
+        String mostFrequentAction() {
+            return actions.entrySet().stream()
+                .max(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.shakhawat.meal.service.impl;
+
+import com.shakhawat.meal.dto.reports.DailyOperationsReport;
+import com.shakhawat.meal.dto.reports.EmployeePerformanceReport;
+import com.shakhawat.meal.dto.reports.MealPerformanceReport;
+import com.shakhawat.meal.dto.reports.MonthlyFinancialReport;
+import com.shakhawat.meal.dto.rows.*;
+import com.shakhawat.meal.util.TopK;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns report query rows into report sections.
+ * <p>
+ * Each method reads its rows once: it builds the section entries and at the same time sums the
+ * totals and keeps the top entries in a bounded {@link TopK}. Shares of a total are filled in on
+ * the built entries once the total is known.
+ */
+public final class ReportRowConverter {
+
+    static final int TOP_MEALS = 10;
+    static final int LEAST_POPULAR_MEALS = 5;
+    static final int TOP_PERFORMERS = 10;
+
+    private static final String OVER_BUDGET = "OVER_BUDGET";
+    private static final String ON_TRACK = "ON_TRACK";
+    private static final String UNDER_UTILIZED = "UNDER_UTILIZED";
+
+    private ReportRowConverter() {
+    }
+
+    /** The hourly breakdown, the average revenue per hour with orders and the busiest hour */
+    public record HourlySummary(List<DailyOperationsReport.HourlyStats> hours, double avgRevenue, String peakHour) {
+    }
+
+    public record DepartmentSummary(List<MonthlyFinancialReport.DepartmentStats> departments, BigDecimal totalRevenue) {
+    }
+
+    public record BudgetSummary(List<MonthlyFinancialReport.EmployeeBudgetAnalysis> employees,
+                                BigDecimal totalBudget, BigDecimal totalSpent) {
+    }
+
+    public record EmployeeSummary(List<EmployeePerformanceReport.EmployeeStats> employees,
+                                  List<EmployeePerformanceReport.BudgetAnalysis> budgetAnalysis,
+                                  List<EmployeePerformanceReport.EmployeeStats> topPerformers,
+                                  List<EmployeePerformanceReport.EmployeeStats> budgetOverruns) {
+    }
+
+    public record MealSummary(List<MealPerformanceReport.MealStats> meals,
+                              List<MealPerformanceReport.MealStats> topMeals,
+                              List<MealPerformanceReport.MealStats> leastPopularMeals) {
+    }
+
+    public record MealTypeSummary(List<MealPerformanceReport.MealTypeStats> mealTypes,
+                                  List<MealPerformanceReport.MealTypeRevenue> revenueByMealType) {
+    }
+
+    public static HourlySummary hourly(List<HourlyOrderRow> rows) {
+        List<DailyOperationsReport.HourlyStats> hours = new ArrayList<>(rows.size());
+        double revenueSum = 0;
+        HourlyOrderRow peak = null;
+        for (HourlyOrderRow row : rows) {
+            double revenue = row.revenue().doubleValue();
+            revenueSum += revenue;
+            if (peak == null || row.orderCount() > peak.orderCount()) {
+                peak = row;
+            }
+            hours.add(DailyOperationsReport.HourlyStats.builder()
+                .hour(row.hour())
+                .orderCount(row.orderCount().intValue())
+                .revenue(revenue)
+                .build());
+        }
+        return new HourlySummary(hours,
+            rows.isEmpty() ? 0.0 : revenueSum / rows.size(),
+            peak != null ? peak.hour() + ":00" : "12:00");
+    }
+
+    public static List<DailyOperationsReport.MealTypeStats> mealTypeStats(List<MealTypeOrderRow> rows) {
+        List<DailyOperationsReport.MealTypeStats> stats = new ArrayList<>(rows.size());
+        for (MealTypeOrderRow row : rows) {
+            stats.add(DailyOperationsReport.MealTypeStats.builder()
+                .mealType(row.mealType().name())
+                .orderCount(row.orderCount().intValue())
+                .revenue(row.revenue().doubleValue())
+                .build());
+        }
+        return stats;
+    }
+
+    public static DepartmentSummary departmentStats(List<DepartmentRevenueRow> rows) {
+        List<MonthlyFinancialReport.DepartmentStats> departments = new ArrayList<>(rows.size());
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        for (DepartmentRevenueRow row : rows) {
+            totalRevenue = totalRevenue.add(row.revenue());
+            departments.add(MonthlyFinancialReport.DepartmentStats.builder()
+                .department(row.department())
+                .orderCount(row.orderCount().intValue())
+                .revenue(row.revenue())
+                .uniqueEmployees(row.employeeCount().intValue())
+                .build());
+        }
+        for (MonthlyFinancialReport.DepartmentStats department : departments) {
+            department.setPercentageOfTotal(percentage(department.getRevenue(), totalRevenue));
+        }
+        return new DepartmentSummary(departments, totalRevenue);
+    }
+
+    public static List<MonthlyFinancialReport.MealPerformance> mealPerformance(List<MealPerformanceRow> rows) {
+        List<MonthlyFinancialReport.MealPerformance> meals = new ArrayList<>(rows.size());
+        for (MealPerformanceRow row : rows) {
+            meals.add(MonthlyFinancialReport.MealPerformance.builder()
+                .mealName(row.mealName())
+                .mealType(row.mealType().name())
+                .unitPrice(row.unitPrice())
+                .timesOrdered(row.orderCount().intValue())
+                .totalRevenue(row.revenue())
+                .avgOrderValue(row.avgOrderValue().doubleValue())
+                .build());
+        }
+        return meals;
+    }
+
+    public static BudgetSummary employeeBudgets(List<EmployeeOrderStatsRow> rows) {
+        List<MonthlyFinancialReport.EmployeeBudgetAnalysis> employees = new ArrayList<>(rows.size());
+        BigDecimal totalBudget = BigDecimal.ZERO;
+        BigDecimal totalSpent = BigDecimal.ZERO;
+        for (EmployeeOrderStatsRow row : rows) {
+            BigDecimal budget = row.monthlyBudget();
+            BigDecimal spent = row.currentMonthSpent();
+            totalBudget = totalBudget.add(budget);
+            totalSpent = totalSpent.add(spent);
+            double utilization = percentage(spent, budget);
+            employees.add(MonthlyFinancialReport.EmployeeBudgetAnalysis.builder()
+                .employeeName(row.name())
+                .department(row.department())
+                .monthlyBudget(budget)
+                .currentSpent(spent)
+                .remainingBudget(budget.subtract(spent))
+                .utilizationPercentage(utilization)
+                .status(budgetStatus(utilization))
+                .build());
+        }
+        return new BudgetSummary(employees, totalBudget, totalSpent);
+    }
+
+    public static EmployeeSummary employeeStats(List<EmployeeOrderStatsRow> rows) {
+        List<EmployeePerformanceReport.EmployeeStats> employees = new ArrayList<>(rows.size());
+        TopK<EmployeePerformanceReport.EmployeeStats> topPerformers = new TopK<>(TOP_PERFORMERS,
+            Comparator.comparing(EmployeePerformanceReport.EmployeeStats::getTotalOrders).reversed());
+        List<EmployeePerformanceReport.EmployeeStats> overruns = new ArrayList<>();
+        Map<String, EmployeePerformanceReport.BudgetAnalysis> byStatus = new LinkedHashMap<>();
+        for (String status : List.of(OVER_BUDGET, ON_TRACK, UNDER_UTILIZED)) {
+            byStatus.put(status, EmployeePerformanceReport.BudgetAnalysis.builder()
+                .category(status)
+                .employeeCount(0)
+                .totalBudget(BigDecimal.ZERO)
+                .totalSpent(BigDecimal.ZERO)
+                .build());
+        }
+
+        for (EmployeeOrderStatsRow row : rows) {
+            double utilization = percentage(row.currentMonthSpent(), row.monthlyBudget());
+            EmployeePerformanceReport.EmployeeStats employee = EmployeePerformanceReport.EmployeeStats.builder()
+                .employeeName(row.name())
+                .department(row.department())
+                .monthlyBudget(row.monthlyBudget())
+                .currentSpent(row.currentMonthSpent())
+                .totalOrders(row.orderCount().intValue())
+                .avgOrderValue(row.avgOrderValue())
+                .lastOrderDate(row.lastOrderDate())
+                .utilizationPercentage(utilization)
+                .build();
+            employees.add(employee);
+            topPerformers.offer(employee);
+            if (utilization > 100) {
+                overruns.add(employee);
+            }
+            EmployeePerformanceReport.BudgetAnalysis group = byStatus.get(budgetStatus(utilization));
+            group.setEmployeeCount(group.getEmployeeCount() + 1);
+            group.setTotalBudget(group.getTotalBudget().add(row.monthlyBudget()));
+            group.setTotalSpent(group.getTotalSpent().add(row.currentMonthSpent()));
+        }
+
+        List<EmployeePerformanceReport.BudgetAnalysis> budgetAnalysis = new ArrayList<>(byStatus.size());
+        for (EmployeePerformanceReport.BudgetAnalysis group : byStatus.values()) {
+            if (group.getEmployeeCount() > 0) {
+                group.setPercentageOfEmployees(group.getEmployeeCount() * 100.0 / employees.size());
+                budgetAnalysis.add(group);
+            }
+        }
+        // Overruns are the exception, so sorting only them is cheap
+        overruns.sort(Comparator.comparing(EmployeePerformanceReport.EmployeeStats::getUtilizationPercentage).reversed());
+        return new EmployeeSummary(employees, budgetAnalysis, topPerformers.toList(), overruns);
+    }
+
+    public static List<EmployeePerformanceReport.DepartmentStats> departmentPerformance(
+            List<DepartmentBudgetRow> departments, List<DepartmentCountRow> activeEmployees) {
+        Map<String, Long> activeByDepartment = new HashMap<>();
+        for (DepartmentCountRow row : activeEmployees) {
+            activeByDepartment.put(row.department(), row.count());
+        }
+
+        List<EmployeePerformanceReport.DepartmentStats> stats = new ArrayList<>(departments.size());
+        for (DepartmentBudgetRow row : departments) {
+            Long active = activeByDepartment.get(row.department());
+            stats.add(EmployeePerformanceReport.DepartmentStats.builder()
+                .department(row.department())
+                .totalEmployees(row.employeeCount().intValue())
+                .activeEmployees(active != null ? active.intValue() : 0)
+                .totalBudget(row.totalBudget())
+                .totalSpent(row.totalSpent())
+                .utilizationRate(percentage(row.totalSpent(), row.totalBudget()))
+                .build());
+        }
+        return stats;
+    }
+
+    /** Rows arrive by revenue, highest first */
+    public static MealSummary mealStats(List<MealPerformanceRow> rows) {
+        List<MealPerformanceReport.MealStats> meals = new ArrayList<>(rows.size());
+        TopK<MealPerformanceReport.MealStats> topMeals = new TopK<>(TOP_MEALS,
+            Comparator.comparing(MealPerformanceReport.MealStats::getTotalRevenue).reversed());
+        TopK<MealPerformanceReport.MealStats> leastPopular = new TopK<>(LEAST_POPULAR_MEALS,
+            Comparator.comparing(MealPerformanceReport.MealStats::getTimesOrdered));
+        for (MealPerformanceRow row : rows) {
+            MealPerformanceReport.MealStats meal = MealPerformanceReport.MealStats.builder()
+                .mealName(row.mealName())
+                .mealType(row.mealType().name())
+                .unitPrice(row.unitPrice())
+                .timesOrdered(row.orderCount().intValue())
+                .totalRevenue(row.revenue())
+                .avgOrderValue(row.avgOrderValue().doubleValue())
+                .currentlyAvailable(Boolean.TRUE.equals(row.available()))
+                .build();
+            meals.add(meal);
+            topMeals.offer(meal);
+            leastPopular.offer(meal);
+        }
+        return new MealSummary(meals, topMeals.toList(), leastPopular.toList());
+    }
+
+    public static MealTypeSummary mealTypePerformance(List<MealTypePerformanceRow> rows) {
+        List<MealPerformanceReport.MealTypeStats> mealTypes = new ArrayList<>(rows.size());
+        List<MealPerformanceReport.MealTypeRevenue> revenueByMealType = new ArrayList<>(rows.size());
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        for (MealTypePerformanceRow row : rows) {
+            totalRevenue = totalRevenue.add(row.revenue());
+            mealTypes.add(MealPerformanceReport.MealTypeStats.builder()
+                .mealType(row.mealType().name())
+                .uniqueMeals(row.mealCount().intValue())
+                .totalOrders(row.orderCount().intValue())
+                .totalRevenue(row.revenue())
+                .avgOrderValue(row.avgOrderValue().doubleValue())
+                .build());
+            revenueByMealType.add(MealPerformanceReport.MealTypeRevenue.builder()
+                .mealType(row.mealType().name())
+                .revenue(row.revenue())
+                .build());
+        }
+        for (int i = 0; i < mealTypes.size(); i++) {
+            double share = percentage(mealTypes.get(i).getTotalRevenue(), totalRevenue);
+            mealTypes.get(i).setPercentageOfTotalRevenue(share);
+            revenueByMealType.get(i).setPercentageOfTotal(share);
+        }
+        return new MealTypeSummary(mealTypes, revenueByMealType);
+    }
+
+    public static List<MealPerformanceReport.AvailabilityStats> availability(List<MealAvailabilityRow> rows) {
+        List<MealPerformanceReport.AvailabilityStats> stats = new ArrayList<>(rows.size());
+        for (MealAvailabilityRow row : rows) {
+            int total = row.totalMeals().intValue();
+            int available = row.availableMeals().intValue();
+            stats.add(MealPerformanceReport.AvailabilityStats.builder()
+                .mealType(row.mealType().name())
+                .totalMeals(total)
+                .availableMeals(available)
+                .unavailableMeals(total - available)
+                .availabilityPercentage(total > 0 ? (available * 100.0 / total) : 0.0)
+                .build());
+        }
+        return stats;
+    }
+
+    /** part as a percentage of total, from the ratio rounded to four places; 0 when total is not positive */
+    static double percentage(BigDecimal part, BigDecimal total) {
+        return total.signum() > 0 ? part.divide(total, 4, RoundingMode.HALF_UP).doubleValue() * 100 : 0.0;
+    }
+
+    private static String budgetStatus(double utilization) {
+        return utilization > 100 ? OVER_BUDGET : utilization < 50 ? UNDER_UTILIZED : ON_TRACK;
+    }
+}
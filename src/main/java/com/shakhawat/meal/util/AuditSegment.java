@@ -0,0 +1,372 @@
+package com.shakhawat.meal.util;
+
+import com.shakhawat.meal.entity.AuditLog;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable on-disk archive of audit records, written once in timestamp order.
+ * <p>
+ * {@code <name>.seg} holds deflate-compressed blocks of records, each prefixed with its
+ * uncompressed length, compressed length and record count. The sidecar {@code <name>.idx} holds
+ * a header (magic, version, record count, first and last timestamp) followed by one fixed-width
+ * entry per block: first timestamp, last timestamp and block offset, all sorted by time. Readers
+ * memory-map the index, binary search it for a time range and inflate only the matching blocks.
+ * Timestamps are stored as microseconds of the local date-time read as UTC.
+ */
+public final class AuditSegment {
+
+    public static final String DATA_SUFFIX = ".seg";
+    public static final String INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x41554449; // "AUDI"
+    private static final int VERSION = 1;
+    private static final int INDEX_HEADER_BYTES = 4 + 4 + 8 + 8 + 8;
+    private static final int INDEX_ENTRY_BYTES = 8 + 8 + 8;
+    private static final int BLOCK_HEADER_BYTES = 4 + 4 + 4;
+
+    private AuditSegment() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    public static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Writes one segment. Files are written under temporary names and moved into place on
+     * {@link #close()}, so a segment is either complete or absent.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path dataFile;
+        private final Path indexFile;
+        private final Path dataTemp;
+        private final Path indexTemp;
+        private final int blockRecords;
+
+        private final DataOutputStream data;
+        private final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream(64 * 1024);
+        private final DataOutputStream block = new DataOutputStream(blockBytes);
+        private final ByteArrayOutputStream indexEntries = new ByteArrayOutputStream();
+        private final DataOutputStream index = new DataOutputStream(indexEntries);
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+
+        private long offset;
+        private int blockCount;
+        private long blockFirst;
+        private long blockLast;
+        private long recordCount;
+        private long firstMicros = Long.MAX_VALUE;
+        private long lastMicros = Long.MIN_VALUE;
+        private boolean closed;
+
+        public Writer(Path directory, String name, int blockRecords) throws IOException {
+            Files.createDirectories(directory);
+            this.dataFile = directory.resolve(name + DATA_SUFFIX);
+            this.indexFile = directory.resolve(name + INDEX_SUFFIX);
+            if (Files.exists(dataFile) || Files.exists(indexFile)) {
+                throw new FileAlreadyExistsException(dataFile.toString());
+            }
+            this.dataTemp = directory.resolve(name + DATA_SUFFIX + ".tmp");
+            this.indexTemp = directory.resolve(name + INDEX_SUFFIX + ".tmp");
+            this.blockRecords = blockRecords;
+            this.data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dataTemp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)));
+        }
+
+        public void append(AuditLog auditLog) throws IOException {
+            long micros = toMicros(auditLog.getTimestamp());
+            if (micros < lastMicros) {
+                throw new IllegalArgumentException("Audit records must be appended in timestamp order");
+            }
+            if (blockCount == 0) {
+                blockFirst = micros;
+            }
+            blockLast = micros;
+            firstMicros = Math.min(firstMicros, micros);
+            lastMicros = micros;
+
+            block.writeLong(auditLog.getId() != null ? auditLog.getId() : 0L);
+            block.writeLong(micros);
+            writeString(block, auditLog.getEntityType());
+            block.writeLong(auditLog.getEntityId());
+            writeString(block, auditLog.getAction());
+            writeString(block, auditLog.getUserId());
+            writeString(block, auditLog.getOldValue());
+            writeString(block, auditLog.getNewValue());
+            writeString(block, auditLog.getIpAddress());
+            blockCount++;
+            recordCount++;
+
+            if (blockCount >= blockRecords) {
+                flushBlock();
+            }
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                flushBlock();
+                data.close();
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexTemp,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeLong(recordCount);
+                    out.writeLong(recordCount > 0 ? firstMicros : 0L);
+                    out.writeLong(recordCount > 0 ? lastMicros : 0L);
+                    indexEntries.writeTo(out);
+                }
+                force(dataTemp);
+                force(indexTemp);
+                // Data first: an index without data is never visible to readers
+                Files.move(dataTemp, dataFile, StandardCopyOption.ATOMIC_MOVE);
+                Files.move(indexTemp, indexFile, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                deflater.end();
+            }
+        }
+
+        /** Discard a partially written segment */
+        public void abort() {
+            closed = true;
+            deflater.end();
+            try {
+                data.close();
+            } catch (IOException ignored) {
+                // deleting anyway
+            }
+            try {
+                Files.deleteIfExists(dataTemp);
+                Files.deleteIfExists(indexTemp);
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            if (blockCount == 0) {
+                return;
+            }
+            block.flush();
+            byte[] raw = blockBytes.toByteArray();
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                compressed.write(buffer, 0, n);
+            }
+
+            index.writeLong(blockFirst);
+            index.writeLong(blockLast);
+            index.writeLong(offset);
+
+            data.writeInt(raw.length);
+            data.writeInt(compressed.size());
+            data.writeInt(blockCount);
+            compressed.writeTo(data);
+            offset += BLOCK_HEADER_BYTES + compressed.size();
+
+            blockBytes.reset();
+            blockCount = 0;
+        }
+
+        private static void force(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads one segment; safe for concurrent use.
+     */
+    public static final class Reader implements Closeable {
+
+        private final Path dataFile;
+        private final FileChannel dataChannel;
+        private final MappedByteBuffer index;
+        private final long recordCount;
+        private final long firstMicros;
+        private final long lastMicros;
+        private final int blocks;
+
+        private Reader(Path dataFile, FileChannel dataChannel, MappedByteBuffer index) {
+            this.dataFile = dataFile;
+            this.dataChannel = dataChannel;
+            this.index = index;
+            if (index.getInt(0) != MAGIC || index.getInt(4) != VERSION) {
+                throw new IllegalStateException("Not an audit segment index: " + dataFile);
+            }
+            this.recordCount = index.getLong(8);
+            this.firstMicros = index.getLong(16);
+            this.lastMicros = index.getLong(24);
+            this.blocks = (index.capacity() - INDEX_HEADER_BYTES) / INDEX_ENTRY_BYTES;
+        }
+
+        public static Reader open(Path indexFile) throws IOException {
+            String fileName = indexFile.getFileName().toString();
+            Path dataFile = indexFile.resolveSibling(
+                    fileName.substring(0, fileName.length() - INDEX_SUFFIX.length()) + DATA_SUFFIX);
+            MappedByteBuffer index;
+            try (FileChannel indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+            }
+            return new Reader(dataFile, FileChannel.open(dataFile, StandardOpenOption.READ), index);
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            return recordCount > 0 && firstMicros <= toMicros(end) && lastMicros >= toMicros(start);
+        }
+
+        /**
+         * Pass every record with start &lt;= timestamp &lt;= end that matches the filter to the sink,
+         * in timestamp order
+         */
+        public void scan(LocalDateTime start, LocalDateTime end, Predicate<AuditLog> filter,
+                         Consumer<AuditLog> sink) throws IOException {
+            long from = toMicros(start);
+            long to = toMicros(end);
+            for (int i = firstBlockEndingAtOrAfter(from); i < blocks; i++) {
+                int entry = INDEX_HEADER_BYTES + i * INDEX_ENTRY_BYTES;
+                if (index.getLong(entry) > to) {
+                    break;
+                }
+                readBlock(index.getLong(entry + 16), from, to, filter, sink);
+            }
+        }
+
+        private int firstBlockEndingAtOrAfter(long micros) {
+            int low = 0;
+            int high = blocks;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                long blockLast = index.getLong(INDEX_HEADER_BYTES + mid * INDEX_ENTRY_BYTES + 8);
+                if (blockLast < micros) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void readBlock(long offset, long from, long to, Predicate<AuditLog> filter,
+                               Consumer<AuditLog> sink) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+            readFully(header, offset);
+            int rawLength = header.getInt(0);
+            int compressedLength = header.getInt(4);
+            int count = header.getInt(8);
+
+            ByteBuffer compressed = ByteBuffer.allocate(compressedLength);
+            readFully(compressed, offset + BLOCK_HEADER_BYTES);
+
+            byte[] raw = new byte[rawLength];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed.array());
+                int n = inflater.inflate(raw);
+                if (n != rawLength) {
+                    throw new IOException("Truncated block at offset " + offset + " in " + dataFile);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt block at offset " + offset + " in " + dataFile, e);
+            } finally {
+                inflater.end();
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                long micros = in.readLong();
+                AuditLog auditLog = AuditLog.builder()
+                        .id(id)
+                        .timestamp(fromMicros(micros))
+                        .entityType(readString(in))
+                        .entityId(in.readLong())
+                        .action(readString(in))
+                        .userId(readString(in))
+                        .oldValue(readString(in))
+                        .newValue(readString(in))
+                        .ipAddress(readString(in))
+                        .build();
+                if (micros >= from && micros <= to && filter.test(auditLog)) {
+                    sink.accept(auditLog);
+                }
+            }
+        }
+
+        private void readFully(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                int n = dataChannel.read(buffer, position + buffer.position());
+                if (n < 0) {
+                    throw new EOFException("Unexpected end of " + dataFile);
+                }
+            }
+            buffer.flip();
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            dataChannel.close();
+        }
+    }
+}
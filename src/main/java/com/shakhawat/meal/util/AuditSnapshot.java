@@ -0,0 +1,190 @@
+package com.shakhawat.meal.util;
+
+import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Point-in-time copy of an entity's audited fields, used to record only what changed.
+ * Basic columns are kept as-is, element collections are copied, and associations are
+ * reduced to the target's id without initializing it. Bookkeeping columns (version,
+ * created/modified by/at) and to-many associations are skipped, and sensitive fields are
+ * compared but never written out.
+ */
+public final class AuditSnapshot {
+
+    public static final String REDACTED = "[REDACTED]";
+
+    private static final Set<String> SENSITIVE_FIELDS = Set.of("password", "tokenHash");
+
+    private static final ClassValue<EntityFields> FIELDS = new ClassValue<>() {
+        @Override
+        protected EntityFields computeValue(Class<?> type) {
+            return EntityFields.of(type);
+        }
+    };
+
+    private final Map<String, Object> values;
+    private final Set<String> sensitive;
+
+    private AuditSnapshot(Map<String, Object> values, Set<String> sensitive) {
+        this.values = values;
+        this.sensitive = sensitive;
+    }
+
+    public static AuditSnapshot of(Object entity) {
+        Object target = Hibernate.unproxy(entity);
+        EntityFields fields = FIELDS.get(target.getClass());
+        Map<String, Object> values = new LinkedHashMap<>(fields.accessors.size() * 2);
+        for (FieldAccessor accessor : fields.accessors) {
+            values.put(accessor.name, accessor.read(target));
+        }
+        return new AuditSnapshot(values, fields.sensitive);
+    }
+
+    /**
+     * Non-null fields, with sensitive values redacted
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        values.forEach((name, value) -> {
+            if (value != null) {
+                result.put(name, sensitive.contains(name) ? REDACTED : value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Old and new values of the fields that differ, with sensitive values redacted.
+     * Both maps are empty when nothing changed.
+     */
+    public static Changes diff(AuditSnapshot before, AuditSnapshot after) {
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        after.values.forEach((name, newValue) -> {
+            Object oldValue = before.values.get(name);
+            if (!sameValue(oldValue, newValue)) {
+                boolean redact = after.sensitive.contains(name);
+                oldValues.put(name, redact && oldValue != null ? REDACTED : oldValue);
+                newValues.put(name, redact && newValue != null ? REDACTED : newValue);
+            }
+        });
+        return new Changes(oldValues, newValues);
+    }
+
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof BigDecimal x && b instanceof BigDecimal y) {
+            return x.compareTo(y) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    public record Changes(Map<String, Object> oldValues, Map<String, Object> newValues) {
+        public boolean isEmpty() {
+            return newValues.isEmpty();
+        }
+    }
+
+    /** Precomputed field accessors of one entity class */
+    private static final class EntityFields {
+        private final List<FieldAccessor> accessors;
+        private final Set<String> sensitive;
+        private final Field idField;
+
+        private EntityFields(List<FieldAccessor> accessors, Set<String> sensitive, Field idField) {
+            this.accessors = accessors;
+            this.sensitive = sensitive;
+            this.idField = idField;
+        }
+
+        static EntityFields of(Class<?> type) {
+            List<FieldAccessor> accessors = new ArrayList<>();
+            Set<String> sensitive = new HashSet<>();
+            Field idField = null;
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || isSkipped(field)) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    if (field.isAnnotationPresent(Id.class)) {
+                        idField = field;
+                    }
+                    accessors.add(new FieldAccessor(field.getName(), field, kindOf(field)));
+                    if (SENSITIVE_FIELDS.contains(field.getName())) {
+                        sensitive.add(field.getName());
+                    }
+                }
+            }
+            return new EntityFields(List.copyOf(accessors), Set.copyOf(sensitive), idField);
+        }
+
+        private static boolean isSkipped(Field field) {
+            return field.isAnnotationPresent(Transient.class)
+                    || field.isAnnotationPresent(Version.class)
+                    || field.isAnnotationPresent(OneToMany.class)
+                    || field.isAnnotationPresent(ManyToMany.class)
+                    || field.isAnnotationPresent(CreatedDate.class)
+                    || field.isAnnotationPresent(LastModifiedDate.class)
+                    || field.isAnnotationPresent(CreatedBy.class)
+                    || field.isAnnotationPresent(LastModifiedBy.class);
+        }
+
+        private static Kind kindOf(Field field) {
+            if (field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class)) {
+                return Kind.REFERENCE;
+            }
+            if (Collection.class.isAssignableFrom(field.getType())) {
+                return Kind.COLLECTION;
+            }
+            return Kind.VALUE;
+        }
+    }
+
+    private enum Kind { VALUE, COLLECTION, REFERENCE }
+
+    private record FieldAccessor(String name, Field field, Kind kind) {
+
+        Object read(Object entity) {
+            Object value;
+            try {
+                value = field.get(entity);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + name + " for audit", e);
+            }
+            if (value == null) {
+                return null;
+            }
+            return switch (kind) {
+                case VALUE -> value;
+                case COLLECTION -> ((Collection<?>) value).stream()
+                        .map(String::valueOf)
+                        .sorted()
+                        .toList();
+                case REFERENCE -> referenceId(value);
+            };
+        }
+
+        private static Object referenceId(Object reference) {
+            if (reference instanceof HibernateProxy proxy) {
+                return proxy.getHibernateLazyInitializer().getIdentifier();
+            }
+            Field idField = FIELDS.get(reference.getClass()).idField;
+            try {
+                return idField != null ? idField.get(reference) : null;
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read id of " + reference.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.shakhawat.meal.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes records one at a time as CSV (header from the record components) or NDJSON.
+ * Output is buffered, and flushed once after the first row so the client sees data at once;
+ * closing flushes but leaves the underlying stream open.
+ */
+public abstract class ExportWriter<T extends Record> implements Closeable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private long rows;
+
+    public static <T extends Record> ExportWriter<T> open(ExportFormat format, Class<T> rowType,
+                                                          OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv<>(rowType, out);
+            case NDJSON -> new NdJson<>(out, objectMapper);
+        };
+    }
+
+    public void write(T row) throws IOException {
+        writeRow(row);
+        if (++rows == 1) {
+            flush();
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    protected abstract void writeRow(T row) throws IOException;
+
+    protected abstract void flush() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private static final class Csv<T extends Record> extends ExportWriter<T> {
+
+        private final Writer writer;
+        private final RecordComponent[] components;
+
+        Csv(Class<T> rowType, OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            this.components = rowType.getRecordComponents();
+            for (int i = 0; i < components.length; i++) {
+                if (i > 0) writer.write(',');
+                writer.write(components[i].getName());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        protected void writeRow(T row) throws IOException {
+            for (int i = 0; i < components.length; i++) {
+                if (i > 0) writer.write(',');
+                Object value = value(components[i], row);
+                if (value != null) {
+                    writer.write(value instanceof String text ? escape(text) : value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static Object value(RecordComponent component, Record row) {
+            try {
+                return component.getAccessor().invoke(row);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read " + component.getName(), e);
+            }
+        }
+
+        /** RFC 4180 quoting; text that a spreadsheet would run as a formula is prefixed with a quote */
+        static String escape(String text) {
+            if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+    }
+
+    private static final class NdJson<T extends Record> extends ExportWriter<T> {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter rowWriter;
+
+        NdJson(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory()
+                    .createGenerator(new BufferedOutputStream(out, BUFFER_SIZE))
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the newline written after each one, not the default space
+            this.generator.setRootValueSeparator(null);
+            this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        protected void writeRow(T row) throws IOException {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
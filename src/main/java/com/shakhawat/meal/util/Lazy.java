@@ -0,0 +1,30 @@
+package com.shakhawat.meal.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Computes its value on the first {@link #get()} and returns the same value afterwards,
+ * so several consumers can share a result that none of them may need.
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private Supplier<T> supplier;
+    private T value;
+
+    private Lazy(Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    public static <T> Lazy<T> of(Supplier<T> supplier) {
+        return new Lazy<>(supplier);
+    }
+
+    @Override
+    public synchronized T get() {
+        if (supplier != null) {
+            value = supplier.get();
+            supplier = null;
+        }
+        return value;
+    }
+}
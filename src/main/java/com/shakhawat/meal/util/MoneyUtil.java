@@ -0,0 +1,16 @@
+package com.shakhawat.meal.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public class MoneyUtil {
+
+    private MoneyUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /** The amount in whole cents, rounded half up */
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,420 @@
+package com.shakhawat.meal.util;
+
+import com.shakhawat.meal.dto.OrderExportRow;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable columnar copy of meal orders for analytics, written once in order-date order.
+ * <p>
+ * A header (magic, version, row count, first, last and snapshot-through day, column directory)
+ * is followed by one fixed-width column per field: order date as epoch day, employee id,
+ * dictionary codes for department, meal and status, quantity, and amount in cents. The
+ * dictionaries (department names, meals with their name and type, type and status names) close
+ * the file. Readers map each column separately and read it with absolute gets only, so one
+ * reader can be shared by any number of threads.
+ */
+public final class OrderColumnFile {
+
+    public static final String SUFFIX = ".col";
+
+    private static final int MAGIC = 0x4F434F4C; // "OCOL"
+    private static final int VERSION = 1;
+
+    public enum Column {
+        EPOCH_DAY(Integer.BYTES),
+        EMPLOYEE_ID(Long.BYTES),
+        DEPARTMENT(Integer.BYTES),
+        MEAL(Integer.BYTES),
+        STATUS(Byte.BYTES),
+        QUANTITY(Integer.BYTES),
+        AMOUNT_CENTS(Long.BYTES);
+
+        private final int width;
+
+        Column(int width) {
+            this.width = width;
+        }
+    }
+
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 4 + 4 + Column.values().length * 16 + 16;
+
+    private OrderColumnFile() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /** A meal in the dictionary; mealType indexes {@link Reader#getMealTypes()} */
+    public record MealEntry(long id, String name, int mealType) {
+    }
+
+    /**
+     * Writes one file. Columns go to temporary files while rows are appended and are joined
+     * into the final file on {@link #close()}, which moves it into place atomically.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path file;
+        private final Path temp;
+        private final int throughEpochDay;
+        private final EnumMap<Column, Path> columnFiles = new EnumMap<>(Column.class);
+        private final EnumMap<Column, DataOutputStream> columns = new EnumMap<>(Column.class);
+
+        private final Map<String, Integer> departments = new LinkedHashMap<>();
+        private final Map<Long, Integer> mealCodes = new HashMap<>();
+        private final List<MealEntry> meals = new ArrayList<>();
+        private final Map<String, Integer> mealTypes = new LinkedHashMap<>();
+        private final Map<String, Integer> statuses = new LinkedHashMap<>();
+
+        private long rowCount;
+        private int firstEpochDay = Integer.MAX_VALUE;
+        private int lastEpochDay = Integer.MIN_VALUE;
+        private boolean closed;
+
+        public Writer(Path directory, String name, LocalDate through) throws IOException {
+            Files.createDirectories(directory);
+            this.file = directory.resolve(name + SUFFIX);
+            if (Files.exists(file)) {
+                throw new FileAlreadyExistsException(file.toString());
+            }
+            this.temp = directory.resolve(name + SUFFIX + ".tmp");
+            this.throughEpochDay = (int) through.toEpochDay();
+            for (Column column : Column.values()) {
+                Path columnFile = directory.resolve(name + "." + column.name().toLowerCase(Locale.ROOT) + ".tmp");
+                columnFiles.put(column, columnFile);
+                columns.put(column, new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(columnFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+                        64 * 1024)));
+            }
+        }
+
+        public void append(OrderExportRow row) throws IOException {
+            int epochDay = (int) row.orderDate().toEpochDay();
+            if (epochDay < lastEpochDay) {
+                throw new IllegalArgumentException("Orders must be appended in order-date order");
+            }
+            firstEpochDay = Math.min(firstEpochDay, epochDay);
+            lastEpochDay = epochDay;
+
+            Integer meal = mealCodes.get(row.mealId());
+            if (meal == null) {
+                meal = meals.size();
+                mealCodes.put(row.mealId(), meal);
+                meals.add(new MealEntry(row.mealId(), row.mealName(), code(mealTypes, row.mealType().name())));
+            }
+            int status = code(statuses, row.status().name());
+            if (status > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct statuses");
+            }
+
+            columns.get(Column.EPOCH_DAY).writeInt(epochDay);
+            columns.get(Column.EMPLOYEE_ID).writeLong(row.employeeId());
+            columns.get(Column.DEPARTMENT).writeInt(code(departments, row.department()));
+            columns.get(Column.MEAL).writeInt(meal);
+            columns.get(Column.STATUS).writeByte(status);
+            columns.get(Column.QUANTITY).writeInt(row.quantity());
+            columns.get(Column.AMOUNT_CENTS).writeLong(MoneyUtil.toCents(row.totalPrice()));
+            rowCount++;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                for (DataOutputStream column : columns.values()) {
+                    column.close();
+                }
+                ByteArrayOutputStream dictionaryBytes = new ByteArrayOutputStream();
+                writeDictionaries(new DataOutputStream(dictionaryBytes));
+
+                try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                    header.putInt(MAGIC).putInt(VERSION).putLong(rowCount)
+                            .putInt(rowCount > 0 ? firstEpochDay : throughEpochDay)
+                            .putInt(rowCount > 0 ? lastEpochDay : throughEpochDay)
+                            .putInt(throughEpochDay)
+                            .putInt(Column.values().length);
+                    long offset = HEADER_BYTES;
+                    for (Column column : Column.values()) {
+                        long length = rowCount * column.width;
+                        header.putLong(offset).putLong(length);
+                        offset += length;
+                    }
+                    header.putLong(offset).putLong(dictionaryBytes.size());
+                    header.flip();
+                    writeFully(out, header);
+
+                    for (Column column : Column.values()) {
+                        try (FileChannel in = FileChannel.open(columnFiles.get(column), StandardOpenOption.READ)) {
+                            long position = 0;
+                            long size = in.size();
+                            while (position < size) {
+                                position += in.transferTo(position, size - position, out);
+                            }
+                        }
+                    }
+                    writeFully(out, ByteBuffer.wrap(dictionaryBytes.toByteArray()));
+                    out.force(true);
+                }
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                deleteColumnFiles();
+            }
+        }
+
+        /** Discard a partially written file */
+        public void abort() {
+            closed = true;
+            for (DataOutputStream column : columns.values()) {
+                try {
+                    column.close();
+                } catch (IOException ignored) {
+                    // deleting anyway
+                }
+            }
+            deleteColumnFiles();
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+
+        private void writeDictionaries(DataOutputStream out) throws IOException {
+            writeStrings(out, departments.keySet());
+            out.writeInt(meals.size());
+            for (MealEntry meal : meals) {
+                out.writeLong(meal.id());
+                out.writeUTF(meal.name());
+                out.writeInt(meal.mealType());
+            }
+            writeStrings(out, mealTypes.keySet());
+            writeStrings(out, statuses.keySet());
+            out.flush();
+        }
+
+        private void deleteColumnFiles() {
+            for (Path columnFile : columnFiles.values()) {
+                try {
+                    Files.deleteIfExists(columnFile);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+
+        private static int code(Map<String, Integer> dictionary, String value) {
+            return dictionary.computeIfAbsent(value, k -> dictionary.size());
+        }
+
+        private static void writeStrings(DataOutputStream out, Collection<String> values) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                out.writeUTF(value);
+            }
+        }
+
+        private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads one file through memory-mapped columns; safe for concurrent use.
+     */
+    public static final class Reader implements Closeable {
+
+        private final FileChannel channel;
+        private final int rowCount;
+        private final LocalDate firstDay;
+        private final LocalDate lastDay;
+        private final LocalDate throughDay;
+        private final EnumMap<Column, ByteBuffer> columns = new EnumMap<>(Column.class);
+        private final IntBuffer epochDays;
+        private final LongBuffer employeeIds;
+        private final IntBuffer departmentCodes;
+        private final IntBuffer mealCodes;
+        private final ByteBuffer statusCodes;
+        private final IntBuffer quantities;
+        private final LongBuffer amountCents;
+        private final List<String> departments;
+        private final List<MealEntry> meals;
+        private final List<String> mealTypes;
+        private final List<String> statuses;
+
+        private Reader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not an order column file");
+            }
+            long rows = header.getLong();
+            if (rows > Integer.MAX_VALUE) {
+                throw new IOException("Order column file too large: " + rows + " rows");
+            }
+            this.rowCount = (int) rows;
+            this.firstDay = LocalDate.ofEpochDay(header.getInt());
+            this.lastDay = LocalDate.ofEpochDay(header.getInt());
+            this.throughDay = LocalDate.ofEpochDay(header.getInt());
+            if (header.getInt() != Column.values().length) {
+                throw new IOException("Unexpected column count");
+            }
+            for (Column column : Column.values()) {
+                long offset = header.getLong();
+                long length = header.getLong();
+                columns.put(column, channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+            }
+            long dictionaryOffset = header.getLong();
+            long dictionaryLength = header.getLong();
+
+            this.epochDays = columns.get(Column.EPOCH_DAY).asIntBuffer();
+            this.employeeIds = columns.get(Column.EMPLOYEE_ID).asLongBuffer();
+            this.departmentCodes = columns.get(Column.DEPARTMENT).asIntBuffer();
+            this.mealCodes = columns.get(Column.MEAL).asIntBuffer();
+            this.statusCodes = columns.get(Column.STATUS);
+            this.quantities = columns.get(Column.QUANTITY).asIntBuffer();
+            this.amountCents = columns.get(Column.AMOUNT_CENTS).asLongBuffer();
+
+            ByteBuffer dictionaryBytes = ByteBuffer.allocate((int) dictionaryLength);
+            while (dictionaryBytes.hasRemaining()) {
+                if (channel.read(dictionaryBytes, dictionaryOffset + dictionaryBytes.position()) < 0) {
+                    throw new EOFException("Truncated order column file");
+                }
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(dictionaryBytes.array()));
+            this.departments = readStrings(in);
+            int mealCount = in.readInt();
+            List<MealEntry> mealEntries = new ArrayList<>(mealCount);
+            for (int i = 0; i < mealCount; i++) {
+                mealEntries.add(new MealEntry(in.readLong(), in.readUTF(), in.readInt()));
+            }
+            this.meals = List.copyOf(mealEntries);
+            this.mealTypes = readStrings(in);
+            this.statuses = readStrings(in);
+        }
+
+        public static Reader open(Path file) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                return new Reader(channel);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public LocalDate getFirstDay() {
+            return firstDay;
+        }
+
+        public LocalDate getLastDay() {
+            return lastDay;
+        }
+
+        /** Orders dated up to and including this day are in the file */
+        public LocalDate getThroughDay() {
+            return throughDay;
+        }
+
+        public int epochDay(int row) {
+            return epochDays.get(row);
+        }
+
+        public long employeeId(int row) {
+            return employeeIds.get(row);
+        }
+
+        public int department(int row) {
+            return departmentCodes.get(row);
+        }
+
+        public int meal(int row) {
+            return mealCodes.get(row);
+        }
+
+        public int status(int row) {
+            return statusCodes.get(row);
+        }
+
+        public int quantity(int row) {
+            return quantities.get(row);
+        }
+
+        public long amountCents(int row) {
+            return amountCents.get(row);
+        }
+
+        public List<String> getDepartments() {
+            return departments;
+        }
+
+        public List<MealEntry> getMeals() {
+            return meals;
+        }
+
+        public List<String> getMealTypes() {
+            return mealTypes;
+        }
+
+        public List<String> getStatuses() {
+            return statuses;
+        }
+
+        /** First row dated on or after the day, or the row count if there is none */
+        public int firstRowOnOrAfter(LocalDate day) {
+            long target = day.toEpochDay();
+            int low = 0;
+            int high = rowCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (epochDays.get(mid) < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Mapped columns stay valid for scans still running; they are released with the reader
+            channel.close();
+        }
+
+        private static List<String> readStrings(DataInputStream in) throws IOException {
+            int count = in.readInt();
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(in.readUTF());
+            }
+            return List.copyOf(values);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.shakhawat.meal.util;
+
+import com.shakhawat.meal.dto.OrderExportRow;
+
+import java.io.*;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Approximate summary of a set of orders: distinct employees overall, per department and per
+ * meal (HyperLogLog), exact orders per meal and the distribution of order value.
+ * Summaries of disjoint order sets, such as single days, merge into the summary of their union.
+ * Stored gzipped; the mostly empty registers compress to a few kilobytes a day. A meal already
+ * carries an eaters sketch, so its order count is kept exactly at the cost of one more long.
+ */
+public final class OrderSketch {
+
+    private static final int VERSION = 1;
+    private static final int HLL_PRECISION = 11;          // ~2.3% standard error
+    private static final double VALUE_ACCURACY = 0.01;    // quantiles within 1%
+
+    private long orders;
+    private final HyperLogLog eaters;
+    private final Map<String, HyperLogLog> eatersByDepartment = new TreeMap<>();
+    private final Map<Long, HyperLogLog> eatersByMeal = new TreeMap<>();
+    private final Map<Long, Long> mealOrders = new TreeMap<>();
+    private final QuantileSketch orderValues;
+
+    private OrderSketch(HyperLogLog eaters, QuantileSketch orderValues) {
+        this.eaters = eaters;
+        this.orderValues = orderValues;
+    }
+
+    public static OrderSketch empty() {
+        return new OrderSketch(new HyperLogLog(HLL_PRECISION), new QuantileSketch(VALUE_ACCURACY));
+    }
+
+    public void add(OrderExportRow row) {
+        orders++;
+        eaters.add(row.employeeId());
+        eatersByDepartment.computeIfAbsent(row.department(), k -> new HyperLogLog(HLL_PRECISION)).add(row.employeeId());
+        eatersByMeal.computeIfAbsent(row.mealId(), k -> new HyperLogLog(HLL_PRECISION)).add(row.employeeId());
+        mealOrders.merge(row.mealId(), 1L, Long::sum);
+        orderValues.add(row.totalPrice().doubleValue());
+    }
+
+    /** Adds the other summary's orders to this one */
+    public OrderSketch merge(OrderSketch other) {
+        orders += other.orders;
+        eaters.merge(other.eaters);
+        other.eatersByDepartment.forEach((department, sketch) -> eatersByDepartment
+                .computeIfAbsent(department, k -> new HyperLogLog(HLL_PRECISION)).merge(sketch));
+        other.eatersByMeal.forEach((mealId, sketch) -> eatersByMeal
+                .computeIfAbsent(mealId, k -> new HyperLogLog(HLL_PRECISION)).merge(sketch));
+        other.mealOrders.forEach((mealId, count) -> mealOrders.merge(mealId, count, Long::sum));
+        orderValues.merge(other.orderValues);
+        return this;
+    }
+
+    /** Exact */
+    public long getOrders() {
+        return orders;
+    }
+
+    public long distinctEmployees() {
+        return eaters.estimate();
+    }
+
+    public Map<String, HyperLogLog> getEatersByDepartment() {
+        return Collections.unmodifiableMap(eatersByDepartment);
+    }
+
+    public Map<Long, HyperLogLog> getEatersByMeal() {
+        return Collections.unmodifiableMap(eatersByMeal);
+    }
+
+    /** Exact orders per meal, keyed like {@link #getEatersByMeal()} */
+    public Map<Long, Long> getMealOrders() {
+        return Collections.unmodifiableMap(mealOrders);
+    }
+
+    /** Order value at quantile q, or NaN without orders */
+    public double orderValueQuantile(double q) {
+        return orderValues.quantile(q);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(buffer))) {
+            out.writeInt(VERSION);
+            out.writeLong(orders);
+            eaters.write(out);
+            out.writeInt(eatersByDepartment.size());
+            for (Map.Entry<String, HyperLogLog> entry : eatersByDepartment.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().write(out);
+            }
+            out.writeInt(eatersByMeal.size());
+            for (Map.Entry<Long, HyperLogLog> entry : eatersByMeal.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeLong(mealOrders.getOrDefault(entry.getKey(), 0L));
+                entry.getValue().write(out);
+            }
+            orderValues.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize order sketch", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    public static OrderSketch fromBytes(byte[] content) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(content)))) {
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported order sketch version " + version);
+            }
+            long orders = in.readLong();
+            HyperLogLog eaters = HyperLogLog.read(in);
+            Map<String, HyperLogLog> byDepartment = new TreeMap<>();
+            int departments = in.readInt();
+            for (int i = 0; i < departments; i++) {
+                byDepartment.put(in.readUTF(), HyperLogLog.read(in));
+            }
+            Map<Long, HyperLogLog> byMeal = new TreeMap<>();
+            Map<Long, Long> mealOrders = new TreeMap<>();
+            int meals = in.readInt();
+            for (int i = 0; i < meals; i++) {
+                long mealId = in.readLong();
+                mealOrders.put(mealId, in.readLong());
+                byMeal.put(mealId, HyperLogLog.read(in));
+            }
+            OrderSketch sketch = new OrderSketch(eaters, QuantileSketch.read(in));
+            sketch.orders = orders;
+            sketch.eatersByDepartment.putAll(byDepartment);
+            sketch.eatersByMeal.putAll(byMeal);
+            sketch.mealOrders.putAll(mealOrders);
+            return sketch;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read order sketch", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.shakhawat.meal.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Event count over a sliding time window, kept in a fixed ring of buckets.
+ * The window slides one bucket at a time, so counts are exact to within one bucket width;
+ * memory is one int per bucket regardless of the event rate.
+ */
+public final class SlidingWindowCounter {
+
+    private final long bucketNanos;
+    private final int[] buckets;
+    private long head = Long.MIN_VALUE;
+    private int total;
+
+    public SlidingWindowCounter(Duration window, int bucketCount) {
+        if (bucketCount <= 0 || window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("Window and bucket count must be positive");
+        }
+        this.bucketNanos = Math.max(1, window.toNanos() / bucketCount);
+        this.buckets = new int[bucketCount];
+    }
+
+    /**
+     * Record one event at {@code nowNanos} (a {@link System#nanoTime()} reading)
+     *
+     * @return events within the window, including this one
+     */
+    public synchronized int increment(long nowNanos) {
+        advance(nowNanos);
+        buckets[Math.floorMod(head, buckets.length)]++;
+        return ++total;
+    }
+
+    public synchronized int count(long nowNanos) {
+        advance(nowNanos);
+        return total;
+    }
+
+    private void advance(long nowNanos) {
+        long bucket = Math.floorDiv(nowNanos, bucketNanos);
+        if (head == Long.MIN_VALUE) {
+            head = bucket;
+            return;
+        }
+        long steps = bucket - head;
+        if (steps <= 0) {
+            return;
+        }
+        if (steps >= buckets.length) {
+            Arrays.fill(buckets, 0);
+            total = 0;
+        } else {
+            // Clear the buckets that slid out of the window
+            for (long i = 1; i <= steps; i++) {
+                int index = Math.floorMod(head + i, buckets.length);
+                total -= buckets[index];
+                buckets[index] = 0;
+            }
+        }
+        head = bucket;
+    }
+}
@@ -0,0 +1,57 @@
+package com.shakhawat.meal.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the first {@code k} items of a stream in the given order without sorting the whole stream.
+ * Items that compare equal keep the order they were offered in, as with a stable sort.
+ */
+public final class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    // Worst retained item at the head
+    private final PriorityQueue<Ranked<T>> heap;
+    private long offered;
+
+    public TopK(int k, Comparator<? super T> order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        this.k = k;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.max(1, k), this::compareWorstFirst);
+    }
+
+    public void offer(T item) {
+        Ranked<T> ranked = new Ranked<>(item, offered++);
+        if (heap.size() < k) {
+            heap.add(ranked);
+        } else if (k > 0 && compareWorstFirst(ranked, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(ranked);
+        }
+    }
+
+    /** The retained items, first in order first */
+    public List<T> toList() {
+        List<Ranked<T>> ranked = new ArrayList<>(heap);
+        ranked.sort(this::compareWorstFirst);
+        List<T> items = new ArrayList<>(ranked.size());
+        for (int i = ranked.size() - 1; i >= 0; i--) {
+            items.add(ranked.get(i).item());
+        }
+        return items;
+    }
+
+    private int compareWorstFirst(Ranked<T> a, Ranked<T> b) {
+        int byOrder = order.compare(b.item(), a.item());
+        return byOrder != 0 ? byOrder : Long.compare(b.sequence(), a.sequence());
+    }
+
+    private record Ranked<T>(T item, long sequence) {
+    }
+}
@@ -0,0 +1,9 @@
+-- Per-day approximate order summaries (distinct employees, exact orders per meal, order value),
+-- merged at query time over any date range. content is a gzipped OrderSketch (format version 1).
+
+CREATE TABLE daily_order_sketches (
+    sketch_date DATE PRIMARY KEY,
+    order_count BIGINT NOT NULL,
+    content MEDIUMBLOB NOT NULL,
+    built_at DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,16 @@
+-- The department and hour an order was placed in, so rollup deltas for later status changes
+-- land on the same rollup rows as the original order even if the employee changes department.
+-- Backfilled the same way V7 backfilled the rollups, so existing rollup rows still match.
+
+ALTER TABLE meal_orders
+    ADD COLUMN department VARCHAR(255) NULL,
+    ADD COLUMN order_hour INT NULL;
+
+UPDATE meal_orders mo
+JOIN employees e ON e.id = mo.employee_id
+SET mo.department = e.department,
+    mo.order_hour = HOUR(mo.created_at);
+
+ALTER TABLE meal_orders
+    MODIFY department VARCHAR(255) NOT NULL,
+    MODIFY order_hour INT NOT NULL;
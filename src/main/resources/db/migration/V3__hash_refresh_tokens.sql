@@ -0,0 +1,24 @@
+-- Store refresh tokens as SHA-256 hashes, one row per employee device session
+
+DELETE FROM refresh_tokens WHERE revoked = TRUE OR expiry_date < CURRENT_TIMESTAMP;
+
+ALTER TABLE refresh_tokens
+    ADD COLUMN token_hash BINARY(32) NULL AFTER employee_id,
+    ADD COLUMN device_id VARCHAR(64) NULL AFTER token_hash;
+
+-- Existing tokens keep working: the service hashes presented tokens the same way
+UPDATE refresh_tokens
+SET token_hash = UNHEX(SHA2(token, 256)),
+    device_id  = CONCAT('legacy-', id);
+
+ALTER TABLE refresh_tokens
+    DROP COLUMN token,
+    MODIFY token_hash BINARY(32) NOT NULL,
+    MODIFY device_id VARCHAR(64) NOT NULL,
+    ADD CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash),
+    ADD CONSTRAINT uk_refresh_employee_device UNIQUE (employee_id, device_id),
+    ADD INDEX idx_refresh_expiry (expiry_date),
+    ADD INDEX idx_refresh_revoked (revoked);
+
+-- Covered by uk_refresh_employee_device
+ALTER TABLE refresh_tokens DROP INDEX idx_employee_id;
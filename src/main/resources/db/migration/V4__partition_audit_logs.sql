@@ -0,0 +1,34 @@
+-- Range-partition audit_logs by month so old months can be archived or dropped as a metadata operation.
+-- MySQL requires the partitioning column in every unique key, so the primary key becomes (id, timestamp),
+-- and TIMESTAMP columns only allow UNIX_TIMESTAMP() partitioning, so the column becomes DATETIME.
+
+ALTER TABLE audit_logs
+    MODIFY timestamp DATETIME(6) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, timestamp);
+
+-- One partition p<yyyyMM> per month from the oldest row through the current month, so retention can
+-- retire existing history a month at a time. AuditPartitionService splits later months off p_future
+-- ahead of time. The bounds depend on the data and the date, so the statement is built at run time.
+SET @first_month = (SELECT DATE_FORMAT(COALESCE(MIN(timestamp), NOW()), '%Y-%m-01') FROM audit_logs);
+SET @end_month = DATE_FORMAT(NOW() + INTERVAL 1 MONTH, '%Y-%m-01');
+SET SESSION group_concat_max_len = 1048576;
+
+WITH RECURSIVE months (month_start) AS (
+    SELECT CAST(@first_month AS DATE)
+    UNION ALL
+    SELECT month_start + INTERVAL 1 MONTH FROM months
+    WHERE month_start + INTERVAL 1 MONTH < CAST(@end_month AS DATE)
+)
+SELECT GROUP_CONCAT(
+           CONCAT('PARTITION p', DATE_FORMAT(month_start, '%Y%m'),
+                  ' VALUES LESS THAN (TO_DAYS(''', month_start + INTERVAL 1 MONTH, '''))')
+           ORDER BY month_start SEPARATOR ', ')
+INTO @monthly_partitions
+FROM months;
+
+SET @partition_ddl = CONCAT('ALTER TABLE audit_logs PARTITION BY RANGE (TO_DAYS(timestamp)) (',
+                            @monthly_partitions, ', PARTITION p_future VALUES LESS THAN MAXVALUE)');
+PREPARE partition_audit_logs FROM @partition_ddl;
+EXECUTE partition_audit_logs;
+DEALLOCATE PREPARE partition_audit_logs;
@@ -0,0 +1,16 @@
+-- Alerts raised by SuspiciousActivityDetector; raw audit events stay in audit_logs.
+
+CREATE TABLE security_alerts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    rule VARCHAR(40) NOT NULL,
+    user_id VARCHAR(255),
+    ip_address VARCHAR(50),
+    action VARCHAR(20) NOT NULL,
+    entity_type VARCHAR(50),
+    event_count INT NOT NULL,
+    window_seconds INT NOT NULL,
+    reason VARCHAR(255) NOT NULL,
+    detected_at DATETIME(6) NOT NULL,
+    INDEX idx_alert_detected_at (detected_at),
+    INDEX idx_alert_user (user_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,10 @@
+-- Composite indexes for the audit search API: each filter followed by timestamp, so a filtered,
+-- newest-first keyset page is a single index range scan. They supersede the single-purpose
+-- entity and user indexes from V1.
+
+ALTER TABLE audit_logs
+    ADD INDEX idx_audit_entity_time (entity_type, entity_id, timestamp),
+    ADD INDEX idx_audit_user_time (user_id, timestamp),
+    ADD INDEX idx_audit_action_time (action, timestamp),
+    DROP INDEX idx_audit_entity,
+    DROP INDEX idx_audit_user;
@@ -0,0 +1,41 @@
+-- Report rollups over meal_orders, kept current by OrderRollupService in the same transaction
+-- as each order change. Reports read these instead of grouping raw orders.
+
+CREATE TABLE order_rollup (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_date DATE NOT NULL,
+    meal_id BIGINT NOT NULL,
+    department VARCHAR(255) NOT NULL,
+    order_hour INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    order_count BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    revenue DECIMAL(14,2) NOT NULL,
+    UNIQUE KEY uk_order_rollup_grain (order_date, meal_id, department, order_hour, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE employee_order_rollup (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_date DATE NOT NULL,
+    employee_id BIGINT NOT NULL,
+    department VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue DECIMAL(14,2) NOT NULL,
+    UNIQUE KEY uk_employee_rollup_grain (order_date, employee_id, department, status),
+    INDEX idx_employee_rollup_employee (employee_id, order_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Backfill from existing orders
+INSERT INTO order_rollup (order_date, meal_id, department, order_hour, status, order_count, quantity, revenue)
+SELECT mo.order_date, mo.meal_id, e.department, HOUR(mo.created_at), mo.status,
+       COUNT(*), SUM(mo.quantity), SUM(mo.total_price)
+FROM meal_orders mo
+JOIN employees e ON e.id = mo.employee_id
+GROUP BY mo.order_date, mo.meal_id, e.department, HOUR(mo.created_at), mo.status;
+
+INSERT INTO employee_order_rollup (order_date, employee_id, department, status, order_count, revenue)
+SELECT mo.order_date, mo.employee_id, e.department, mo.status, COUNT(*), SUM(mo.total_price)
+FROM meal_orders mo
+JOIN employees e ON e.id = mo.employee_id
+GROUP BY mo.order_date, mo.employee_id, e.department, mo.status;
@@ -0,0 +1,12 @@
+-- Reports for closed days and months, kept until an explicit backfill regenerates them.
+
+CREATE TABLE report_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    report_type VARCHAR(30) NOT NULL,
+    period_key VARCHAR(10) NOT NULL,
+    version INT NOT NULL,
+    etag CHAR(64) NOT NULL,
+    content MEDIUMTEXT NOT NULL,
+    generated_at DATETIME(6) NOT NULL,
+    CONSTRAINT uk_report_snapshot_period UNIQUE (report_type, period_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
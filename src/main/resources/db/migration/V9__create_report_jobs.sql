@@ -0,0 +1,20 @@
+-- Background report jobs; results are stored gzipped in their own table so status polls stay small.
+
+CREATE TABLE report_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    report_type VARCHAR(30) NOT NULL,
+    parameters VARCHAR(32) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    requested_by VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    started_at DATETIME(6),
+    completed_at DATETIME(6),
+    result_size INT,
+    error_message VARCHAR(500),
+    INDEX idx_report_job_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE report_job_results (
+    job_id VARCHAR(36) PRIMARY KEY,
+    content LONGBLOB NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
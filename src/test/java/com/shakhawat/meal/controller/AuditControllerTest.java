@@ -0,0 +1,74 @@
+package com.shakhawat.meal.controller;
+
+import com.shakhawat.meal.dto.AuditDTO;
+import com.shakhawat.meal.service.AuditSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class AuditControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AuditSearchService auditSearchService;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldSearchAuditLogs() throws Exception {
+        // Given
+        AuditDTO.SearchResponse response = AuditDTO.SearchResponse.builder()
+            .entries(List.of(AuditDTO.Entry.builder()
+                .id(42L)
+                .entityType("Meal")
+                .entityId(7L)
+                .action("UPDATE")
+                .userId("admin@example.com")
+                .timestamp(LocalDateTime.of(2026, 3, 2, 8, 0))
+                .build()))
+            .nextCursor("abc")
+            .build();
+        when(auditSearchService.search(argThat(criteria -> "UPDATE".equals(criteria.getAction())
+                && LocalDateTime.of(2026, 3, 1, 0, 0).equals(criteria.getFrom())), isNull(), eq(20)))
+            .thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/audit-logs")
+                .param("action", "UPDATE")
+                .param("from", "2026-03-01T00:00:00")
+                .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.entries[0].id").value(42))
+                .andExpect(jsonPath("$.data.nextCursor").value("abc"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetEntityTimeline() throws Exception {
+        // Given
+        when(auditSearchService.timeline("Meal", 7L, "abc", 50))
+            .thenReturn(AuditDTO.SearchResponse.builder().entries(List.of()).build());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/audit-logs/{entityType}/{entityId}", "Meal", 7L)
+                .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.entries").isEmpty());
+    }
+}
@@ -7,6 +7,8 @@ import com.shakhawat.meal.exception.DuplicateResourceException;
 import com.shakhawat.meal.exception.ResourceNotFoundException;
 import com.shakhawat.meal.security.JwtAuthenticationFilter;
 import com.shakhawat.meal.service.EmployeeService;
+import com.shakhawat.meal.service.ExportService;
+import com.shakhawat.meal.util.ExportFormat;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -18,12 +20,16 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -44,6 +50,9 @@ class EmployeeControllerTest {
     @MockitoBean
     EmployeeService employeeService;
 
+    @MockitoBean
+    ExportService exportService;
+
     @MockitoBean
     JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -432,4 +441,45 @@ class EmployeeControllerTest {
         }
 
     }
+
+    @Nested
+    @DisplayName("Export Employees Tests")
+    class ExportEmployeesTests {
+
+        @Test
+        @DisplayName("Should stream employees as an NDJSON attachment")
+        @WithMockUser(roles = "ADMIN")
+        void shouldStreamEmployeesAsNdJson() throws Exception {
+            // Given
+            when(exportService.exportEmployees(eq(ExportFormat.NDJSON), any())).thenAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(1);
+                out.write("{\"id\":1,\"name\":\"John Doe\"}\n".getBytes(StandardCharsets.UTF_8));
+                return 1L;
+            });
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/employees/export")
+                            .param("format", "NDJSON"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.ndjson\""))
+                    .andExpect(content().string("{\"id\":1,\"name\":\"John Doe\"}\n"));
+        }
+
+        @Test
+        @DisplayName("Should return 403 when cafeteria staff exports employees")
+        @WithMockUser(roles = "CAFETERIA_STAFF")
+        void shouldReturn403ForStaff() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/api/v1/employees/export"))
+                    .andExpect(status().isForbidden());
+
+            verify(exportService, never()).exportEmployees(any(), any());
+        }
+    }
 }
@@ -3,7 +3,9 @@ package com.shakhawat.meal.controller;
 import com.shakhawat.meal.dto.MealOrderDTO;
 import com.shakhawat.meal.entity.OrderStatus;
 import com.shakhawat.meal.security.JwtAuthenticationFilter;
+import com.shakhawat.meal.service.ExportService;
 import com.shakhawat.meal.service.MealOrderService;
+import com.shakhawat.meal.util.ExportFormat;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,9 +16,13 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,6 +43,9 @@ class MealOrderControllerTest {
     @MockitoBean
     private MealOrderService orderService;
 
+    @MockitoBean
+    private ExportService exportService;
+
     @MockitoBean  // Mock the JwtAuthenticationFilter
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -158,4 +167,66 @@ class MealOrderControllerTest {
                     .andExpect(jsonPath("$.data.status").value("CONFIRMED"));
         }
     }
+
+    @Nested
+    @DisplayName("Export Orders Tests")
+    class ExportOrdersTests {
+
+        private final LocalDate startDate = LocalDate.of(2026, 3, 1);
+        private final LocalDate endDate = LocalDate.of(2026, 3, 31);
+
+        @Test
+        @DisplayName("Should stream orders as a CSV attachment")
+        @WithMockUser(roles = "CAFETERIA_STAFF")
+        void shouldStreamOrdersAsCsv() throws Exception {
+            // Given
+            when(exportService.exportOrders(eq(startDate), eq(endDate), eq(ExportFormat.CSV), any())).thenAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(3);
+                out.write("id,orderDate\r\n1,2026-03-01\r\n".getBytes(StandardCharsets.UTF_8));
+                return 1L;
+            });
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/orders/export")
+                            .param("startDate", "2026-03-01")
+                            .param("endDate", "2026-03-31"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(header().string("Content-Disposition",
+                            "attachment; filename=\"orders_2026-03-01_2026-03-31.csv\""))
+                    .andExpect(content().string("id,orderDate\r\n1,2026-03-01\r\n"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when endDate is before startDate")
+        @WithMockUser(roles = "ADMIN")
+        void shouldRejectReversedRange() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/api/v1/orders/export")
+                            .param("startDate", "2026-03-31")
+                            .param("endDate", "2026-03-01"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+
+            verify(exportService, never()).exportOrders(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 403 when an employee exports orders")
+        @WithMockUser(roles = "EMPLOYEE")
+        void shouldReturn403ForEmployee() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/api/v1/orders/export")
+                            .param("startDate", "2026-03-01")
+                            .param("endDate", "2026-03-31"))
+                    .andExpect(status().isForbidden());
+
+            verify(exportService, never()).exportOrders(any(), any(), any(), any());
+        }
+    }
 }
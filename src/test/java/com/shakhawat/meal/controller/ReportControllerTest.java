@@ -13,7 +13,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -153,6 +153,27 @@ class ReportControllerTest {
                 .andExpect(jsonPath("$.data.totalActions").value(100));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldReturnNotModifiedForUnchangedClosedPeriod() throws Exception {
+        // Given
+        LocalDate testDate = LocalDate.of(2026, 2, 10);
+        when(reportService.generateDailyReport(testDate)).thenReturn(DailyOperationsReport.builder()
+            .reportDate(testDate)
+            .totalOrders(4)
+            .build());
+        String etag = mockMvc.perform(get("/api/v1/reports/daily/{date}", testDate))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/reports/daily/{date}", testDate)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(reportService, times(1)).generateDailyReport(testDate);
+    }
+
     @Test
     @WithMockUser(roles = {"EMPLOYEE"})
     void shouldDenyAccessToEmployeePerformanceReport() throws Exception {
@@ -0,0 +1,76 @@
+package com.shakhawat.meal.performance;
+
+import com.shakhawat.meal.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous validate-then-parse filter path with single-pass parsing
+ * and with the verified-token cache.
+ * Run the main method from the IDE, or after {@code mvn test-compile} with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main JwtValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "BenchmarkSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong!@#";
+
+    private SecretKey key;
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        cachedProvider = newProvider(10_000L);
+        uncachedProvider = newProvider(0L);
+        token = cachedProvider.generateAccessToken(1L, "bench@example.com", "ROLE_EMPLOYEE");
+    }
+
+    /** Previous filter behaviour: two parser builds and two signature checks */
+    @Benchmark
+    public String validateThenParse() {
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return uncachedProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims cachedParse() {
+        return cachedProvider.parseClaims(token);
+    }
+
+    private static JwtTokenProvider newProvider(long cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 900000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,179 @@
+package com.shakhawat.meal.performance;
+
+import com.shakhawat.meal.dto.reports.EmployeePerformanceReport;
+import com.shakhawat.meal.dto.reports.MealPerformanceReport;
+import com.shakhawat.meal.dto.rows.EmployeeOrderStatsRow;
+import com.shakhawat.meal.dto.rows.MealPerformanceRow;
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.service.impl.ReportRowConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the previous conversion of Object[] report rows, with per-cell casts and one stream per
+ * total or ranking, with the single pass over typed rows in {@link ReportRowConverter}.
+ * Only conversion is measured; the rows are built once in setup.
+ * Run the main method from the IDE, or after {@code mvn test-compile} with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main ReportConversionBenchmark}.
+ * Add {@code -prof gc} to compare allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportConversionBenchmark {
+
+    @Param({"100", "5000"})
+    private int rows;
+
+    private List<Object[]> employeeArrays;
+    private List<EmployeeOrderStatsRow> employeeRows;
+    private List<Object[]> mealArrays;
+    private List<MealPerformanceRow> mealRows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate day = LocalDate.of(2026, 3, 2);
+        employeeArrays = new ArrayList<>(rows);
+        employeeRows = new ArrayList<>(rows);
+        mealArrays = new ArrayList<>(rows);
+        mealRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            BigDecimal budget = new BigDecimal("500.00");
+            BigDecimal spent = BigDecimal.valueOf(random.nextInt(80_000), 2);
+            long orders = 1 + random.nextInt(40);
+            BigDecimal avg = spent.divide(BigDecimal.valueOf(orders), 6, RoundingMode.HALF_UP);
+            String department = "Department " + (i % 12);
+            employeeArrays.add(new Object[]{"Employee " + i, department, budget, spent, orders, avg, day});
+            employeeRows.add(new EmployeeOrderStatsRow("Employee " + i, department, budget, spent, orders, spent, avg, day));
+
+            BigDecimal price = BigDecimal.valueOf(200 + random.nextInt(1_500), 2);
+            BigDecimal revenue = price.multiply(BigDecimal.valueOf(orders));
+            MealType type = MealType.values()[i % MealType.values().length];
+            mealArrays.add(new Object[]{"Meal " + i, type, price, orders, revenue, price, Boolean.TRUE});
+            mealRows.add(new MealPerformanceRow("Meal " + i, type, price, orders, revenue, price, Boolean.TRUE));
+        }
+    }
+
+    /** Previous employee report: one stream for the stats, then a grouping, a sort and a filter over them */
+    @Benchmark
+    public void employeeArraysPreviously(Blackhole blackhole) {
+        List<EmployeePerformanceReport.EmployeeStats> employees = employeeArrays.stream()
+            .map(data -> EmployeePerformanceReport.EmployeeStats.builder()
+                .employeeName(asString(data[0]))
+                .department(asString(data[1]))
+                .monthlyBudget(asBigDecimal(data[2]))
+                .currentSpent(asBigDecimal(data[3]))
+                .totalOrders(asInt(data[4]))
+                .avgOrderValue(BigDecimal.valueOf(asDouble(data[5])))
+                .lastOrderDate((LocalDate) data[6])
+                .utilizationPercentage(asBigDecimal(data[2]).compareTo(BigDecimal.ZERO) > 0 ?
+                    asBigDecimal(data[3]).divide(asBigDecimal(data[2]), 4, RoundingMode.HALF_UP).doubleValue() * 100 : 0.0)
+                .build())
+            .collect(Collectors.toList());
+
+        Map<String, List<EmployeePerformanceReport.EmployeeStats>> grouped = employees.stream()
+            .collect(Collectors.groupingBy(emp -> {
+                Double util = emp.getUtilizationPercentage();
+                return util > 100 ? "OVER_BUDGET" : util < 50 ? "UNDER_UTILIZED" : "ON_TRACK";
+            }));
+        List<EmployeePerformanceReport.BudgetAnalysis> budgetAnalysis = grouped.entrySet().stream()
+            .map(entry -> EmployeePerformanceReport.BudgetAnalysis.builder()
+                .category(entry.getKey())
+                .employeeCount(entry.getValue().size())
+                .totalBudget(entry.getValue().stream().map(EmployeePerformanceReport.EmployeeStats::getMonthlyBudget).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .totalSpent(entry.getValue().stream().map(EmployeePerformanceReport.EmployeeStats::getCurrentSpent).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .percentageOfEmployees(entry.getValue().size() * 100.0 / employees.size())
+                .build())
+            .collect(Collectors.toList());
+        List<EmployeePerformanceReport.EmployeeStats> topPerformers = employees.stream()
+            .sorted(Comparator.comparing(EmployeePerformanceReport.EmployeeStats::getTotalOrders).reversed())
+            .limit(10)
+            .collect(Collectors.toList());
+        List<EmployeePerformanceReport.EmployeeStats> overruns = employees.stream()
+            .filter(emp -> emp.getUtilizationPercentage() > 100)
+            .sorted(Comparator.comparing(EmployeePerformanceReport.EmployeeStats::getUtilizationPercentage).reversed())
+            .collect(Collectors.toList());
+
+        blackhole.consume(employees);
+        blackhole.consume(budgetAnalysis);
+        blackhole.consume(topPerformers);
+        blackhole.consume(overruns);
+    }
+
+    @Benchmark
+    public ReportRowConverter.EmployeeSummary employeeRowsSinglePass() {
+        return ReportRowConverter.employeeStats(employeeRows);
+    }
+
+    /** Previous meal report: one stream for the stats and a full sort for each ranking */
+    @Benchmark
+    public void mealArraysPreviously(Blackhole blackhole) {
+        List<MealPerformanceReport.MealStats> meals = mealArrays.stream()
+            .map(data -> MealPerformanceReport.MealStats.builder()
+                .mealName(asString(data[0]))
+                .mealType(asString(data[1]))
+                .unitPrice(asBigDecimal(data[2]))
+                .timesOrdered(asInt(data[3]))
+                .totalRevenue(asBigDecimal(data[4]))
+                .avgOrderValue(asDouble(data[5]))
+                .currentlyAvailable((Boolean) data[6])
+                .build())
+            .collect(Collectors.toList());
+        blackhole.consume(meals);
+        blackhole.consume(meals.stream()
+            .sorted(Comparator.comparing(MealPerformanceReport.MealStats::getTotalRevenue).reversed())
+            .limit(10)
+            .collect(Collectors.toList()));
+        blackhole.consume(meals.stream()
+            .sorted(Comparator.comparing(MealPerformanceReport.MealStats::getTimesOrdered))
+            .limit(5)
+            .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public ReportRowConverter.MealSummary mealRowsSinglePass() {
+        return ReportRowConverter.mealStats(mealRows);
+    }
+
+    private static int asInt(Object value) {
+        if (value == null) return 0;
+        if (value instanceof Number number) return number.intValue();
+        return Integer.parseInt(value.toString());
+    }
+
+    private static double asDouble(Object value) {
+        if (value == null) return 0.0;
+        if (value instanceof Number number) return number.doubleValue();
+        return Double.parseDouble(value.toString());
+    }
+
+    private static BigDecimal asBigDecimal(Object value) {
+        if (value == null) return BigDecimal.ZERO;
+        if (value instanceof BigDecimal bigDecimal) return bigDecimal;
+        if (value instanceof Number number) return BigDecimal.valueOf(number.doubleValue());
+        return new BigDecimal(value.toString());
+    }
+
+    private static String asString(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReportConversionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.shakhawat.meal.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.assertj.core.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = newProvider("TestSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForTesting!@#", 900000L);
+    }
+
+    @Test
+    @DisplayName("Should parse and verify a valid token into its claims")
+    void shouldParseValidToken() {
+        // Given
+        String token = tokenProvider.generateAccessToken(1L, "test@example.com", "ROLE_EMPLOYEE");
+
+        // When
+        Claims claims = tokenProvider.parseClaims(token);
+
+        // Then
+        assertThat(claims).isNotNull();
+        assertThat(claims.getSubject()).isEqualTo("test@example.com");
+        assertThat(claims.get("roles", String.class)).isEqualTo("ROLE_EMPLOYEE");
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+        assertThat(tokenProvider.getUsernameFromToken(token)).isEqualTo("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should resolve the employee principal from token claims")
+    void shouldResolvePrincipalFromClaims() {
+        // Given
+        String token = tokenProvider.generateAccessToken(42L, "staff@example.com", "ROLE_EMPLOYEE,ROLE_CAFETERIA_STAFF");
+
+        // When
+        AuthenticatedEmployee principal = AuthenticatedEmployee.fromClaims(tokenProvider.parseClaims(token));
+
+        // Then
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(principal.getName()).isEqualTo("staff@example.com");
+        assertThat(principal.getRoles()).containsExactlyInAnyOrder("ROLE_EMPLOYEE", "ROLE_CAFETERIA_STAFF");
+        assertThat(principal.isPrivileged()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should serve repeat verifications of the same token from the cache")
+    void shouldReuseVerifiedClaims() {
+        // Given
+        String token = tokenProvider.generateAccessToken(1L, "test@example.com", "ROLE_EMPLOYEE");
+
+        // When
+        Claims first = tokenProvider.parseClaims(token);
+        Claims second = tokenProvider.parseClaims(token);
+
+        // Then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with another key")
+    void shouldRejectForeignSignature() {
+        // Given
+        JwtTokenProvider other = newProvider("AnotherSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong!@#", 900000L);
+        String token = other.generateAccessToken(1L, "test@example.com", "ROLE_ADMIN");
+
+        // When / Then
+        assertThat(tokenProvider.parseClaims(token)).isNull();
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject expired, malformed and empty tokens")
+    void shouldRejectInvalidTokens() {
+        // Given
+        JwtTokenProvider expiring = newProvider("TestSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForTesting!@#", -1000L);
+        String expired = expiring.generateAccessToken(1L, "test@example.com", "ROLE_EMPLOYEE");
+
+        // When / Then
+        assertThat(tokenProvider.parseClaims(expired)).isNull();
+        assertThat(tokenProvider.parseClaims("not-a-jwt")).isNull();
+        assertThat(tokenProvider.parseClaims("")).isNull();
+        assertThat(tokenProvider.parseClaims(null)).isNull();
+    }
+
+    private static JwtTokenProvider newProvider(String secret, long expiration) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", 100L);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,121 @@
+package com.shakhawat.meal.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.List;
+import java.util.Set;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxEntries", 1000L);
+        ReflectionTestUtils.setField(filter, "idleExpiryMinutes", 10L);
+        ReflectionTestUtils.setField(filter, "authCapacity", 2L);
+        ReflectionTestUtils.setField(filter, "authRefillPerMinute", 1L);
+        ReflectionTestUtils.setField(filter, "ordersCapacity", 3L);
+        ReflectionTestUtils.setField(filter, "ordersRefillPerMinute", 1L);
+        ReflectionTestUtils.setField(filter, "reportsCapacity", 1L);
+        ReflectionTestUtils.setField(filter, "reportsRefillPerMinute", 1L);
+        ReflectionTestUtils.setField(filter, "defaultCapacity", 5L);
+        ReflectionTestUtils.setField(filter, "defaultRefillPerMinute", 1L);
+        filter.init();
+        chain = mock(FilterChain.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should throttle anonymous clients per IP with 429 and Retry-After")
+    void shouldThrottleAnonymousClientsPerIp() throws Exception {
+        // When
+        MockHttpServletResponse first = perform("/api/v1/auth/login", "10.0.0.1");
+        MockHttpServletResponse second = perform("/api/v1/auth/login", "10.0.0.1");
+        MockHttpServletResponse third = perform("/api/v1/auth/login", "10.0.0.1");
+        MockHttpServletResponse otherIp = perform("/api/v1/auth/login", "10.0.0.2");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(third.getHeader("Retry-After"))).isBetween(1L, 60L);
+        assertThat(third.getContentAsString()).contains("\"success\":false");
+        assertThat(otherIp.getStatus()).isEqualTo(200);
+        verify(chain, times(3)).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per employee and per route group")
+    void shouldLimitPerEmployeeAndRouteGroup() throws Exception {
+        // Given
+        authenticate(1L);
+
+        // When
+        MockHttpServletResponse report = perform("/api/v1/reports/daily", "10.0.0.1");
+        MockHttpServletResponse secondReport = perform("/api/v1/reports/daily", "10.0.0.1");
+        MockHttpServletResponse order = perform("/api/v1/orders", "10.0.0.1");
+
+        authenticate(2L);
+        MockHttpServletResponse otherEmployeeReport = perform("/api/v1/reports/daily", "10.0.0.1");
+
+        // Then
+        assertThat(report.getStatus()).isEqualTo(200);
+        assertThat(secondReport.getStatus()).isEqualTo(429);
+        assertThat(order.getStatus()).isEqualTo(200);
+        assertThat(otherEmployeeReport.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should not limit requests outside the API")
+    void shouldSkipNonApiRequests() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(perform("/actuator/health", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and refill over time")
+    void shouldRefillTokenBucket() {
+        // Given
+        long start = 0L;
+        TokenBucket bucket = new TokenBucket(2, 60, start); // one token per second
+
+        // Then
+        assertThat(bucket.tryConsume(start)).isZero();
+        assertThat(bucket.tryConsume(start)).isZero();
+        assertThat(bucket.tryConsume(start)).isEqualTo(1_000_000_000L);
+        assertThat(bucket.tryConsume(start + 1_000_000_000L)).isZero();
+        assertThat(bucket.tryConsume(start + 1_000_000_000L)).isPositive();
+    }
+
+    private MockHttpServletResponse perform(String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static void authenticate(Long employeeId) {
+        AuthenticatedEmployee principal = new AuthenticatedEmployee(
+                employeeId, "emp" + employeeId + "@example.com", Set.of("ROLE_EMPLOYEE"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
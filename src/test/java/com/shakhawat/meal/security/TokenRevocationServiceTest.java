@@ -0,0 +1,135 @@
+package com.shakhawat.meal.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.Instant;
+import java.util.Date;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private ApplicationEventPublisher eventPublisher;
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        revocationService = new TokenRevocationService(eventPublisher);
+        ReflectionTestUtils.setField(revocationService, "jwtExpiration", 900000L);
+        ReflectionTestUtils.setField(revocationService, "expectedEntries", 1000L);
+        ReflectionTestUtils.setField(revocationService, "falsePositiveRate", 0.01);
+        revocationService.init();
+    }
+
+    @Test
+    @DisplayName("Should reject a token revoked by id and publish the revocation")
+    void shouldRevokeSingleToken() {
+        // Given
+        Claims revoked = claims("jti-1", 1L, Instant.now());
+        Claims other = claims("jti-2", 1L, Instant.now());
+
+        // When
+        revocationService.revokeToken("jti-1", Instant.now().plusSeconds(600));
+
+        // Then
+        assertThat(revocationService.isRevoked(revoked)).isTrue();
+        assertThat(revocationService.isRevoked(other)).isFalse();
+        verify(eventPublisher).publishEvent(any(TokenRevocationEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before an employee revocation but not after")
+    void shouldRevokeEmployeeTokensIssuedBefore() {
+        // Given
+        Claims before = claims("jti-1", 7L, Instant.now().minusSeconds(60));
+
+        // When
+        revocationService.revokeEmployee(7L);
+
+        // Then
+        assertThat(revocationService.isRevoked(before)).isTrue();
+        assertThat(revocationService.isRevoked(claims("jti-2", 7L, Instant.now().plusSeconds(5)))).isFalse();
+        assertThat(revocationService.isRevoked(claims("jti-3", 8L, Instant.now().minusSeconds(60)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should accept a token re-issued in the same second as an employee revocation")
+    void shouldAcceptTokenReissuedInSameSecond() {
+        // Given
+        Instant second = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+        Instant revokedAt = second.plusMillis(400);
+
+        // When
+        revocationService.apply(new TokenRevocationEvent(
+                TokenRevocationEvent.Kind.EMPLOYEE, "7", revokedAt.toEpochMilli()));
+
+        // Then
+        assertThat(revocationService.isRevoked(claims("jti-1", 7L, second.plusMillis(200)))).isTrue();
+        assertThat(revocationService.isRevoked(claims("jti-2", 7L, second.plusMillis(600)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should apply remote revocations without re-publishing them")
+    void shouldApplyRemoteRevocation() {
+        // Given
+        long expiry = Instant.now().plusSeconds(600).toEpochMilli();
+        TokenRevocationEvent event = TokenRevocationEvent.fromMessage("TOKEN|jti-9|" + expiry);
+
+        // When
+        revocationService.apply(event);
+
+        // Then
+        assertThat(revocationService.isRevoked(claims("jti-9", 1L, Instant.now()))).isTrue();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should forget revocations once the covered tokens have expired")
+    void shouldPurgeExpiredRevocations() {
+        // Given
+        revocationService.apply(new TokenRevocationEvent(
+                TokenRevocationEvent.Kind.TOKEN, "jti-1", Instant.now().plusMillis(50).toEpochMilli()));
+        revocationService.revokeToken("jti-2", Instant.now().plusSeconds(600));
+
+        // When
+        await(100);
+        revocationService.purgeExpired();
+
+        // Then
+        assertThat(revocationService.isRevoked(claims("jti-1", 1L, Instant.now()))).isFalse();
+        assertThat(revocationService.isRevoked(claims("jti-2", 1L, Instant.now()))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should round-trip revocation messages")
+    void shouldRoundTripMessages() {
+        TokenRevocationEvent event = new TokenRevocationEvent(TokenRevocationEvent.Kind.EMPLOYEE, "42", 1700000000000L);
+
+        assertThat(TokenRevocationEvent.fromMessage(event.toMessage())).isEqualTo(event);
+        assertThatThrownBy(() -> TokenRevocationEvent.fromMessage("garbage"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Claims claims(String tokenId, Long employeeId, Instant issuedAt) {
+        return Jwts.claims()
+                .id(tokenId)
+                .subject("test@example.com")
+                .add(JwtTokenProvider.CLAIM_EMPLOYEE_ID, employeeId)
+                .add(JwtTokenProvider.CLAIM_ISSUED_AT_MS, issuedAt.toEpochMilli())
+                .issuedAt(Date.from(issuedAt))
+                .build();
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.shakhawat.meal.service;
+
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.util.List;
+import static org.assertj.core.api.Assertions.*;
+
+class AuditPartitionServiceTest {
+
+    private final List<AuditPartitionService.Partition> partitions = List.of(
+            new AuditPartitionService.Partition("p202610", LocalDate.of(2026, 11, 1)),
+            new AuditPartitionService.Partition("p202611", LocalDate.of(2026, 12, 1)),
+            new AuditPartitionService.Partition("p_future", null));
+
+    @Test
+    @DisplayName("Should split monthly partitions off p_future through the months ahead")
+    void shouldAddPartitionsAhead() {
+        // When
+        String statement = AuditPartitionService.reorganizeStatement(partitions, LocalDate.of(2026, 11, 15), 2);
+
+        // Then
+        assertThat(statement).isEqualTo("ALTER TABLE audit_logs REORGANIZE PARTITION p_future INTO (" +
+                "PARTITION p202612 VALUES LESS THAN (TO_DAYS('2027-01-01')), " +
+                "PARTITION p202701 VALUES LESS THAN (TO_DAYS('2027-02-01')), " +
+                "PARTITION p_future VALUES LESS THAN MAXVALUE)");
+    }
+
+    @Test
+    @DisplayName("Should not reorganize when future partitions already exist")
+    void shouldSkipWhenPartitionsExist() {
+        assertThat(AuditPartitionService.reorganizeStatement(partitions, LocalDate.of(2026, 10, 19), 1)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should expire only partitions entirely older than the retention window")
+    void shouldFindExpiredPartitions() {
+        // When
+        List<AuditPartitionService.Partition> stillKept =
+                AuditPartitionService.expiredPartitions(partitions, LocalDate.of(2027, 10, 31), 12);
+        List<AuditPartitionService.Partition> expired =
+                AuditPartitionService.expiredPartitions(partitions, LocalDate.of(2027, 11, 1), 12);
+
+        // Then
+        assertThat(stillKept).isEmpty();
+        assertThat(expired).extracting(AuditPartitionService.Partition::name).containsExactly("p202610");
+    }
+
+    @Test
+    @DisplayName("Should convert MySQL TO_DAYS partition bounds to dates")
+    void shouldConvertPartitionBounds() {
+        assertThat(AuditPartitionService.toDate("739921")).isEqualTo(LocalDate.of(2025, 11, 1));
+        assertThat(AuditPartitionService.toDate("MAXVALUE")).isNull();
+    }
+}
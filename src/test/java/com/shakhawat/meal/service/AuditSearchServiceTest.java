@@ -0,0 +1,96 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.AuditDTO;
+import com.shakhawat.meal.entity.AuditLog;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import com.shakhawat.meal.repository.AuditLogRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AuditSearchServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 2, 8, 0);
+
+    @Autowired
+    private AuditSearchService auditSearchService;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Two records share each timestamp so paging must break ties on id
+        for (int i = 0; i < 10; i++) {
+            auditLogRepository.save(auditLog("Meal", 7L, i % 2 == 0 ? "UPDATE" : "CREATE", BASE.plusMinutes(i / 2)));
+            auditLogRepository.save(auditLog("MealOrder", 3L, "DELETE", BASE.plusMinutes(i / 2)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through an entity timeline newest first without gaps or repeats")
+    void shouldPageEntityTimeline() {
+        // When
+        List<AuditDTO.Entry> entries = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AuditDTO.SearchResponse page = auditSearchService.timeline("Meal", 7L, cursor, 3);
+            entries.addAll(page.getEntries());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertThat(pages).isEqualTo(4);
+        assertThat(entries).hasSize(10)
+                .allMatch(entry -> entry.getEntityType().equals("Meal"))
+                .extracting(AuditDTO.Entry::getId).doesNotHaveDuplicates();
+        assertThat(entries).extracting(AuditDTO.Entry::getTimestamp)
+                .isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    @Test
+    @DisplayName("Should combine action and time filters")
+    void shouldFilterByActionAndTime() {
+        // When
+        AuditDTO.SearchResponse response = auditSearchService.search(AuditDTO.Criteria.builder()
+                .action("UPDATE")
+                .from(BASE.plusMinutes(1))
+                .to(BASE.plusMinutes(3))
+                .build(), null, 50);
+
+        // Then
+        assertThat(response.getEntries()).hasSize(3).allMatch(entry -> entry.getAction().equals("UPDATE"));
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject an entity id without its type and a malformed cursor")
+    void shouldRejectInvalidInput() {
+        assertThatThrownBy(() -> auditSearchService.search(
+                AuditDTO.Criteria.builder().entityId(7L).build(), null, 10))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> auditSearchService.timeline("Meal", 7L, "not-a-cursor", 10))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private AuditLog auditLog(String entityType, Long entityId, String action, LocalDateTime timestamp) {
+        return AuditLog.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .action(action)
+                .userId("admin@example.com")
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.shakhawat.meal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shakhawat.meal.entity.AuditLog;
+import com.shakhawat.meal.entity.Employee;
+import com.shakhawat.meal.entity.EmployeeStatus;
+import com.shakhawat.meal.entity.Meal;
+import com.shakhawat.meal.entity.MealOrder;
+import com.shakhawat.meal.entity.Role;
+import com.shakhawat.meal.util.AuditSnapshot;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditServiceTest {
+
+    private AuditWriter auditWriter;
+    private AuditService auditService;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        auditWriter = mock(AuditWriter.class);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        auditService = new AuditService(auditWriter, mock(SuspiciousActivityDetector.class), objectMapper);
+        ReflectionTestUtils.setField(auditService, "compressionThreshold", 2048);
+
+        employee = Employee.builder()
+                .id(1L)
+                .name("John Doe")
+                .email("john@example.com")
+                .password("{bcrypt}$2a$10$hash")
+                .department("IT")
+                .status(EmployeeStatus.ACTIVE)
+                .monthlyBudget(new BigDecimal("500.00"))
+                .build();
+        employee.addRole(Role.ROLE_EMPLOYEE);
+    }
+
+    @Test
+    @DisplayName("Should record only the changed fields of an update")
+    void shouldRecordOnlyChangedFields() {
+        // Given
+        AuditSnapshot before = AuditSnapshot.of(employee);
+        employee.setDepartment("Finance");
+        employee.setMonthlyBudget(new BigDecimal("500.0"));
+        employee.addRole(Role.ROLE_ADMIN);
+
+        // When
+        auditService.logUpdate("Employee", 1L, before, AuditSnapshot.of(employee));
+
+        // Then
+        AuditLog auditLog = submitted();
+        assertThat(auditLog.getAction()).isEqualTo("UPDATE");
+        assertThat(auditLog.getOldValue())
+                .isEqualTo("{\"department\":\"IT\",\"roles\":[\"ROLE_EMPLOYEE\"]}");
+        assertThat(auditLog.getNewValue())
+                .isEqualTo("{\"department\":\"Finance\",\"roles\":[\"ROLE_ADMIN\",\"ROLE_EMPLOYEE\"]}");
+    }
+
+    @Test
+    @DisplayName("Should redact sensitive fields and skip updates without changes")
+    void shouldRedactSensitiveFields() {
+        // Given
+        AuditSnapshot before = AuditSnapshot.of(employee);
+
+        // When
+        auditService.logUpdate("Employee", 1L, before, AuditSnapshot.of(employee));
+        employee.setPassword("{bcrypt}$2a$10$other");
+        auditService.logUpdate("Employee", 1L, before, AuditSnapshot.of(employee));
+        auditService.logCreate("Employee", 1L, AuditSnapshot.of(employee));
+
+        // Then
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(auditWriter, times(2)).submit(captor.capture());
+        AuditLog update = captor.getAllValues().get(0);
+        AuditLog create = captor.getAllValues().get(1);
+        assertThat(update.getOldValue()).isEqualTo("{\"password\":\"[REDACTED]\"}");
+        assertThat(update.getNewValue()).isEqualTo("{\"password\":\"[REDACTED]\"}");
+        assertThat(create.getNewValue())
+                .contains("\"email\":\"john@example.com\"", "\"password\":\"[REDACTED]\"")
+                .doesNotContain("$2a$10$", "version", "createdAt");
+    }
+
+    @Test
+    @DisplayName("Should record associations by id without loading them")
+    void shouldRecordAssociationIds() {
+        // Given
+        MealOrder order = MealOrder.builder()
+                .id(5L)
+                .employee(employee)
+                .meal(Meal.builder().id(9L).name("Lunch").build())
+                .orderDate(LocalDate.of(2026, 1, 15))
+                .quantity(2)
+                .totalPrice(new BigDecimal("25.00"))
+                .build();
+
+        // When
+        auditService.logCreate("MealOrder", 5L, AuditSnapshot.of(order));
+
+        // Then
+        assertThat(submitted().getNewValue()).isEqualTo(
+                "{\"id\":5,\"employee\":1,\"meal\":9,\"orderDate\":\"2026-01-15\",\"quantity\":2," +
+                "\"totalPrice\":25.00,\"status\":\"PENDING\"}");
+    }
+
+    @Test
+    @DisplayName("Should compress values above the threshold")
+    void shouldCompressLargeValues() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(auditService, "compressionThreshold", 64);
+        Meal meal = Meal.builder().id(3L).name("Lunch").description("x".repeat(500)).build();
+
+        // When
+        auditService.logCreate("Meal", 3L, AuditSnapshot.of(meal));
+
+        // Then
+        String value = submitted().getNewValue();
+        assertThat(value).startsWith(AuditService.COMPRESSED_PREFIX).hasSizeLessThan(200);
+        byte[] compressed = Base64.getDecoder().decode(value.substring(AuditService.COMPRESSED_PREFIX.length()));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).contains("x".repeat(500));
+        }
+    }
+
+    private AuditLog submitted() {
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(auditWriter).submit(captor.capture());
+        return captor.getValue();
+    }
+}
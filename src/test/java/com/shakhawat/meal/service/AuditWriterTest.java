@@ -0,0 +1,169 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.entity.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditWriter auditWriter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        auditWriter = newWriter(AuditWriter.OverflowPolicy.DROP_NEWEST, 3);
+    }
+
+    @Test
+    @DisplayName("Should insert pending records in batches within one transaction each")
+    void shouldWriteInBatches() {
+        // Given
+        auditWriter = newWriter(AuditWriter.OverflowPolicy.DROP_NEWEST, 10);
+        for (long i = 1; i <= 5; i++) {
+            auditWriter.submit(auditLog(i));
+        }
+
+        // When
+        int first = auditWriter.flush();
+        int second = auditWriter.flush();
+        int third = auditWriter.flush();
+
+        // Then
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(2);
+        assertThat(third).isEqualTo(1);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(transactionManager, times(3)).commit(any());
+        assertThat(meterRegistry.get("audit.writer.written").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should drop the newest record when the buffer is full")
+    void shouldDropNewestWhenFull() {
+        // Given
+        for (long i = 1; i <= 4; i++) {
+            auditWriter.submit(auditLog(i));
+        }
+
+        // When
+        auditWriter.flush();
+
+        // Then
+        assertThat(writtenEntityIds()).containsExactly(1L, 2L);
+        assertThat(meterRegistry.get("audit.writer.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.writer.pending").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest record when the buffer is full")
+    void shouldDropOldestWhenFull() {
+        // Given
+        auditWriter = newWriter(AuditWriter.OverflowPolicy.DROP_OLDEST, 3);
+        for (long i = 1; i <= 4; i++) {
+            auditWriter.submit(auditLog(i));
+        }
+
+        // When
+        auditWriter.flush();
+
+        // Then
+        assertThat(writtenEntityIds()).containsExactly(2L, 3L);
+        assertThat(meterRegistry.get("audit.writer.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count records lost to a failed insert without throwing")
+    void shouldSurviveFailedInsert() {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new RuntimeException("database down"));
+        auditWriter.submit(auditLog(1L));
+
+        // When
+        assertThatCode(() -> auditWriter.flush()).doesNotThrowAnyException();
+
+        // Then
+        assertThat(meterRegistry.get("audit.writer.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should write every pending record on stop without interrupting the consumer")
+    void shouldDrainOnStop() throws Exception {
+        // Given
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    interrupted.compareAndSet(false, Thread.currentThread().isInterrupted());
+                    return new int[0][];
+                });
+        meterRegistry = new SimpleMeterRegistry();
+        auditWriter = new AuditWriter(jdbcTemplate, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(auditWriter, "capacity", 100);
+        ReflectionTestUtils.setField(auditWriter, "batchSize", 2);
+        ReflectionTestUtils.setField(auditWriter, "flushIntervalMillis", 50L);
+        ReflectionTestUtils.setField(auditWriter, "overflowPolicy", AuditWriter.OverflowPolicy.BLOCK);
+        ReflectionTestUtils.setField(auditWriter, "blockTimeoutMillis", 10L);
+        auditWriter.init();
+        for (long i = 1; i <= 5; i++) {
+            auditWriter.submit(auditLog(i));
+        }
+
+        // When
+        auditWriter.stop();
+
+        // Then
+        assertThat(meterRegistry.get("audit.writer.written").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("audit.writer.failed").counter().count()).isZero();
+        assertThat(interrupted).isFalse();
+    }
+
+    private AuditWriter newWriter(AuditWriter.OverflowPolicy policy, int capacity) {
+        meterRegistry = new SimpleMeterRegistry();
+        AuditWriter writer = new AuditWriter(jdbcTemplate, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(writer, "capacity", capacity);
+        ReflectionTestUtils.setField(writer, "batchSize", 2);
+        ReflectionTestUtils.setField(writer, "flushIntervalMillis", 500L);
+        ReflectionTestUtils.setField(writer, "overflowPolicy", policy);
+        ReflectionTestUtils.setField(writer, "blockTimeoutMillis", 10L);
+        writer.configure();
+        return writer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> writtenEntityIds() {
+        ArgumentCaptor<Collection<AuditLog>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        return batch.getValue().stream().map(AuditLog::getEntityId).toList();
+    }
+
+    private static AuditLog auditLog(Long entityId) {
+        return AuditLog.builder()
+                .entityType("MealOrder")
+                .entityId(entityId)
+                .action("CREATE")
+                .userId("test@example.com")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.AuthDTO;
+import com.shakhawat.meal.entity.Employee;
+import com.shakhawat.meal.entity.RefreshToken;
+import com.shakhawat.meal.entity.Role;
+import com.shakhawat.meal.repository.EmployeeRepository;
+import com.shakhawat.meal.security.AuthenticatedEmployee;
+import com.shakhawat.meal.security.CurrentEmployeeResolver;
+import com.shakhawat.meal.security.JwtTokenProvider;
+import com.shakhawat.meal.security.PasswordVerifier;
+import com.shakhawat.meal.security.TokenRevocationService;
+import com.shakhawat.meal.util.EntityMapper;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EntityMapper entityMapper;
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private PasswordVerifier passwordVerifier;
+
+    @Mock
+    private CurrentEmployeeResolver currentEmployeeResolver;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private DashboardCounters dashboardCounters;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(authService, "jwtExpiration", 900000L);
+
+        employee = Employee.builder()
+                .id(1L)
+                .name("Test User")
+                .email("test@example.com")
+                .password("{bcrypt}hash")
+                .roles(new HashSet<>())
+                .build();
+        employee.addRole(Role.ROLE_EMPLOYEE);
+    }
+
+    @Nested
+    @DisplayName("Login Tests")
+    class LoginTests {
+
+        @Test
+        @DisplayName("Should load the employee once and reuse it for token issuance")
+        void shouldLoginWithSingleLookup() {
+            // Given
+            when(employeeRepository.findByEmail("test@example.com")).thenReturn(Optional.of(employee));
+            when(passwordVerifier.matches("secret", "{bcrypt}hash")).thenReturn(true);
+            when(tokenProvider.generateAccessToken(1L, "test@example.com", "ROLE_EMPLOYEE")).thenReturn("access");
+            when(refreshTokenService.createRefreshToken(eq(employee), anyString()))
+                    .thenReturn(RefreshToken.builder().token("refresh").build());
+
+            // When
+            AuthDTO.LoginResponse response = authService.login(new AuthDTO.LoginRequest("test@example.com", "secret"));
+
+            // Then
+            assertThat(response.getAccessToken()).isEqualTo("access");
+            assertThat(response.getRefreshToken()).isEqualTo("refresh");
+            assertThat(response.getExpiresIn()).isEqualTo(900L);
+            assertThat(response.getDeviceId()).isNotBlank();
+            verify(employeeRepository, times(1)).findByEmail("test@example.com");
+            verify(employeeRepository, never()).findById(any());
+            verify(employeeRepository, never()).resetFailedLoginAttempts(any());
+        }
+
+        @Test
+        @DisplayName("Should reject wrong password without issuing tokens")
+        void shouldRejectWrongPassword() {
+            // Given
+            when(employeeRepository.findByEmail("test@example.com")).thenReturn(Optional.of(employee));
+            when(passwordVerifier.matches("wrong", "{bcrypt}hash")).thenReturn(false);
+
+            // When & Then
+            assertThatThrownBy(() -> authService.login(new AuthDTO.LoginRequest("test@example.com", "wrong")))
+                    .isInstanceOf(BadCredentialsException.class);
+
+            verifyNoInteractions(tokenProvider, refreshTokenService);
+            verify(auditService).logLoginFailure("test@example.com", 1L);
+        }
+
+        @Test
+        @DisplayName("Should still run a password check for unknown emails")
+        void shouldCheckPasswordForUnknownEmail() {
+            // Given
+            when(employeeRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> authService.login(new AuthDTO.LoginRequest("nobody@example.com", "secret")))
+                    .isInstanceOf(BadCredentialsException.class);
+
+            verify(passwordVerifier).matches("secret", null);
+            verifyNoInteractions(tokenProvider, refreshTokenService);
+        }
+
+        @Test
+        @DisplayName("Should reset failed attempts after a successful login")
+        void shouldResetFailedAttempts() {
+            // Given
+            employee.setFailedLoginAttempts(3);
+            when(employeeRepository.findByEmail("test@example.com")).thenReturn(Optional.of(employee));
+            when(passwordVerifier.matches("secret", "{bcrypt}hash")).thenReturn(true);
+            when(refreshTokenService.createRefreshToken(eq(employee), anyString()))
+                    .thenReturn(RefreshToken.builder().token("refresh").build());
+
+            // When
+            authService.login(new AuthDTO.LoginRequest("test@example.com", "secret"));
+
+            // Then
+            verify(employeeRepository).resetFailedLoginAttempts(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the client's device id for its refresh session")
+    void shouldUseClientDeviceId() {
+        // Given
+        when(employeeRepository.findByEmail("test@example.com")).thenReturn(Optional.of(employee));
+        when(passwordVerifier.matches("secret", "{bcrypt}hash")).thenReturn(true);
+        when(refreshTokenService.createRefreshToken(employee, "laptop"))
+                .thenReturn(RefreshToken.builder().token("refresh").build());
+
+        // When
+        AuthDTO.LoginResponse response = authService.login(
+                new AuthDTO.LoginRequest("test@example.com", "secret", "laptop"));
+
+        // Then
+        assertThat(response.getDeviceId()).isEqualTo("laptop");
+    }
+
+    @Test
+    @DisplayName("Should revoke the presented access token on logout")
+    void shouldRevokeAccessTokenOnLogout() {
+        // Given
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(currentEmployeeResolver.resolve()).thenReturn(Optional.of(new AuthenticatedEmployee(
+                1L, "test@example.com", Set.of("ROLE_EMPLOYEE"), "jti-1", expiresAt)));
+
+        // When
+        authService.logout(new AuthDTO.LogoutRequest("refresh"));
+
+        // Then
+        verify(refreshTokenService).revokeToken("refresh");
+        verify(tokenRevocationService).revokeToken("jti-1", expiresAt);
+    }
+}
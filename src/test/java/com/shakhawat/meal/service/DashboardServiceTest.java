@@ -0,0 +1,172 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.AnalyticsDTO.Accuracy;
+import com.shakhawat.meal.dto.DashboardDTO;
+import com.shakhawat.meal.dto.OrderExportRow;
+import com.shakhawat.meal.dto.rows.RevenueTotalRow;
+import com.shakhawat.meal.entity.MealOrder;
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.entity.OrderStatus;
+import com.shakhawat.meal.repository.EmployeeOrderRollupRepository;
+import com.shakhawat.meal.repository.EmployeeRepository;
+import com.shakhawat.meal.repository.MealOrderRepository;
+import com.shakhawat.meal.repository.MealRepository;
+import com.shakhawat.meal.repository.OrderRollupRepository;
+import com.shakhawat.meal.util.OrderSketch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceTest {
+
+    private final LocalDate today = LocalDate.now();
+
+    private MealOrderRepository orderRepository;
+    private MealRepository mealRepository;
+    private EmployeeRepository employeeRepository;
+    private ParallelQueryExecutor queryExecutor;
+    private OrderSketchService orderSketchService;
+    private DashboardCounters dashboardCounters;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(MealOrderRepository.class);
+        mealRepository = mock(MealRepository.class);
+        employeeRepository = mock(EmployeeRepository.class);
+        EmployeeOrderRollupRepository employeeRollupRepository = mock(EmployeeOrderRollupRepository.class);
+        when(orderRepository.count()).thenReturn(100L);
+        when(mealRepository.count()).thenReturn(10L);
+        when(employeeRepository.count()).thenReturn(20L);
+        when(orderRepository.countByOrderDate(today)).thenReturn(4L);
+        OrderRollupRepository orderRollupRepository = mock(OrderRollupRepository.class);
+        when(orderRollupRepository.calculateRevenueBetween(any(), any()))
+                .thenReturn(new RevenueTotalRow(new BigDecimal("40.00"), 3L));
+        when(employeeRollupRepository.countDistinctEmployeesBetween(any(), any())).thenReturn(7L);
+
+        queryExecutor = new ParallelQueryExecutor(mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(queryExecutor, "threads", 2);
+        ReflectionTestUtils.setField(queryExecutor, "queueCapacity", 10);
+        ReflectionTestUtils.setField(queryExecutor, "timeoutMillis", 2000L);
+        queryExecutor.init();
+
+        orderSketchService = mock(OrderSketchService.class);
+        OrderSketch sketch = OrderSketch.empty();
+        sketch.add(new OrderExportRow(1L, today, 5L, "Employee 5", "IT", 10L, "Meal 10", MealType.LUNCH, 1,
+                new BigDecimal("12.50"), OrderStatus.PENDING, today.atTime(12, 0)));
+        when(orderSketchService.sketch(any(), any())).thenReturn(sketch);
+
+        dashboardCounters = new DashboardCounters();
+        dashboardService = new DashboardService(orderRepository, mealRepository, employeeRepository, queryExecutor,
+                mock(OrderCube.class), orderSketchService, employeeRollupRepository, orderRollupRepository,
+                dashboardCounters);
+        ReflectionTestUtils.setField(dashboardService, "rebuildIntervalMillis", 3600000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from the snapshot")
+    void shouldServeFromSnapshot() {
+        // When
+        DashboardDTO.Response first = dashboardService.getDashboardStats(Accuracy.EXACT);
+        DashboardDTO.Response second = dashboardService.getDashboardStats(Accuracy.EXACT);
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(second.getTotalOrders()).isEqualTo(100L);
+        assertThat(second.getMonthlyRevenue()).isEqualByComparingTo("40.00");
+        assertThat(second.getMonthlyActiveEmployees()).isEqualTo(7L);
+        verify(orderRepository, times(1)).count();
+        verify(employeeRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("Should serve approximate active employees from the snapshot")
+    void shouldServeApproxFromSnapshot() {
+        // When
+        DashboardDTO.Response first = dashboardService.getDashboardStats(Accuracy.APPROX);
+        DashboardDTO.Response second = dashboardService.getDashboardStats(Accuracy.APPROX);
+
+        // Then
+        assertThat(first.getMonthlyActiveEmployees()).isEqualTo(1L);
+        assertThat(second.getMonthlyActiveEmployees()).isEqualTo(1L);
+        assertThat(dashboardService.getDashboardStats(Accuracy.EXACT).getMonthlyActiveEmployees()).isEqualTo(7L);
+        verify(orderSketchService, times(1)).sketch(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should add changes recorded since the snapshot was built")
+    void shouldApplyRecordedChanges() {
+        // Given
+        dashboardService.getDashboardStats(Accuracy.EXACT);
+
+        // When
+        dashboardCounters.recordOrderCreated(order(today, "12.50"));
+        dashboardCounters.recordOrderCreated(order(today.plusMonths(1).withDayOfMonth(1), "5.00"));
+        dashboardCounters.recordMealsChanged(-1);
+        dashboardCounters.recordEmployeesChanged(2);
+        DashboardDTO.Response response = dashboardService.getDashboardStats(Accuracy.EXACT);
+
+        // Then
+        assertThat(response.getTotalOrders()).isEqualTo(102L);
+        assertThat(response.getTodayOrders()).isEqualTo(5L);
+        assertThat(response.getMonthlyRevenue()).isEqualByComparingTo("52.50");
+        assertThat(response.getTotalMeals()).isEqualTo(9L);
+        assertThat(response.getTotalEmployees()).isEqualTo(22L);
+        verify(orderRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("Should fold recorded changes into the figures on rebuild")
+    void shouldResetChangesOnRebuild() {
+        // Given
+        dashboardService.getDashboardStats(Accuracy.EXACT);
+        dashboardCounters.recordOrderCreated(order(today, "12.50"));
+        when(orderRepository.count()).thenReturn(101L);
+        ReflectionTestUtils.setField(dashboardService, "rebuildIntervalMillis", 0L);
+
+        // When
+        dashboardService.refreshSnapshot();
+
+        // Then
+        assertThat(dashboardService.getDashboardStats(Accuracy.EXACT).getTotalOrders()).isEqualTo(101L);
+    }
+
+    @Test
+    @DisplayName("Should only re-read top meals and recent orders between rebuilds")
+    void shouldRefreshListingsBetweenRebuilds() {
+        // Given
+        dashboardService.getDashboardStats(Accuracy.EXACT);
+        dashboardCounters.recordOrderCreated(order(today, "12.50"));
+
+        // When
+        dashboardService.refreshSnapshot();
+        DashboardDTO.Response response = dashboardService.getDashboardStats(Accuracy.EXACT);
+
+        // Then
+        assertThat(response.getTotalOrders()).isEqualTo(101L);
+        assertThat(response.getTodayOrders()).isEqualTo(5L);
+        verify(orderRepository, times(1)).count();
+        verify(mealRepository, times(1)).count();
+        verify(orderRepository, times(2)).findTopMealsByDateRange(any(), any(), any());
+        verify(orderRepository, times(2)).findRecentOrdersWithDetails(any());
+    }
+
+    private MealOrder order(LocalDate orderDate, String totalPrice) {
+        return MealOrder.builder()
+                .orderDate(orderDate)
+                .quantity(1)
+                .totalPrice(new BigDecimal(totalPrice))
+                .build();
+    }
+}
@@ -7,6 +7,8 @@ import com.shakhawat.meal.entity.Role;
 import com.shakhawat.meal.exception.DuplicateResourceException;
 import com.shakhawat.meal.exception.ResourceNotFoundException;
 import com.shakhawat.meal.repository.EmployeeRepository;
+import com.shakhawat.meal.security.TokenRevocationService;
+import com.shakhawat.meal.util.AuditSnapshot;
 import com.shakhawat.meal.util.EntityMapper;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,6 +33,15 @@ class EmployeeServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private DashboardCounters dashboardCounters;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -92,7 +103,7 @@ class EmployeeServiceTest {
 
             verify(employeeRepository).existsByEmail("john@example.com");
             verify(employeeRepository).save(any(Employee.class));
-            verify(auditService).logCreate(eq("Employee"), eq(1L), anyString());
+            verify(auditService).logCreate(eq("Employee"), eq(1L), any(AuditSnapshot.class));
         }
 
         @Test
@@ -233,7 +244,30 @@ class EmployeeServiceTest {
             assertThat(result).isNotNull();
             verify(employeeRepository).findById(1L);
             verify(employeeRepository).save(any(Employee.class));
-            verify(auditService).logUpdate(eq("Employee"), eq(1L), anyString(), anyString());
+            verify(auditService).logUpdate(eq("Employee"), eq(1L), any(AuditSnapshot.class), any(AuditSnapshot.class));
+            verifyNoInteractions(tokenRevocationService);
+        }
+
+        @Test
+        @DisplayName("Should revoke tokens when roles change")
+        void shouldRevokeTokensWhenRolesChange() {
+            // Given
+            when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+            when(employeeRepository.save(any())).thenReturn(employee);
+
+            EmployeeDTO.UpdateRequest updateRequest = EmployeeDTO.UpdateRequest.builder()
+                    .name("John Doe")
+                    .email("john@example.com")
+                    .department("IT")
+                    .roles(Set.of(Role.ROLE_ADMIN))
+                    .build();
+
+            // When
+            employeeService.updateEmployee(1L, updateRequest);
+
+            // Then
+            verify(refreshTokenService).revokeAllTokensForEmployee(1L);
+            verify(tokenRevocationService).revokeEmployee(1L);
         }
 
         @Test
@@ -274,7 +308,9 @@ class EmployeeServiceTest {
             // Then
             verify(employeeRepository).findById(1L);
             verify(employeeRepository).delete(employee);
-            verify(auditService).logDelete(eq("Employee"), eq(1L), anyString());
+            verify(auditService).logDelete(eq("Employee"), eq(1L), any(AuditSnapshot.class));
+            verify(refreshTokenService).revokeAllTokensForEmployee(1L);
+            verify(tokenRevocationService).revokeEmployee(1L);
         }
 
         @Test
@@ -290,4 +326,44 @@ class EmployeeServiceTest {
             verify(employeeRepository, never()).delete((Employee) any());
         }
     }
+
+    @Nested
+    @DisplayName("Lock Employee Tests")
+    class LockEmployeeTests {
+
+        @Test
+        @DisplayName("Should lock the account and revoke its tokens")
+        void shouldLockAndRevokeTokens() {
+            // Given
+            when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+            when(employeeRepository.save(any())).thenReturn(employee);
+
+            // When
+            employeeService.lockEmployee(1L);
+
+            // Then
+            assertThat(employee.getAccountNonLocked()).isFalse();
+            assertThat(employee.getLockTime()).isNotNull();
+            verify(refreshTokenService).revokeAllTokensForEmployee(1L);
+            verify(tokenRevocationService).revokeEmployee(1L);
+        }
+
+        @Test
+        @DisplayName("Should unlock the account and reset failed attempts")
+        void shouldUnlockAccount() {
+            // Given
+            employee.setAccountNonLocked(false);
+            employee.setFailedLoginAttempts(5);
+            when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+            when(employeeRepository.save(any())).thenReturn(employee);
+
+            // When
+            employeeService.unlockEmployee(1L);
+
+            // Then
+            assertThat(employee.getAccountNonLocked()).isTrue();
+            assertThat(employee.getFailedLoginAttempts()).isZero();
+            verifyNoInteractions(tokenRevocationService);
+        }
+    }
 }
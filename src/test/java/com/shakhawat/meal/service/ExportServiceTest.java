@@ -0,0 +1,89 @@
+package com.shakhawat.meal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shakhawat.meal.dto.EmployeeExportRow;
+import com.shakhawat.meal.dto.OrderExportRow;
+import com.shakhawat.meal.entity.EmployeeStatus;
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.entity.OrderStatus;
+import com.shakhawat.meal.repository.EmployeeRepository;
+import com.shakhawat.meal.repository.MealOrderRepository;
+import com.shakhawat.meal.util.ExportFormat;
+import org.junit.jupiter.api.*;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExportServiceTest {
+
+    private final LocalDate startDate = LocalDate.of(2026, 3, 1);
+    private final LocalDate endDate = LocalDate.of(2026, 3, 31);
+
+    private MealOrderRepository orderRepository;
+    private EmployeeRepository employeeRepository;
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(MealOrderRepository.class);
+        employeeRepository = mock(EmployeeRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportService(orderRepository, employeeRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should write every order in the range as CSV and close the cursor")
+    void shouldExportOrdersAsCsv() throws Exception {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(orderRepository.streamExportRows(startDate, endDate)).thenReturn(Stream.of(
+                new OrderExportRow(1L, startDate, 7L, "John Doe", "IT", 3L, "Chicken Biryani", MealType.LUNCH,
+                        2, new BigDecimal("25.00"), OrderStatus.CONFIRMED, LocalDateTime.of(2026, 2, 28, 9, 30)))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = exportService.exportOrders(startDate, endDate, ExportFormat.CSV, out);
+
+        // Then
+        assertThat(count).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).containsExactly(
+                "id,orderDate,employeeId,employeeName,department,mealId,mealName,mealType,quantity,totalPrice,status,createdAt",
+                "1,2026-03-01,7,John Doe,IT,3,Chicken Biryani,LUNCH,2,25.00,CONFIRMED,2026-02-28T09:30");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should write one JSON line per employee")
+    void shouldExportEmployeesAsNdJson() throws Exception {
+        // Given
+        when(employeeRepository.streamExportRows()).thenReturn(Stream.of(
+                employee(1L, "John Doe"),
+                employee(2L, "Jane Roe")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = exportService.exportEmployees(ExportFormat.NDJSON, out);
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).contains("\"name\":\"Jane Roe\"").doesNotContain("password");
+    }
+
+    private EmployeeExportRow employee(Long id, String name) {
+        return new EmployeeExportRow(id, name, "user" + id + "@example.com", "IT", EmployeeStatus.ACTIVE,
+                new BigDecimal("500.00"), BigDecimal.ZERO, 30);
+    }
+}
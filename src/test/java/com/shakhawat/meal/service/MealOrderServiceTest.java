@@ -6,6 +6,9 @@ import com.shakhawat.meal.exception.DuplicateResourceException;
 import com.shakhawat.meal.exception.InvalidOperationException;
 import com.shakhawat.meal.exception.ResourceNotFoundException;
 import com.shakhawat.meal.repository.*;
+import com.shakhawat.meal.security.AuthenticatedEmployee;
+import com.shakhawat.meal.security.CurrentEmployeeResolver;
+import com.shakhawat.meal.util.AuditSnapshot;
 import com.shakhawat.meal.util.EntityMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,10 +17,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.util.ReflectionTestUtils;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Optional;
+import java.util.Set;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +48,18 @@ class MealOrderServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private OrderRollupService orderRollupService;
+
+    @Mock
+    private OrderRateTracker orderRateTracker;
+
+    @Mock
+    private DashboardCounters dashboardCounters;
+
+    @Mock
+    private CurrentEmployeeResolver currentEmployeeResolver;
+
     @InjectMocks
     private MealOrderService orderService;
 
@@ -139,7 +156,8 @@ class MealOrderServiceTest {
             verify(orderRepository).save(any(MealOrder.class));
             verify(inventoryService).reserveMeal(1L, orderRequest.getOrderDate(), 2);
             verify(employeeRepository).save(any(Employee.class));
-            verify(auditService).logCreate(eq("MealOrder"), eq(1L), anyString());
+            verify(auditService).logCreate(eq("MealOrder"), eq(1L), any(AuditSnapshot.class));
+            verify(orderRateTracker).recordPlaced(mealOrder);
         }
 
         @Test
@@ -254,6 +272,7 @@ class MealOrderServiceTest {
             assertThatThrownBy(() -> orderService.createOrder(orderRequest))
                     .isInstanceOf(InvalidOperationException.class)
                     .hasMessageContaining("budget exceeded");
+            verify(orderRateTracker).recordRejected(RejectionReason.BUDGET_EXCEEDED);
         }
 
         @Test
@@ -295,7 +314,7 @@ class MealOrderServiceTest {
             verify(inventoryService).releaseMeal(1L, mealOrder.getOrderDate(), 2);
             verify(employeeRepository).save(employee);
             verify(orderRepository).save(any(MealOrder.class));
-            verify(auditService).logUpdate(eq("MealOrder"), eq(1L), anyString(), anyString());
+            verify(auditService).logUpdate(eq("MealOrder"), eq(1L), any(AuditSnapshot.class), any(AuditSnapshot.class));
         }
 
         @Test
@@ -344,7 +363,55 @@ class MealOrderServiceTest {
             // Then
             assertThat(result).isNotNull();
             verify(orderRepository).save(any(MealOrder.class));
-            verify(auditService).logUpdate(eq("MealOrder"), eq(1L), anyString(), anyString());
+            verify(auditService).logUpdate(eq("MealOrder"), eq(1L), any(AuditSnapshot.class), any(AuditSnapshot.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Authorization Tests")
+    class AuthorizationTests {
+
+        @Test
+        @DisplayName("Should deny employee acting on another employee without a repository lookup")
+        void shouldDenyEmployeeActingOnAnotherEmployee() {
+            // Given
+            when(currentEmployeeResolver.resolve()).thenReturn(Optional.of(
+                    new AuthenticatedEmployee(2L, "jane@example.com", Set.of("ROLE_EMPLOYEE"))));
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.getOrdersByEmployee(1L))
+                    .isInstanceOf(AccessDeniedException.class);
+
+            verifyNoInteractions(employeeRepository, orderRepository);
+        }
+
+        @Test
+        @DisplayName("Should allow privileged user to access any order")
+        void shouldAllowPrivilegedUserToAccessAnyOrder() {
+            // Given
+            when(currentEmployeeResolver.resolve()).thenReturn(Optional.of(
+                    new AuthenticatedEmployee(99L, "admin@example.com", Set.of("ROLE_ADMIN"))));
+            when(orderRepository.findById(1L)).thenReturn(Optional.of(mealOrder));
+            when(entityMapper.toDto(any(MealOrder.class))).thenReturn(orderResponse);
+
+            // When
+            MealOrderDTO.Response result = orderService.getOrderById(1L);
+
+            // Then
+            assertThat(result).isEqualTo(orderResponse);
+            verifyNoInteractions(employeeRepository);
+        }
+
+        @Test
+        @DisplayName("Should deny employee listing orders by date")
+        void shouldDenyEmployeeListingOrdersByDate() {
+            // Given
+            when(currentEmployeeResolver.resolve()).thenReturn(Optional.of(
+                    new AuthenticatedEmployee(1L, "john@example.com", Set.of("ROLE_EMPLOYEE"))));
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.getOrdersByDate(LocalDate.now()))
+                    .isInstanceOf(AccessDeniedException.class);
         }
     }
 }
@@ -0,0 +1,118 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.AnalyticsDTO;
+import com.shakhawat.meal.dto.AnalyticsDTO.Dimension;
+import com.shakhawat.meal.dto.OrderExportRow;
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.entity.OrderStatus;
+import com.shakhawat.meal.exception.ServiceUnavailableException;
+import com.shakhawat.meal.repository.MealOrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderAnalyticsServiceTest {
+
+    // A Monday
+    private static final LocalDate BASE = LocalDate.of(2026, 1, 5);
+
+    @TempDir
+    Path directory;
+
+    private MealOrderRepository orderRepository;
+    private OrderAnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(MealOrderRepository.class);
+        analyticsService = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        analyticsService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should group and sum snapshot orders by department and weekday")
+    void shouldAggregateByDimensions() {
+        // Given
+        List<OrderExportRow> rows = new ArrayList<>();
+        rows.add(row(1L, BASE, "IT", "99.00", OrderStatus.CANCELLED));
+        for (int day = 0; day < 14; day++) {
+            rows.add(row(rows.size() + 1L, BASE.plusDays(day), "IT", "10.00", OrderStatus.DELIVERED));
+            rows.add(row(rows.size() + 1L, BASE.plusDays(day), "HR", "2.50", OrderStatus.DELIVERED));
+        }
+        when(orderRepository.streamExportRows(any(), any())).thenAnswer(invocation -> rows.stream());
+        analyticsService.rebuild();
+
+        // When
+        AnalyticsDTO.Response response = analyticsService.aggregate(AnalyticsDTO.Query.builder()
+                .groupBy(List.of(Dimension.DEPARTMENT, Dimension.WEEKDAY))
+                .startDate(BASE)
+                .endDate(BASE.plusDays(6))
+                .statuses(Set.of(OrderStatus.DELIVERED))
+                .build());
+
+        // Then
+        assertThat(response.getRowsScanned()).isEqualTo(15);
+        assertThat(response.getRows()).hasSize(14);
+        AnalyticsDTO.Row first = response.getRows().get(0);
+        assertThat(first.getKeys()).containsExactly("IT", "MONDAY");
+        assertThat(first.getOrders()).isEqualTo(1);
+        assertThat(first.getQuantity()).isEqualTo(2);
+        assertThat(first.getAmount()).isEqualByComparingTo("10.00");
+        assertThat(response.getRows().get(7).getKeys()).containsExactly("HR", "MONDAY");
+    }
+
+    @Test
+    @DisplayName("Should reopen the latest snapshot on startup and report unavailability without one")
+    void shouldReopenSnapshot() {
+        // Given
+        assertThatThrownBy(() -> analyticsService.aggregate(AnalyticsDTO.Query.builder().build()))
+                .isInstanceOf(ServiceUnavailableException.class);
+        when(orderRepository.streamExportRows(any(), any())).thenAnswer(invocation -> List.of(
+                row(1L, BASE, "IT", "10.00", OrderStatus.DELIVERED),
+                row(2L, BASE.plusMonths(1), "IT", "5.25", OrderStatus.DELIVERED)).stream());
+        analyticsService.rebuild();
+        analyticsService.shutdown();
+
+        // When
+        analyticsService = newService();
+        AnalyticsDTO.Response response = analyticsService.aggregate(AnalyticsDTO.Query.builder()
+                .groupBy(List.of(Dimension.MONTH))
+                .build());
+
+        // Then
+        assertThat(response.getRows()).extracting(AnalyticsDTO.Row::getKeys)
+                .containsExactly(List.of("2026-01"), List.of("2026-02"));
+        assertThat(response.getRows().get(1).getAmount()).isEqualByComparingTo("5.25");
+        assertThat(response.getSnapshotThrough()).isEqualTo(LocalDate.now().minusDays(1));
+    }
+
+    private OrderAnalyticsService newService() {
+        OrderAnalyticsService service = new OrderAnalyticsService(orderRepository,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "directory", directory.toString());
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        ReflectionTestUtils.setField(service, "lagDays", 1);
+        service.init();
+        return service;
+    }
+
+    private OrderExportRow row(Long id, LocalDate date, String department, String amount, OrderStatus status) {
+        return new OrderExportRow(id, date, 100L, "Employee", department, 10L, "Rice Bowl", MealType.LUNCH,
+                2, new BigDecimal(amount), status, date.atTime(12, 0));
+    }
+}
@@ -0,0 +1,163 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.rows.CubeCellRow;
+import com.shakhawat.meal.dto.rows.MealTypeOrderRow;
+import com.shakhawat.meal.dto.rows.RevenueTotalRow;
+import com.shakhawat.meal.entity.Employee;
+import com.shakhawat.meal.entity.Meal;
+import com.shakhawat.meal.entity.MealOrder;
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.entity.OrderStatus;
+import com.shakhawat.meal.repository.OrderRollupRepository;
+import com.shakhawat.meal.util.TestDataBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderCubeTest {
+
+    private final LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
+    private final List<CubeCellRow> rollupCells = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderCube orderCube;
+
+    @BeforeEach
+    void setUp() {
+        OrderRollupRepository rollupRepository = mock(OrderRollupRepository.class);
+        when(rollupRepository.findCubeCells(any(), any())).thenAnswer(invocation -> List.copyOf(rollupCells));
+        meterRegistry = new SimpleMeterRegistry();
+        orderCube = new OrderCube(rollupRepository, mock(PlatformTransactionManager.class), meterRegistry);
+        ReflectionTestUtils.setField(orderCube, "maxDepartments", 8);
+        orderCube.init();
+    }
+
+    @Test
+    @DisplayName("Should answer current-month totals from the loaded cells and later deltas")
+    void shouldAggregateLoadedCellsAndDeltas() {
+        // Given
+        rollupCells.add(new CubeCellRow(firstOfMonth, "IT", MealType.LUNCH, OrderStatus.DELIVERED, 3L, 4L, new BigDecimal("30.00")));
+        rollupCells.add(new CubeCellRow(firstOfMonth, "HR", MealType.BREAKFAST, OrderStatus.CANCELLED, 1L, 1L, new BigDecimal("5.50")));
+        orderCube.reconcile();
+
+        // When
+        orderCube.recordDelta(order("HR", MealType.LUNCH, "12.25"), OrderStatus.PENDING, 1);
+
+        // Then
+        assertThat(orderCube.orderCount(firstOfMonth)).contains(5L);
+        assertThat(orderCube.revenue(firstOfMonth, firstOfMonth.withDayOfMonth(firstOfMonth.lengthOfMonth())))
+                .hasValueSatisfying(revenue -> assertThat(revenue).isEqualByComparingTo("47.75"));
+        List<MealTypeOrderRow> byType = orderCube.mealTypeBreakdown(firstOfMonth).orElseThrow();
+        assertThat(byType).hasSize(2);
+        assertThat(byType.get(0)).isEqualTo(new MealTypeOrderRow(MealType.LUNCH, 4L, new BigDecimal("42.25")));
+        assertThat(orderCube.dailyRevenue(firstOfMonth.minusDays(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should move a cancelled order between statuses without changing totals")
+    void shouldApplyStatusChange() {
+        // Given
+        orderCube.reconcile();
+        MealOrder order = order("IT", MealType.DINNER, "8.00");
+        orderCube.recordDelta(order, OrderStatus.PENDING, 1);
+
+        // When
+        orderCube.recordDelta(order, OrderStatus.PENDING, -1);
+        orderCube.recordDelta(order, OrderStatus.CANCELLED, 1);
+
+        // Then
+        assertThat(orderCube.dailyRevenue(firstOfMonth).orElseThrow())
+                .isEqualTo(new RevenueTotalRow(new BigDecimal("8.00"), 1L));
+    }
+
+    @Test
+    @DisplayName("Should remove a cancelled order from the department it was placed in")
+    void shouldKeepPlacedDepartment() {
+        // Given
+        orderCube.reconcile();
+        MealOrder order = order("IT", MealType.LUNCH, "10.00");
+        orderCube.recordDelta(order, OrderStatus.PENDING, 1);
+
+        // When
+        order.getEmployee().setDepartment("HR");
+        orderCube.recordDelta(order, OrderStatus.PENDING, -1);
+        rollupCells.add(new CubeCellRow(firstOfMonth, "IT", MealType.LUNCH, OrderStatus.PENDING, 0L, 0L, BigDecimal.ZERO));
+        orderCube.reconcile();
+
+        // Then
+        assertThat(orderCube.orderCount(firstOfMonth)).contains(0L);
+        assertThat(meterRegistry.counter("reports.cube.drift").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replace the cube and count drift when the rollups disagree")
+    void shouldReconcileDrift() {
+        // Given
+        orderCube.reconcile();
+        orderCube.recordDelta(order("IT", MealType.LUNCH, "10.00"), OrderStatus.PENDING, 1);
+
+        // When
+        orderCube.reconcile();
+
+        // Then
+        assertThat(orderCube.orderCount(firstOfMonth)).contains(0L);
+        assertThat(meterRegistry.counter("reports.cube.drift").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not add a delta to a cube loaded after the change was made")
+    void shouldNotDoubleCountAcrossReload() {
+        // Given
+        orderCube.reconcile();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            orderCube.recordDelta(order("IT", MealType.LUNCH, "10.00"), OrderStatus.PENDING, 1);
+            // The reload reads the committed rollup row before the after-commit delta runs
+            rollupCells.add(new CubeCellRow(firstOfMonth, "IT", MealType.LUNCH, OrderStatus.PENDING, 1L, 1L, new BigDecimal("10.00")));
+            orderCube.reconcile();
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(orderCube.orderCount(firstOfMonth)).contains(1L);
+    }
+
+    @Test
+    @DisplayName("Should count a quantity difference as drift")
+    void shouldReportQuantityDrift() {
+        // Given
+        rollupCells.add(new CubeCellRow(firstOfMonth, "IT", MealType.LUNCH, OrderStatus.PENDING, 1L, 2L, new BigDecimal("10.00")));
+        orderCube.reconcile();
+
+        // When
+        rollupCells.set(0, new CubeCellRow(firstOfMonth, "IT", MealType.LUNCH, OrderStatus.PENDING, 1L, 3L, new BigDecimal("10.00")));
+        orderCube.reconcile();
+
+        // Then
+        assertThat(meterRegistry.counter("reports.cube.drift").count()).isEqualTo(1.0);
+    }
+
+    private MealOrder order(String department, MealType type, String totalPrice) {
+        Employee employee = TestDataBuilder.createEmployeeBuilder().department(department).build();
+        Meal meal = TestDataBuilder.createMealBuilder().type(type).build();
+        return TestDataBuilder.createMealOrderBuilder(employee, meal)
+                .orderDate(firstOfMonth)
+                .department(department)
+                .totalPrice(new BigDecimal(totalPrice))
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.DashboardDTO;
+import com.shakhawat.meal.entity.MealOrder;
+import com.shakhawat.meal.entity.RejectionReason;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.*;
+
+class OrderRateTrackerTest {
+
+    private static final long MINUTE = 29_000_000L;
+
+    private OrderRateTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new OrderRateTracker(new SimpleMeterRegistry());
+        tracker.init();
+    }
+
+    @Test
+    @DisplayName("Should report each minute's counters, oldest first")
+    void shouldReportPerMinuteCounters() {
+        // Given
+        tracker.add(MINUTE, 0, 2);
+        tracker.add(MINUTE, 2, 1_550);
+        tracker.add(MINUTE + 2, 1, 1);
+        tracker.add(MINUTE + 2, OrderRateTracker.rejectionField(RejectionReason.SOLD_OUT), 3);
+
+        // When
+        DashboardDTO.OrderRate rate = tracker.series(MINUTE, MINUTE + 2);
+
+        // Then
+        assertThat(rate.getMinutes()).hasSize(3);
+        DashboardDTO.MinuteRate first = rate.getMinutes().get(0);
+        assertThat(first.getOrders()).isEqualTo(2);
+        assertThat(first.getRevenue()).isEqualByComparingTo("15.50");
+        assertThat(first.getRejections()).isEmpty();
+        assertThat(rate.getMinutes().get(1).getOrders()).isZero();
+        DashboardDTO.MinuteRate last = rate.getMinutes().get(2);
+        assertThat(last.getCancellations()).isEqualTo(1);
+        assertThat(last.getRejections()).containsEntry(RejectionReason.SOLD_OUT, 3L);
+    }
+
+    @Test
+    @DisplayName("Should clear a slot when its minute comes round again and ignore writes for expired minutes")
+    void shouldReuseSlotsAfterTheWindow() {
+        // Given
+        tracker.add(MINUTE, 0, 5);
+
+        // When
+        tracker.add(MINUTE + OrderRateTracker.MINUTES, 0, 1);
+        tracker.add(MINUTE, 0, 7);
+
+        // Then
+        assertThat(tracker.value(MINUTE, 0)).isZero();
+        assertThat(tracker.value(MINUTE + OrderRateTracker.MINUTES, 0)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not lose concurrent increments")
+    void shouldCountConcurrentWrites() throws Exception {
+        // Given
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int thread = 0; thread < 8; thread++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    tracker.add(MINUTE + i % 4, 0, 1);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        long total = 0;
+        for (long minute = MINUTE; minute < MINUTE + 4; minute++) {
+            total += tracker.value(minute, 0);
+        }
+        assertThat(total).isEqualTo(80_000);
+    }
+
+    @Test
+    @DisplayName("Should count a placed order in the current minute outside a transaction")
+    void shouldRecordPlacedOrder() {
+        // Given
+        MealOrder order = MealOrder.builder().quantity(1).totalPrice(new BigDecimal("9.99")).build();
+
+        // When
+        tracker.recordPlaced(order);
+        tracker.recordRejected(RejectionReason.BUDGET_EXCEEDED);
+
+        // Then
+        DashboardDTO.OrderRate rate = tracker.orderRate(2);
+        assertThat(rate.getMinutes()).hasSize(2);
+        assertThat(rate.getMinutes().stream().mapToLong(DashboardDTO.MinuteRate::getOrders).sum()).isEqualTo(1);
+        assertThatThrownBy(() -> tracker.orderRate(OrderRateTracker.MINUTES + 1))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ParallelQueryExecutorTest {
+
+    private ParallelQueryExecutor queryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        queryExecutor = new ParallelQueryExecutor(mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(queryExecutor, "threads", 4);
+        ReflectionTestUtils.setField(queryExecutor, "queueCapacity", 10);
+        ReflectionTestUtils.setField(queryExecutor, "timeoutMillis", 2000L);
+        queryExecutor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryExecutor.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should run the queries of a batch concurrently")
+    void shouldRunQueriesConcurrently() {
+        // Given: each query waits until all three have started
+        CountDownLatch started = new CountDownLatch(3);
+        ParallelQueryExecutor.Batch batch = queryExecutor.batch();
+
+        // When
+        List<Future<Integer>> results = List.of(
+                batch.submit(() -> awaitOthers(started, 1)),
+                batch.submit(() -> awaitOthers(started, 2)),
+                batch.submit(() -> awaitOthers(started, 3)));
+
+        // Then
+        assertThat(results.stream().map(batch::get).toList()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Should pass the caller's security context to worker threads")
+    void shouldPropagateSecurityContext() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@example.com", null, List.of()));
+        ParallelQueryExecutor.Batch batch = queryExecutor.batch();
+
+        // When
+        Future<String> user = batch.submit(() -> SecurityContextHolder.getContext().getAuthentication().getName());
+
+        // Then
+        assertThat(batch.get(user)).isEqualTo("admin@example.com");
+    }
+
+    @Test
+    @DisplayName("Should fail with 503 once the batch deadline passes")
+    void shouldFailAtDeadline() {
+        // Given
+        ReflectionTestUtils.setField(queryExecutor, "timeoutMillis", 50L);
+        ParallelQueryExecutor.Batch batch = queryExecutor.batch();
+        Future<Integer> slow = batch.submit(() -> awaitOthers(new CountDownLatch(2), 1));
+
+        // When / Then
+        assertThatThrownBy(() -> batch.get(slow)).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(slow.isCancelled()).isTrue();
+    }
+
+    private int awaitOthers(CountDownLatch started, int value) {
+        started.countDown();
+        try {
+            if (!started.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Queries did not run concurrently");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return value;
+    }
+}
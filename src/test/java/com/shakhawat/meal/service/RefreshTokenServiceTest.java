@@ -3,14 +3,21 @@ package com.shakhawat.meal.service;
 import com.shakhawat.meal.entity.Employee;
 import com.shakhawat.meal.entity.RefreshToken;
 import com.shakhawat.meal.exception.InvalidOperationException;
-import com.shakhawat.meal.repository.EmployeeRepository;
+import com.shakhawat.meal.exception.ResourceNotFoundException;
 import com.shakhawat.meal.repository.RefreshTokenRepository;
 import com.shakhawat.meal.security.JwtTokenProvider;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -23,10 +30,13 @@ class RefreshTokenServiceTest {
     private RefreshTokenRepository refreshTokenRepository;
 
     @Mock
-    private EmployeeRepository employeeRepository;
+    private JwtTokenProvider tokenProvider;
 
     @Mock
-    private JwtTokenProvider tokenProvider;
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private RefreshTokenService refreshTokenService;
@@ -36,6 +46,8 @@ class RefreshTokenServiceTest {
 
     @BeforeEach
     void setUp() {
+        refreshTokenService.init();
+
         employee = Employee.builder()
                 .id(1L)
                 .name("Test User")
@@ -45,28 +57,79 @@ class RefreshTokenServiceTest {
         refreshToken = RefreshToken.builder()
                 .id(1L)
                 .employee(employee)
-                .token("test-refresh-token")
+                .deviceId("laptop")
+                .tokenHash(RefreshTokenService.hash("test-refresh-token"))
                 .expiryDate(Instant.now().plusMillis(86400000))
                 .revoked(false)
                 .build();
     }
 
     @Test
-    @DisplayName("Should create refresh token successfully")
+    @DisplayName("Should create refresh token storing only its hash")
     void shouldCreateRefreshTokenSuccessfully() {
         // Given
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(refreshTokenRepository.findByEmployeeIdAndDeviceId(1L, "phone")).thenReturn(Optional.empty());
         when(tokenProvider.generateRefreshToken()).thenReturn("new-refresh-token");
         when(tokenProvider.getRefreshTokenExpiration()).thenReturn(2592000000L);
-        when(refreshTokenRepository.save(any())).thenReturn(refreshToken);
+        when(refreshTokenRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
-        RefreshToken result = refreshTokenService.createRefreshToken(1L);
+        RefreshToken result = refreshTokenService.createRefreshToken(employee, "phone");
 
         // Then
-        assertThat(result).isNotNull();
-        verify(refreshTokenRepository).revokeAllByEmployeeId(1L);
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        assertThat(result.getToken()).isEqualTo("new-refresh-token");
+        assertThat(result.getTokenHash()).hasSize(32).isEqualTo(RefreshTokenService.hash("new-refresh-token"));
+        assertThat(result.getDeviceId()).isEqualTo("phone");
+        verify(refreshTokenRepository, never()).revokeAllByEmployeeId(any());
+    }
+
+    @Test
+    @DisplayName("Should reuse the existing row for the same device session")
+    void shouldReuseDeviceSession() {
+        // Given
+        refreshToken.setRevoked(true);
+        when(refreshTokenRepository.findByEmployeeIdAndDeviceId(1L, "laptop")).thenReturn(Optional.of(refreshToken));
+        when(tokenProvider.generateRefreshToken()).thenReturn("new-refresh-token");
+        when(tokenProvider.getRefreshTokenExpiration()).thenReturn(2592000000L);
+        when(refreshTokenRepository.save(refreshToken)).thenReturn(refreshToken);
+
+        // When
+        RefreshToken result = refreshTokenService.createRefreshToken(employee, "laptop");
+
+        // Then
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getRevoked()).isFalse();
+        assertThat(result.getTokenHash()).isEqualTo(RefreshTokenService.hash("new-refresh-token"));
+    }
+
+    @Test
+    @DisplayName("Should rotate only the presented token")
+    void shouldRotatePresentedToken() {
+        // Given
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("test-refresh-token")))
+                .thenReturn(Optional.of(refreshToken));
+        when(tokenProvider.generateRefreshToken()).thenReturn("rotated-token");
+        when(tokenProvider.getRefreshTokenExpiration()).thenReturn(2592000000L);
+
+        // When
+        RefreshToken result = refreshTokenService.rotateRefreshToken("test-refresh-token");
+
+        // Then
+        assertThat(result.getToken()).isEqualTo("rotated-token");
+        assertThat(result.getTokenHash()).isEqualTo(RefreshTokenService.hash("rotated-token"));
+        verify(refreshTokenRepository, never()).revokeAllByEmployeeId(any());
+    }
+
+    @Test
+    @DisplayName("Should fail for unknown tokens")
+    void shouldFailForUnknownToken() {
+        // Given
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken("unknown"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageNotContaining("unknown");
     }
 
     @Test
@@ -79,7 +142,8 @@ class RefreshTokenServiceTest {
         RefreshToken result = refreshTokenService.verifyExpiration(refreshToken);
 
         // Then
-        assertThat(result).isNotNull();
+        assertThat(result).isEqualTo(refreshToken);
+        verify(refreshTokenRepository, never()).deleteById(any());
     }
 
     @Test
@@ -93,7 +157,12 @@ class RefreshTokenServiceTest {
                 .isInstanceOf(InvalidOperationException.class)
                 .hasMessageContaining("expired");
 
-        verify(refreshTokenRepository).delete(refreshToken);
+        // Committed on its own, not rolled back with the caller's transaction
+        InOrder inOrder = inOrder(transactionManager, refreshTokenRepository);
+        inOrder.verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        inOrder.verify(refreshTokenRepository).deleteById(1L);
+        inOrder.verify(transactionManager).commit(any());
     }
 
     @Test
@@ -112,7 +181,7 @@ class RefreshTokenServiceTest {
     @DisplayName("Should revoke token successfully")
     void shouldRevokeTokenSuccessfully() {
         // Given
-        when(refreshTokenRepository.findByToken("test-token"))
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("test-token")))
                 .thenReturn(Optional.of(refreshToken));
         when(refreshTokenRepository.save(any())).thenReturn(refreshToken);
 
@@ -122,4 +191,25 @@ class RefreshTokenServiceTest {
         // Then
         verify(refreshTokenRepository).save(argThat(token -> token.getRevoked()));
     }
+
+    @Test
+    @DisplayName("Should clean up expired and revoked tokens in batches")
+    @SuppressWarnings("unchecked")
+    void shouldCleanUpInBatches() {
+        // Given
+        ReflectionTestUtils.setField(refreshTokenService, "cleanupBatchSize", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<List<Long>>) invocation.getArgument(0)).doInTransaction(null));
+        when(refreshTokenRepository.findExpiredIds(any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(refreshTokenRepository.findRevokedIds(any())).thenReturn(Collections.emptyList());
+
+        // When
+        refreshTokenService.cleanUpExpiredTokens();
+
+        // Then
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(refreshTokenRepository, times(2)).deleteAllByIdInBatch(any());
+    }
 }
@@ -0,0 +1,225 @@
+package com.shakhawat.meal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shakhawat.meal.dto.ReportJobDTO;
+import com.shakhawat.meal.dto.reports.MonthlyFinancialReport;
+import com.shakhawat.meal.entity.ReportJob;
+import com.shakhawat.meal.entity.ReportJobResult;
+import com.shakhawat.meal.entity.ReportJobStatus;
+import com.shakhawat.meal.entity.ReportType;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import com.shakhawat.meal.repository.ReportJobRepository;
+import com.shakhawat.meal.repository.ReportJobResultRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReportJobServiceTest {
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJobResult> results = new ConcurrentHashMap<>();
+
+    private ReportJobRepository jobRepository;
+    private ReportJobResultRepository resultRepository;
+    private ReportSnapshotService snapshotService;
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(ReportJobRepository.class);
+        resultRepository = mock(ReportJobResultRepository.class);
+        snapshotService = mock(ReportSnapshotService.class);
+        when(jobRepository.save(any(ReportJob.class))).thenAnswer(invocation -> {
+            ReportJob job = invocation.getArgument(0);
+            job.setId(UUID.randomUUID().toString());
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        doAnswer(invocation -> jobs.remove(invocation.<String>getArgument(0)))
+                .when(jobRepository).deleteById(anyString());
+        when(jobRepository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<String>getArgument(0))));
+        when(resultRepository.save(any(ReportJobResult.class))).thenAnswer(invocation -> {
+            ReportJobResult result = invocation.getArgument(0);
+            results.put(result.getJobId(), result);
+            return result;
+        });
+        when(resultRepository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(results.get(invocation.<String>getArgument(0))));
+
+        reportJobService = new ReportJobService(jobRepository, resultRepository, snapshotService,
+                mock(ReportService.class), new ObjectMapper().registerModule(new JavaTimeModule()),
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(reportJobService, "threads", 2);
+        ReflectionTestUtils.setField(reportJobService, "queueCapacity", 10);
+        reportJobService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should attach identical requests to the in-flight job and store the result compressed")
+    void shouldDeduplicateInFlightJobs() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(snapshotService.monthly(2026, 3)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new ReportSnapshotService.Result<>(MonthlyFinancialReport.builder()
+                    .reportPeriod(LocalDate.of(2026, 3, 1))
+                    .monthlyRevenue(BigDecimal.valueOf(1200))
+                    .build(), "etag", true);
+        });
+        ReportJobDTO.Request request = ReportJobDTO.Request.builder()
+                .type(ReportType.MONTHLY)
+                .year(2026)
+                .month(3)
+                .build();
+
+        // When
+        ReportJobDTO.Response first = reportJobService.submit(request, "admin@example.com");
+        ReportJobDTO.Response second = reportJobService.submit(request, "other@example.com");
+        release.countDown();
+
+        // Then
+        assertThat(second.getJobId()).isEqualTo(first.getJobId());
+        assertThat(first.getParameters()).isEqualTo("2026-03");
+        verify(jobRepository, times(1)).save(any(ReportJob.class));
+        awaitStatus(first.getJobId(), ReportJobStatus.COMPLETED);
+        assertThat(reportJobService.getResult(first.getJobId()).get("monthlyRevenue").decimalValue())
+                .isEqualByComparingTo("1200");
+        verify(snapshotService, times(1)).monthly(2026, 3);
+    }
+
+    @Test
+    @DisplayName("Should drop its own job when an identical request registers first")
+    void shouldAttachWhenRaceIsLost() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(snapshotService.monthly(2026, 3)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new ReportSnapshotService.Result<>(
+                    MonthlyFinancialReport.builder().reportPeriod(LocalDate.of(2026, 3, 1)).build(), "etag", true);
+        });
+        ReportJobDTO.Request request = ReportJobDTO.Request.builder()
+                .type(ReportType.MONTHLY)
+                .year(2026)
+                .month(3)
+                .build();
+        AtomicBoolean raced = new AtomicBoolean();
+        AtomicReference<String> winner = new AtomicReference<>();
+        when(jobRepository.save(any(ReportJob.class))).thenAnswer(invocation -> {
+            ReportJob job = invocation.getArgument(0);
+            job.setId(UUID.randomUUID().toString());
+            jobs.put(job.getId(), job);
+            if (raced.compareAndSet(false, true)) {
+                // The identical request saves and registers its job while this one is being saved
+                winner.set(reportJobService.submit(request, "other@example.com").getJobId());
+            }
+            return job;
+        });
+
+        // When
+        String jobId = reportJobService.submit(request, "admin@example.com").getJobId();
+        release.countDown();
+
+        // Then
+        assertThat(jobId).isEqualTo(winner.get());
+        assertThat(jobs).containsOnlyKeys(jobId);
+        verify(jobRepository, times(1)).deleteById(anyString());
+        awaitStatus(jobId, ReportJobStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should start a new job once the previous identical one has finished")
+    void shouldStartNewJobAfterCompletion() throws Exception {
+        // Given
+        when(snapshotService.monthly(2026, 3)).thenReturn(new ReportSnapshotService.Result<>(
+                MonthlyFinancialReport.builder().reportPeriod(LocalDate.of(2026, 3, 1)).build(), "etag", true));
+        ReportJobDTO.Request request = ReportJobDTO.Request.builder()
+                .type(ReportType.MONTHLY)
+                .year(2026)
+                .month(3)
+                .build();
+        String firstId = reportJobService.submit(request, "admin@example.com").getJobId();
+        awaitStatus(firstId, ReportJobStatus.COMPLETED);
+
+        // When
+        String secondId = reportJobService.submit(request, "admin@example.com").getJobId();
+
+        // Then
+        assertThat(secondId).isNotEqualTo(firstId);
+    }
+
+    @Test
+    @DisplayName("Should keep attaching identical requests until the result is stored")
+    void shouldAttachWhileResultIsStored() throws Exception {
+        // Given
+        when(snapshotService.monthly(2026, 3)).thenReturn(new ReportSnapshotService.Result<>(
+                MonthlyFinancialReport.builder().reportPeriod(LocalDate.of(2026, 3, 1)).build(), "etag", true));
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(resultRepository.save(any(ReportJobResult.class))).thenAnswer(invocation -> {
+            storing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            ReportJobResult result = invocation.getArgument(0);
+            results.put(result.getJobId(), result);
+            return result;
+        });
+        ReportJobDTO.Request request = ReportJobDTO.Request.builder()
+                .type(ReportType.MONTHLY)
+                .year(2026)
+                .month(3)
+                .build();
+        String firstId = reportJobService.submit(request, "admin@example.com").getJobId();
+        assertThat(storing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        String secondId = reportJobService.submit(request, "other@example.com").getJobId();
+        release.countDown();
+
+        // Then
+        assertThat(secondId).isEqualTo(firstId);
+        awaitStatus(firstId, ReportJobStatus.COMPLETED);
+        verify(snapshotService, times(1)).monthly(2026, 3);
+    }
+
+    @Test
+    @DisplayName("Should reject incomplete parameters and unfinished results")
+    void shouldValidateRequests() {
+        // When / Then
+        assertThatThrownBy(() -> reportJobService.submit(ReportJobDTO.Request.builder()
+                .type(ReportType.AUDIT)
+                .startDate(LocalDate.of(2026, 2, 1))
+                .endDate(LocalDate.of(2026, 1, 1))
+                .build(), "admin@example.com"))
+                .isInstanceOf(InvalidOperationException.class);
+
+        ReportJob queued = jobRepository.save(ReportJob.builder().status(ReportJobStatus.QUEUED).build());
+        assertThatThrownBy(() -> reportJobService.getResult(queued.getId()))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private void awaitStatus(String jobId, ReportJobStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (jobs.get(jobId).getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(jobs.get(jobId).getStatus()).isEqualTo(status);
+    }
+}
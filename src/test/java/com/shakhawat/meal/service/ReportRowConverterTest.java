@@ -0,0 +1,99 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.dto.reports.EmployeePerformanceReport;
+import com.shakhawat.meal.dto.reports.MealPerformanceReport;
+import com.shakhawat.meal.dto.reports.MonthlyFinancialReport;
+import com.shakhawat.meal.dto.rows.DepartmentRevenueRow;
+import com.shakhawat.meal.dto.rows.EmployeeOrderStatsRow;
+import com.shakhawat.meal.dto.rows.MealPerformanceRow;
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.service.impl.ReportRowConverter;
+import org.junit.jupiter.api.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.*;
+
+class ReportRowConverterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    @DisplayName("Should compute department shares of the total revenue in the same conversion")
+    void shouldComputeDepartmentShares() {
+        // Given
+        List<DepartmentRevenueRow> rows = List.of(
+                new DepartmentRevenueRow("IT", 6L, new BigDecimal("75.00"), 3L),
+                new DepartmentRevenueRow("HR", 2L, new BigDecimal("25.00"), 1L));
+
+        // When
+        ReportRowConverter.DepartmentSummary summary = ReportRowConverter.departmentStats(rows);
+
+        // Then
+        assertThat(summary.totalRevenue()).isEqualByComparingTo("100.00");
+        assertThat(summary.departments())
+                .extracting(MonthlyFinancialReport.DepartmentStats::getPercentageOfTotal)
+                .containsExactly(75.0, 25.0);
+    }
+
+    @Test
+    @DisplayName("Should group budgets and keep the ten most active employees with ties in query order")
+    void shouldSummariseEmployees() {
+        // Given
+        List<EmployeeOrderStatsRow> rows = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            // Employee 10 spends 150% of the budget, employee 11 120%, the rest 60%
+            String spent = i == 10 ? "150.00" : i == 11 ? "120.00" : "60.00";
+            rows.add(employee("Employee " + i, i < 6 ? 5L : 3L, spent));
+        }
+
+        // When
+        ReportRowConverter.EmployeeSummary summary = ReportRowConverter.employeeStats(rows);
+
+        // Then
+        assertThat(summary.employees()).hasSize(12);
+        assertThat(summary.topPerformers())
+                .extracting(EmployeePerformanceReport.EmployeeStats::getEmployeeName)
+                .containsExactly("Employee 0", "Employee 1", "Employee 2", "Employee 3", "Employee 4",
+                        "Employee 5", "Employee 6", "Employee 7", "Employee 8", "Employee 9");
+        assertThat(summary.budgetOverruns())
+                .extracting(EmployeePerformanceReport.EmployeeStats::getEmployeeName)
+                .containsExactly("Employee 10", "Employee 11");
+        assertThat(summary.budgetAnalysis())
+                .extracting(EmployeePerformanceReport.BudgetAnalysis::getCategory,
+                        EmployeePerformanceReport.BudgetAnalysis::getEmployeeCount)
+                .containsExactly(tuple("OVER_BUDGET", 2), tuple("ON_TRACK", 10));
+        assertThat(summary.budgetAnalysis().get(0).getTotalSpent()).isEqualByComparingTo("270.00");
+    }
+
+    @Test
+    @DisplayName("Should pick the least ordered meals without sorting the whole list")
+    void shouldFindLeastPopularMeals() {
+        // Given
+        long[] orders = {9, 2, 7, 2, 5, 1, 8};
+        List<MealPerformanceRow> rows = new ArrayList<>();
+        for (int i = 0; i < orders.length; i++) {
+            BigDecimal revenue = BigDecimal.valueOf(100 - i);
+            rows.add(new MealPerformanceRow("Meal " + i, MealType.LUNCH, BigDecimal.TEN, orders[i], revenue,
+                    revenue.divide(BigDecimal.valueOf(orders[i]), 2, RoundingMode.HALF_UP), true));
+        }
+
+        // When
+        ReportRowConverter.MealSummary summary = ReportRowConverter.mealStats(rows);
+
+        // Then
+        assertThat(summary.leastPopularMeals())
+                .extracting(MealPerformanceReport.MealStats::getMealName)
+                .containsExactly("Meal 5", "Meal 1", "Meal 3", "Meal 4", "Meal 2");
+        assertThat(summary.topMeals()).hasSize(7);
+        assertThat(summary.topMeals().get(0).getMealName()).isEqualTo("Meal 0");
+    }
+
+    private EmployeeOrderStatsRow employee(String name, long orders, String spent) {
+        BigDecimal revenue = new BigDecimal(spent);
+        return new EmployeeOrderStatsRow(name, "IT", new BigDecimal("100.00"), revenue, orders, revenue,
+                revenue.divide(BigDecimal.valueOf(orders), 2, RoundingMode.HALF_UP), DAY);
+    }
+}
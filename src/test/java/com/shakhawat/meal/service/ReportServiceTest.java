@@ -1,6 +1,22 @@
 package com.shakhawat.meal.service;
 
 import com.shakhawat.meal.dto.reports.*;
+import com.shakhawat.meal.entity.AuditLog;
+import com.shakhawat.meal.entity.Employee;
+import com.shakhawat.meal.entity.EmployeeOrderRollup;
+import com.shakhawat.meal.entity.Meal;
+import com.shakhawat.meal.entity.MealOrder;
+import com.shakhawat.meal.entity.OrderRollup;
+import com.shakhawat.meal.entity.OrderStatus;
+import com.shakhawat.meal.entity.SecurityAlert;
+import com.shakhawat.meal.repository.AuditLogRepository;
+import com.shakhawat.meal.repository.EmployeeOrderRollupRepository;
+import com.shakhawat.meal.repository.EmployeeRepository;
+import com.shakhawat.meal.repository.MealOrderRepository;
+import com.shakhawat.meal.repository.MealRepository;
+import com.shakhawat.meal.repository.OrderRollupRepository;
+import com.shakhawat.meal.repository.SecurityAlertRepository;
+import com.shakhawat.meal.util.TestDataBuilder;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.junit.jupiter.api.Test;
@@ -9,8 +25,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -20,6 +39,30 @@ class ReportServiceImplTest {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private SecurityAlertRepository securityAlertRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private MealOrderRepository mealOrderRepository;
+
+    @Autowired
+    private OrderRollupService orderRollupService;
+
+    @Autowired
+    private OrderRollupRepository orderRollupRepository;
+
+    @Autowired
+    private EmployeeOrderRollupRepository employeeOrderRollupRepository;
+
     @Test
     void shouldGenerateDailyReport() {
         // Given
@@ -73,6 +116,26 @@ class ReportServiceImplTest {
         assertThat(report.getBudgetAnalysis()).isNotNull();
     }
 
+    @Test
+    void shouldComputeOnlyRequestedSections() {
+        // When
+        MonthlyFinancialReport monthly = reportService.generateMonthlyReport(2026, 1,
+            EnumSet.of(MonthlyFinancialReport.Section.SUMMARY));
+        EmployeePerformanceReport performance = reportService.generateEmployeePerformanceReport(2026, 1,
+            EnumSet.of(EmployeePerformanceReport.Section.TOP_PERFORMERS));
+
+        // Then
+        assertThat(monthly.getReportPeriod()).isEqualTo(LocalDate.of(2026, 1, 1));
+        assertThat(monthly.getMonthlyRevenue()).isNotNull();
+        assertThat(monthly.getBudgetUtilizationRate()).isNotNull();
+        assertThat(monthly.getDepartmentBreakdown()).isNull();
+        assertThat(monthly.getMealPerformance()).isNull();
+        assertThat(monthly.getEmployeeBudgetAnalysis()).isNull();
+        assertThat(performance.getTopPerformers()).isNotNull();
+        assertThat(performance.getEmployeeStats()).isNull();
+        assertThat(performance.getDepartmentStats()).isNull();
+    }
+
     @Test
     void shouldGenerateMealPerformanceReport() {
         // Given
@@ -109,6 +172,115 @@ class ReportServiceImplTest {
         assertThat(report.getUserActivity()).isNotNull();
     }
 
+    @Test
+    void shouldAggregateAuditReportInOnePass() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2026, 2, 10, 9, 0);
+        auditLogRepository.save(auditLog("CREATE", "john@example.com", base));
+        auditLogRepository.save(auditLog("UPDATE", "john@example.com", base.plusHours(1)));
+        auditLogRepository.save(auditLog("DELETE", "admin", base.plusHours(2)));
+        auditLogRepository.save(auditLog("CREATE", "admin", base.plusMonths(1)));
+        securityAlertRepository.save(SecurityAlert.builder()
+            .rule("DELETE_BURST")
+            .userId("admin")
+            .action("DELETE")
+            .entityType("MealOrder")
+            .eventCount(20)
+            .windowSeconds(60)
+            .reason("Burst of deletions")
+            .detectedAt(base.plusHours(2))
+            .build());
+
+        // When
+        AuditReport report = reportService.generateAuditReport(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28));
+
+        // Then
+        assertThat(report.getTotalActions()).isEqualTo(3);
+        assertThat(report.getActionBreakdown()).hasSize(3);
+        assertThat(report.getActionBreakdown().get(0).getFirstAction()).isNotNull();
+        assertThat(report.getUserActivity().get(0).getUserId()).isEqualTo("john@example.com");
+        assertThat(report.getUserActivity().get(0).getActionsPerformed()).containsExactly("CREATE", "UPDATE");
+        assertThat(report.getUserActivity().get(0).getLastActivity()).isEqualTo(base.plusHours(1));
+        assertThat(report.getEntityActivity()).containsEntry("MealOrder", 3);
+        assertThat(report.getSuspiciousActivity()).singleElement()
+            .satisfies(activity -> assertThat(activity.getAction()).isEqualTo("DELETE"));
+    }
+
+    @Test
+    void shouldReportFromOrderRollups() {
+        // Given
+        LocalDate orderDate = LocalDate.of(2026, 4, 15);
+        Employee alice = employeeRepository.save(TestDataBuilder.createEmployeeBuilder()
+            .email("alice.rollup@example.com").department("Finance").build());
+        Employee bob = employeeRepository.save(TestDataBuilder.createEmployeeBuilder()
+            .email("bob.rollup@example.com").department("IT").build());
+        Meal meal = mealRepository.save(TestDataBuilder.createMealBuilder().name("Rollup Lunch").build());
+
+        MealOrder first = mealOrderRepository.save(TestDataBuilder.createMealOrderBuilder(alice, meal)
+            .orderDate(orderDate).quantity(2).totalPrice(new BigDecimal("20.00")).build());
+        MealOrder second = mealOrderRepository.save(TestDataBuilder.createMealOrderBuilder(bob, meal)
+            .orderDate(orderDate).totalPrice(new BigDecimal("10.00")).build());
+        orderRollupService.recordCreated(first);
+        orderRollupService.recordCreated(second);
+
+        // When
+        second.setStatus(OrderStatus.CONFIRMED);
+        orderRollupService.recordStatusChange(second, OrderStatus.PENDING);
+        DailyOperationsReport daily = reportService.generateDailyReport(orderDate);
+        MonthlyFinancialReport monthly = reportService.generateMonthlyReport(2026, 4);
+
+        // Then
+        assertThat(daily.getTotalOrders()).isEqualTo(2);
+        assertThat(daily.getDailyRevenue()).isEqualTo(30.0);
+        assertThat(daily.getUniqueEmployees()).isEqualTo(2);
+        assertThat(daily.getMealTypeBreakdown()).singleElement()
+            .satisfies(stats -> assertThat(stats.getOrderCount()).isEqualTo(2));
+        assertThat(monthly.getMonthlyRevenue()).isEqualByComparingTo("30.00");
+        assertThat(monthly.getDepartmentBreakdown()).extracting(MonthlyFinancialReport.DepartmentStats::getDepartment)
+            .containsExactly("Finance", "IT");
+    }
+
+    @Test
+    void shouldKeepCancelledOrderInTheDepartmentItWasPlacedIn() {
+        // Given
+        LocalDate orderDate = LocalDate.of(2026, 5, 12);
+        Employee carol = employeeRepository.save(TestDataBuilder.createEmployeeBuilder()
+            .email("carol.rollup@example.com").department("Finance").build());
+        Meal meal = mealRepository.save(TestDataBuilder.createMealBuilder().name("Transfer Lunch").build());
+        MealOrder order = mealOrderRepository.save(TestDataBuilder.createMealOrderBuilder(carol, meal)
+            .orderDate(orderDate).totalPrice(new BigDecimal("12.00")).build());
+        orderRollupService.recordCreated(order);
+
+        // When
+        carol.setDepartment("IT");
+        employeeRepository.save(carol);
+        order.setStatus(OrderStatus.CANCELLED);
+        orderRollupService.recordStatusChange(order, OrderStatus.PENDING);
+        Meal dinner = mealRepository.save(TestDataBuilder.createMealBuilder().name("Transfer Dinner").build());
+        MealOrder laterOrder = mealOrderRepository.save(TestDataBuilder.createMealOrderBuilder(carol, dinner)
+            .orderDate(orderDate).totalPrice(new BigDecimal("8.00")).build());
+        orderRollupService.recordCreated(laterOrder);
+
+        // Then
+        assertThat(orderRollupRepository.findAll())
+            .filteredOn(rollup -> rollup.getMealId().equals(meal.getId()))
+            .extracting(OrderRollup::getDepartment, OrderRollup::getStatus, OrderRollup::getOrderCount)
+            .containsExactlyInAnyOrder(
+                tuple("Finance", OrderStatus.PENDING, 0L),
+                tuple("Finance", OrderStatus.CANCELLED, 1L));
+        assertThat(employeeOrderRollupRepository.findAll())
+            .filteredOn(rollup -> rollup.getEmployeeId().equals(carol.getId()))
+            .extracting(EmployeeOrderRollup::getDepartment, EmployeeOrderRollup::getStatus,
+                EmployeeOrderRollup::getOrderCount, EmployeeOrderRollup::getRevenue)
+            .containsExactlyInAnyOrder(
+                tuple("Finance", OrderStatus.PENDING, 0L, new BigDecimal("0.00")),
+                tuple("Finance", OrderStatus.CANCELLED, 1L, new BigDecimal("12.00")),
+                tuple("IT", OrderStatus.PENDING, 1L, new BigDecimal("8.00")));
+        assertThat(reportService.generateMonthlyReport(2026, 5).getDepartmentBreakdown())
+            .extracting(MonthlyFinancialReport.DepartmentStats::getDepartment)
+            .containsExactlyInAnyOrder("Finance", "IT");
+    }
+
     @Test
     void shouldCalculateBudgetUtilizationCorrectly() {
         // Given
@@ -135,4 +307,14 @@ class ReportServiceImplTest {
         assertThat(report.getDailyRevenue()).isEqualTo(0.0);
         assertThat(report.getUniqueEmployees()).isEqualTo(0);
     }
+
+    private AuditLog auditLog(String action, String userId, LocalDateTime timestamp) {
+        return AuditLog.builder()
+            .entityType("MealOrder")
+            .entityId(1L)
+            .action(action)
+            .userId(userId)
+            .timestamp(timestamp)
+            .build();
+    }
 }
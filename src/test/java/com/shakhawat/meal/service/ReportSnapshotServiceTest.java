@@ -0,0 +1,174 @@
+package com.shakhawat.meal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shakhawat.meal.dto.reports.DailyOperationsReport;
+import com.shakhawat.meal.dto.reports.MonthlyFinancialReport;
+import com.shakhawat.meal.entity.ReportSnapshot;
+import com.shakhawat.meal.entity.ReportType;
+import com.shakhawat.meal.exception.InvalidOperationException;
+import com.shakhawat.meal.repository.ReportSnapshotRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReportSnapshotServiceTest {
+
+    private ReportService reportService;
+    private ReportSnapshotRepository snapshotRepository;
+    private ReportSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        reportService = mock(ReportService.class);
+        snapshotRepository = mock(ReportSnapshotRepository.class);
+        when(snapshotRepository.findByReportTypeAndPeriodKey(any(), any())).thenReturn(Optional.empty());
+        when(snapshotRepository.save(any(ReportSnapshot.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        snapshotService = new ReportSnapshotService(reportService, snapshotRepository,
+                new ConcurrentMapCacheManager(ReportSnapshotService.SNAPSHOT_CACHE, ReportSnapshotService.LIVE_CACHE),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(snapshotService, "graceDays", 1);
+    }
+
+    @Test
+    @DisplayName("Should generate a closed day once and serve it from the snapshot afterwards")
+    void shouldSnapshotClosedPeriod() {
+        // Given
+        LocalDate date = LocalDate.now().minusDays(10);
+        when(reportService.generateDailyReport(date)).thenReturn(daily(date, 12));
+
+        // When
+        ReportSnapshotService.Result<DailyOperationsReport> first = snapshotService.daily(date);
+        ReportSnapshotService.Result<DailyOperationsReport> second = snapshotService.daily(date);
+
+        // Then
+        assertThat(first.closed()).isTrue();
+        assertThat(second.report().getTotalOrders()).isEqualTo(12);
+        assertThat(second.report().getReportDate()).isEqualTo(date);
+        assertThat(second.etag()).isEqualTo(first.etag()).hasSize(64);
+        verify(reportService, times(1)).generateDailyReport(date);
+        verify(snapshotRepository, times(1)).save(any(ReportSnapshot.class));
+    }
+
+    @Test
+    @DisplayName("Should compute the current month live without storing a snapshot")
+    void shouldNotSnapshotOpenPeriod() {
+        // Given
+        YearMonth month = YearMonth.now();
+        when(reportService.generateMonthlyReport(month.getYear(), month.getMonthValue()))
+                .thenReturn(MonthlyFinancialReport.builder()
+                        .reportPeriod(month.atDay(1))
+                        .monthlyRevenue(BigDecimal.valueOf(250))
+                        .build());
+
+        // When
+        ReportSnapshotService.Result<MonthlyFinancialReport> result =
+                snapshotService.monthly(month.getYear(), month.getMonthValue());
+
+        // Then
+        assertThat(result.closed()).isFalse();
+        assertThat(result.report().getMonthlyRevenue()).isEqualByComparingTo("250");
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should narrow a cached whole report to the requested sections without regenerating")
+    void shouldNarrowCachedReport() {
+        // Given
+        YearMonth month = YearMonth.now();
+        when(reportService.generateMonthlyReport(month.getYear(), month.getMonthValue()))
+                .thenReturn(MonthlyFinancialReport.builder()
+                        .reportPeriod(month.atDay(1))
+                        .monthlyRevenue(BigDecimal.valueOf(250))
+                        .departmentBreakdown(List.of())
+                        .build());
+        ReportSnapshotService.Result<MonthlyFinancialReport> whole =
+                snapshotService.monthly(month.getYear(), month.getMonthValue());
+
+        // When
+        ReportSnapshotService.Result<MonthlyFinancialReport> summary = snapshotService.monthly(
+                month.getYear(), month.getMonthValue(), EnumSet.of(MonthlyFinancialReport.Section.SUMMARY));
+
+        // Then
+        assertThat(summary.report().getMonthlyRevenue()).isEqualByComparingTo("250");
+        assertThat(summary.report().getDepartmentBreakdown()).isNull();
+        assertThat(summary.etag()).isNotEqualTo(whole.etag()).hasSize(64);
+        verify(reportService, never()).generateMonthlyReport(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should compute and cache only the requested sections of an open period")
+    void shouldGenerateRequestedSections() {
+        // Given
+        YearMonth month = YearMonth.now();
+        EnumSet<MonthlyFinancialReport.Section> sections = EnumSet.of(MonthlyFinancialReport.Section.MEALS);
+        when(reportService.generateMonthlyReport(month.getYear(), month.getMonthValue(), sections))
+                .thenReturn(MonthlyFinancialReport.builder()
+                        .reportPeriod(month.atDay(1))
+                        .mealPerformance(List.of())
+                        .build());
+
+        // When
+        snapshotService.monthly(month.getYear(), month.getMonthValue(), sections);
+        ReportSnapshotService.Result<MonthlyFinancialReport> result =
+                snapshotService.monthly(month.getYear(), month.getMonthValue(), sections);
+
+        // Then
+        assertThat(result.report().getMealPerformance()).isEmpty();
+        verify(reportService, times(1)).generateMonthlyReport(month.getYear(), month.getMonthValue(), sections);
+        verify(reportService, never()).generateMonthlyReport(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should replace the snapshot and bump its version on backfill")
+    void shouldRegenerateSnapshot() {
+        // Given
+        LocalDate date = LocalDate.now().minusDays(10);
+        when(reportService.generateDailyReport(date)).thenReturn(daily(date, 12), daily(date, 15));
+        ReportSnapshotService.Result<DailyOperationsReport> before = snapshotService.daily(date);
+        ReportSnapshot stored = ReportSnapshot.builder()
+                .reportType(ReportType.DAILY)
+                .periodKey(date.toString())
+                .version(1)
+                .etag(before.etag())
+                .build();
+        when(snapshotRepository.findByReportTypeAndPeriodKey(ReportType.DAILY, date.toString()))
+                .thenReturn(Optional.of(stored));
+
+        // When
+        ReportSnapshot regenerated = snapshotService.regenerate(ReportType.DAILY, date.toString());
+        ReportSnapshotService.Result<DailyOperationsReport> after = snapshotService.daily(date);
+
+        // Then
+        assertThat(regenerated.getVersion()).isEqualTo(2);
+        assertThat(after.report().getTotalOrders()).isEqualTo(15);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    @DisplayName("Should refuse to backfill an open period")
+    void shouldRejectRegeneratingOpenPeriod() {
+        // When / Then
+        assertThatThrownBy(() -> snapshotService.regenerate(ReportType.DAILY, LocalDate.now().toString()))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> snapshotService.monthly(2026, 13))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private DailyOperationsReport daily(LocalDate date, int totalOrders) {
+        return DailyOperationsReport.builder()
+                .reportDate(date)
+                .totalOrders(totalOrders)
+                .dailyRevenue(totalOrders * 10.0)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.shakhawat.meal.service;
+
+import com.shakhawat.meal.entity.AuditLog;
+import com.shakhawat.meal.entity.SecurityAlert;
+import com.shakhawat.meal.repository.SecurityAlertRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SuspiciousActivityDetectorTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private SecurityAlertRepository securityAlertRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private SuspiciousActivityDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        securityAlertRepository = mock(SecurityAlertRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        detector = new SuspiciousActivityDetector(securityAlertRepository, meterRegistry);
+        ReflectionTestUtils.setField(detector, "windowSeconds", 60);
+        ReflectionTestUtils.setField(detector, "deleteThreshold", 3);
+        ReflectionTestUtils.setField(detector, "failedLoginThreshold", 2);
+        ReflectionTestUtils.setField(detector, "failedLoginIpThreshold", 3);
+        ReflectionTestUtils.setField(detector, "maxEntries", 1000L);
+        ReflectionTestUtils.setField(detector, "alertQueueCapacity", 10);
+        detector.init();
+    }
+
+    @Test
+    @DisplayName("Should raise one alert when deletions by a user reach the threshold")
+    void shouldAlertOnDeleteBurst() throws InterruptedException {
+        // Given
+        AtomicReference<String> savingThread = new AtomicReference<>();
+        when(securityAlertRepository.save(any())).thenAnswer(invocation -> {
+            savingThread.set(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            detector.onEvent(event("DELETE", "john@example.com", "10.0.0.1"), i * SECOND);
+        }
+        detector.shutdown();
+
+        // Then
+        ArgumentCaptor<SecurityAlert> captor = ArgumentCaptor.forClass(SecurityAlert.class);
+        verify(securityAlertRepository).save(captor.capture());
+        assertThat(captor.getValue().getRule()).isEqualTo("DELETE_BURST");
+        assertThat(captor.getValue().getUserId()).isEqualTo("john@example.com");
+        assertThat(captor.getValue().getEventCount()).isEqualTo(3);
+        assertThat(meterRegistry.get("audit.alerts").tag("rule", "DELETE_BURST").counter().count()).isEqualTo(1);
+        // Saved in the background, not in the transaction of the request that produced the event
+        assertThat(savingThread.get()).startsWith("security-alert-");
+    }
+
+    @Test
+    @DisplayName("Should not alert when events are spread beyond the window")
+    void shouldForgetEventsOutsideWindow() throws InterruptedException {
+        // When
+        for (int i = 0; i < 6; i++) {
+            detector.onEvent(event("DELETE", "john@example.com", "10.0.0.1"), i * 40 * SECOND);
+        }
+        detector.onEvent(event("UPDATE", "john@example.com", "10.0.0.1"), 300 * SECOND);
+        detector.shutdown();
+
+        // Then
+        verify(securityAlertRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should count failed logins per account and per client IP")
+    void shouldAlertOnFailedLogins() throws InterruptedException {
+        // When
+        detector.onEvent(event("LOGIN_FAILED", "a@example.com", "10.0.0.9"), 0);
+        detector.onEvent(event("LOGIN_FAILED", "b@example.com", "10.0.0.9"), SECOND);
+        detector.onEvent(event("LOGIN_FAILED", "c@example.com", "10.0.0.9"), 2 * SECOND);
+        detector.onEvent(event("LOGIN_FAILED", "c@example.com", "10.0.0.7"), 3 * SECOND);
+        detector.shutdown();
+
+        // Then
+        ArgumentCaptor<SecurityAlert> captor = ArgumentCaptor.forClass(SecurityAlert.class);
+        verify(securityAlertRepository, times(2)).save(captor.capture());
+        assertThat(captor.getAllValues()).extracting(SecurityAlert::getRule)
+                .containsExactly("FAILED_LOGINS_IP", "FAILED_LOGINS_USER");
+    }
+
+    private AuditLog event(String action, String userId, String ipAddress) {
+        return AuditLog.builder()
+                .entityType("MealOrder")
+                .entityId(1L)
+                .action(action)
+                .userId(userId)
+                .ipAddress(ipAddress)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
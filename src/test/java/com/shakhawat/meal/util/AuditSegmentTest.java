@@ -0,0 +1,127 @@
+package com.shakhawat.meal.util;
+
+import com.shakhawat.meal.entity.AuditLog;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.*;
+
+class AuditSegmentTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 10, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back only records inside the requested range")
+    void shouldScanTimeRange() throws Exception {
+        // Given
+        writeSegment(1000, 64);
+
+        // When
+        List<AuditLog> records = scan(BASE.plusMinutes(100), BASE.plusMinutes(299));
+
+        // Then
+        assertThat(records).hasSize(200);
+        assertThat(records.get(0).getId()).isEqualTo(101L);
+        assertThat(records.get(199).getId()).isEqualTo(300L);
+        assertThat(records.get(0).getTimestamp()).isEqualTo(BASE.plusMinutes(100));
+    }
+
+    @Test
+    @DisplayName("Should round-trip every field including nulls and text")
+    void shouldRoundTripFields() throws Exception {
+        // Given
+        try (AuditSegment.Writer writer = new AuditSegment.Writer(directory, "audit_logs_p202510", 16)) {
+            writer.append(AuditLog.builder()
+                    .id(7L)
+                    .entityType("Employee")
+                    .entityId(42L)
+                    .action("UPDATE")
+                    .userId("admin@example.com")
+                    .timestamp(BASE.plusNanos(123_456_000))
+                    .oldValue("{\"department\":\"IT\"}")
+                    .newValue("{\"department\":\"Café\"}")
+                    .build());
+        }
+
+        // When
+        AuditLog auditLog = scan(BASE, BASE.plusDays(1)).get(0);
+
+        // Then
+        assertThat(auditLog.getId()).isEqualTo(7L);
+        assertThat(auditLog.getEntityType()).isEqualTo("Employee");
+        assertThat(auditLog.getEntityId()).isEqualTo(42L);
+        assertThat(auditLog.getTimestamp()).isEqualTo(BASE.plusNanos(123_456_000));
+        assertThat(auditLog.getNewValue()).isEqualTo("{\"department\":\"Café\"}");
+        assertThat(auditLog.getIpAddress()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should filter by entity and report range overlap")
+    void shouldFilterByEntity() throws Exception {
+        // Given
+        writeSegment(500, 50);
+
+        // When
+        List<AuditLog> records = new ArrayList<>();
+        try (AuditSegment.Reader reader = AuditSegment.Reader.open(directory.resolve("audit_logs_p202510.idx"))) {
+            reader.scan(BASE, BASE.plusDays(1), auditLog -> auditLog.getEntityId() == 3L, records::add);
+
+            // Then
+            assertThat(reader.getRecordCount()).isEqualTo(500);
+            assertThat(reader.overlaps(BASE.minusDays(1), BASE)).isTrue();
+            assertThat(reader.overlaps(BASE.plusDays(1), BASE.plusDays(2))).isFalse();
+        }
+        assertThat(records).hasSize(50).allMatch(auditLog -> auditLog.getEntityId() == 3L);
+    }
+
+    @Test
+    @DisplayName("Should reject out-of-order records and leave no partial segment")
+    void shouldRejectOutOfOrderRecords() throws Exception {
+        // Given
+        AuditSegment.Writer writer = new AuditSegment.Writer(directory, "audit_logs_p202510", 16);
+        writer.append(record(2, BASE.plusMinutes(1)));
+
+        // When / Then
+        assertThatThrownBy(() -> writer.append(record(1, BASE)))
+                .isInstanceOf(IllegalArgumentException.class);
+        writer.abort();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private void writeSegment(int records, int blockRecords) throws Exception {
+        try (AuditSegment.Writer writer = new AuditSegment.Writer(directory, "audit_logs_p202510", blockRecords)) {
+            for (int i = 0; i < records; i++) {
+                writer.append(record(i + 1, BASE.plusMinutes(i)));
+            }
+        }
+    }
+
+    private List<AuditLog> scan(LocalDateTime start, LocalDateTime end) throws Exception {
+        List<AuditLog> records = new ArrayList<>();
+        try (AuditSegment.Reader reader = AuditSegment.Reader.open(directory.resolve("audit_logs_p202510.idx"))) {
+            reader.scan(start, end, auditLog -> true, records::add);
+        }
+        return records;
+    }
+
+    private AuditLog record(long id, LocalDateTime timestamp) {
+        return AuditLog.builder()
+                .id(id)
+                .entityType("MealOrder")
+                .entityId(id % 10)
+                .action("CREATE")
+                .userId("john@example.com")
+                .timestamp(timestamp)
+                .ipAddress("10.0.0.1")
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.shakhawat.meal.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shakhawat.meal.dto.EmployeeExportRow;
+import com.shakhawat.meal.entity.EmployeeStatus;
+import org.junit.jupiter.api.*;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import static org.assertj.core.api.Assertions.*;
+
+class ExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("Should write a CSV header from the record and quote values that need it")
+    void shouldWriteCsv() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        try (ExportWriter<EmployeeExportRow> writer =
+                     ExportWriter.open(ExportFormat.CSV, EmployeeExportRow.class, out, objectMapper)) {
+            writer.write(row(1L, "Doe, John"));
+            writer.write(row(2L, "=HYPERLINK(\"x\")"));
+        }
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,email,department,status,monthlyBudget,currentMonthSpent,monthlyOrderLimit\r\n" +
+                "1,\"Doe, John\",user1@example.com,IT,ACTIVE,500.00,120.50,30\r\n" +
+                "2,\"'=HYPERLINK(\"\"x\"\")\",user2@example.com,IT,ACTIVE,500.00,120.50,30\r\n");
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line and flush after the first row")
+    void shouldWriteNdJson() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter<EmployeeExportRow> writer =
+                ExportWriter.open(ExportFormat.NDJSON, EmployeeExportRow.class, out, objectMapper);
+
+        // When
+        writer.write(row(1L, "John"));
+        int afterFirstRow = out.size();
+        writer.write(row(2L, "Jane"));
+        writer.close();
+
+        // Then
+        assertThat(afterFirstRow).isPositive();
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[1]).get("name").asText()).isEqualTo("Jane");
+        assertThat(writer.getRows()).isEqualTo(2);
+    }
+
+    private EmployeeExportRow row(Long id, String name) {
+        return new EmployeeExportRow(id, name, "user" + id + "@example.com", "IT", EmployeeStatus.ACTIVE,
+                new BigDecimal("500.00"), new BigDecimal("120.50"), 30);
+    }
+}
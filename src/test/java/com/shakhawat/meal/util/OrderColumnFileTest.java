@@ -0,0 +1,84 @@
+package com.shakhawat.meal.util;
+
+import com.shakhawat.meal.dto.OrderExportRow;
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.entity.OrderStatus;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import static org.assertj.core.api.Assertions.*;
+
+class OrderColumnFileTest {
+
+    private static final LocalDate BASE = LocalDate.of(2026, 1, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should round-trip columns and dictionaries through the mapped file")
+    void shouldRoundTripColumns() throws Exception {
+        // Given
+        try (OrderColumnFile.Writer writer = new OrderColumnFile.Writer(directory, "orders", BASE.plusDays(9))) {
+            writer.append(row(1L, BASE, "IT", 10L, "Rice Bowl", MealType.LUNCH, 2, "12.50", OrderStatus.DELIVERED));
+            writer.append(row(2L, BASE, "HR", 11L, "Omelette", MealType.BREAKFAST, 1, "4.99", OrderStatus.CANCELLED));
+            writer.append(row(3L, BASE.plusDays(3), "IT", 10L, "Rice Bowl", MealType.LUNCH, 3, "18.75", OrderStatus.PENDING));
+        }
+
+        // When
+        try (OrderColumnFile.Reader reader = OrderColumnFile.Reader.open(directory.resolve("orders.col"))) {
+
+            // Then
+            assertThat(reader.getRowCount()).isEqualTo(3);
+            assertThat(reader.getFirstDay()).isEqualTo(BASE);
+            assertThat(reader.getLastDay()).isEqualTo(BASE.plusDays(3));
+            assertThat(reader.getThroughDay()).isEqualTo(BASE.plusDays(9));
+            assertThat(reader.getDepartments()).containsExactly("IT", "HR");
+            assertThat(reader.getMealTypes()).containsExactly("LUNCH", "BREAKFAST");
+            assertThat(reader.getMeals()).containsExactly(
+                    new OrderColumnFile.MealEntry(10L, "Rice Bowl", 0),
+                    new OrderColumnFile.MealEntry(11L, "Omelette", 1));
+
+            assertThat(reader.department(1)).isEqualTo(1);
+            assertThat(reader.meal(2)).isZero();
+            assertThat(reader.getStatuses().get(reader.status(1))).isEqualTo("CANCELLED");
+            assertThat(reader.employeeId(2)).isEqualTo(103L);
+            assertThat(reader.quantity(2)).isEqualTo(3);
+            assertThat(reader.amountCents(1)).isEqualTo(499L);
+            assertThat(reader.epochDay(2)).isEqualTo((int) BASE.plusDays(3).toEpochDay());
+
+            assertThat(reader.firstRowOnOrAfter(BASE)).isZero();
+            assertThat(reader.firstRowOnOrAfter(BASE.plusDays(1))).isEqualTo(2);
+            assertThat(reader.firstRowOnOrAfter(BASE.plusDays(4))).isEqualTo(3);
+        }
+        try (var files = Files.list(directory)) {
+            assertThat(files).extracting(path -> path.getFileName().toString()).containsExactly("orders.col");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject orders that are not in date order and leave no file behind on abort")
+    void shouldRejectUnsortedRows() throws Exception {
+        // Given
+        OrderColumnFile.Writer writer = new OrderColumnFile.Writer(directory, "orders", BASE.plusDays(9));
+        writer.append(row(1L, BASE.plusDays(1), "IT", 10L, "Rice Bowl", MealType.LUNCH, 1, "5.00", OrderStatus.DELIVERED));
+
+        // When / Then
+        assertThatThrownBy(() -> writer.append(
+                row(2L, BASE, "IT", 10L, "Rice Bowl", MealType.LUNCH, 1, "5.00", OrderStatus.DELIVERED)))
+                .isInstanceOf(IllegalArgumentException.class);
+        writer.abort();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private OrderExportRow row(Long id, LocalDate date, String department, Long mealId, String mealName,
+                               MealType mealType, int quantity, String amount, OrderStatus status) {
+        return new OrderExportRow(id, date, 100L + id, "Employee " + id, department, mealId, mealName, mealType,
+                quantity, new BigDecimal(amount), status, date.atTime(12, 0));
+    }
+}
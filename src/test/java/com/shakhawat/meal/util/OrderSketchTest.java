@@ -0,0 +1,101 @@
+package com.shakhawat.meal.util;
+
+import com.shakhawat.meal.dto.OrderExportRow;
+import com.shakhawat.meal.entity.MealType;
+import com.shakhawat.meal.entity.OrderStatus;
+import org.junit.jupiter.api.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import static org.assertj.core.api.Assertions.*;
+
+class OrderSketchTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    @DisplayName("Should estimate distinct values within a few percent and merge as a union")
+    void shouldEstimateDistinctValues() {
+        // Given
+        HyperLogLog first = new HyperLogLog(11);
+        HyperLogLog second = new HyperLogLog(11);
+        for (long value = 0; value < 60_000; value++) {
+            first.add(value);
+        }
+        for (long value = 40_000; value < 100_000; value++) {
+            second.add(value);
+        }
+
+        // When
+        long union = first.merge(second).estimate();
+
+        // Then
+        assertThat(union).isBetween(92_000L, 108_000L);
+    }
+
+    @Test
+    @DisplayName("Should count small sets almost exactly")
+    void shouldCountSmallSets() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog(11);
+
+        // When
+        for (long value = 0; value < 50; value++) {
+            sketch.add(value);
+            sketch.add(value);
+        }
+
+        // Then
+        assertThat(sketch.estimate()).isBetween(49L, 51L);
+    }
+
+    @Test
+    @DisplayName("Should report quantiles within the relative accuracy")
+    void shouldReportQuantiles() {
+        // Given
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int value = 1; value <= 1000; value++) {
+            sketch.add(value);
+        }
+
+        // When / Then
+        assertThat(sketch.quantile(0.5)).isCloseTo(500, withinPercentage(2));
+        assertThat(sketch.quantile(0.99)).isCloseTo(990, withinPercentage(2));
+        assertThat(new QuantileSketch(0.01).quantile(0.5)).isNaN();
+    }
+
+    @Test
+    @DisplayName("Should survive serialization and merge daily sketches")
+    void shouldRoundTripAndMerge() {
+        // Given
+        OrderSketch monday = OrderSketch.empty();
+        monday.add(row(1L, 101L, "IT", 10L, "12.50"));
+        monday.add(row(2L, 102L, "HR", 11L, "4.99"));
+        OrderSketch tuesday = OrderSketch.empty();
+        tuesday.add(row(3L, 101L, "IT", 10L, "12.50"));
+        tuesday.add(row(4L, 103L, "IT", 10L, "25.00"));
+
+        // When
+        OrderSketch merged = OrderSketch.fromBytes(monday.toBytes()).merge(OrderSketch.fromBytes(tuesday.toBytes()));
+
+        // Then
+        assertThat(merged.getOrders()).isEqualTo(4);
+        assertThat(merged.distinctEmployees()).isEqualTo(3);
+        assertThat(merged.getEatersByDepartment().get("IT").estimate()).isEqualTo(2);
+        assertThat(merged.getEatersByMeal()).containsOnlyKeys(10L, 11L);
+        assertThat(merged.getMealOrders()).containsEntry(10L, 3L).containsEntry(11L, 1L);
+        assertThat(merged.orderValueQuantile(0.5)).isCloseTo(12.50, withinPercentage(1));
+    }
+
+    @Test
+    @DisplayName("Should reject merging sketches of different precision")
+    void shouldRejectDifferentPrecision() {
+        // When / Then
+        assertThatThrownBy(() -> new HyperLogLog(11).merge(new HyperLogLog(12)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private OrderExportRow row(Long id, Long employeeId, String department, Long mealId, String amount) {
+        return new OrderExportRow(id, DAY, employeeId, "Employee " + employeeId, department, mealId, "Meal " + mealId,
+                MealType.LUNCH, 1, new BigDecimal(amount), OrderStatus.DELIVERED, DAY.atTime(12, 0));
+    }
+}